@@ -0,0 +1,90 @@
+package com.asteroidhunter.neo.columnar;
+
+import com.asteroidhunter.neo.columnar.NeoColumns.Column;
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Scan throughput of the columnar store against the List<NeoSummary> baseline; each op scans days * 30 rows.
+// Memory per row is measured by NeoColumnsMemoryTest (./mvnw test -Pperf -Dtest=NeoColumnsMemoryTest).
+// Run with: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="NeoColumnsBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class NeoColumnsBenchmark {
+
+    private static final int ROWS_PER_DAY = 30;
+
+    // About 1, 5 and 20 years of approaches at NeoWs' typical volume.
+    @Param({"365", "1825", "7300"})
+    public int days;
+
+    private final NeoFilter closeHazardous = NeoFilter.all()
+            .withHazardousOnly(true)
+            .withMissDistanceKm(null, 7_500_000.0);
+
+    private List<NeoSummary> rows;
+    private NeoColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<List<NeoSummary>> history = SyntheticNeoSummaries.days(days, ROWS_PER_DAY);
+        rows = history.stream().flatMap(List::stream).toList();
+        columns = NeoColumns.fromDays(history);
+    }
+
+    @Benchmark
+    public int countFilteredList() {
+        int count = 0;
+        for (NeoSummary neo : rows) {
+            if (closeHazardous.matches(neo)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countFilteredColumns() {
+        return columns.count(closeHazardous);
+    }
+
+    @Benchmark
+    public double meanVelocityList() {
+        double sum = 0;
+        int count = 0;
+        for (NeoSummary neo : rows) {
+            if (closeHazardous.matches(neo)) {
+                sum += neo.relativeVelocityKmPerSec();
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    @Benchmark
+    public double meanVelocityColumns() {
+        return columns.stats(Column.RELATIVE_VELOCITY_KM_PER_SEC, closeHazardous).mean();
+    }
+
+    @Benchmark
+    public int selectColumns() {
+        return columns.select(closeHazardous).length;
+    }
+}
@@ -0,0 +1,105 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.nasa.SyntheticNeoWsFeed;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Run with: make server-bench (or ./mvnw -Pjmh test-compile exec:exec -Djmh.args="NeoFeedBenchmark -p days=7")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class NeoFeedBenchmark {
+
+    private static final LocalDate START = LocalDate.parse("2026-01-01");
+
+    @Param({"1", "7", "365"})
+    public int days;
+
+    @Param({"25"})
+    public int objectsPerDay;
+
+    @Param({"1", "12"})
+    public int approachesPerObject;
+
+    private final NeoFeedNormalizer normalizer = new NeoFeedNormalizer();
+    // Configured the way Spring Boot configures the application's mapper.
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final NeoPayloadEncoder payloadEncoder = new NeoPayloadEncoder(objectMapper);
+
+    private byte[] feedJson;
+    private NeoWsFeedResponse feed;
+    private List<LocalDate> dates;
+    private List<List<NeoSummary>> summariesByDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        feedJson = SyntheticNeoWsFeed.feedJson(START, days, objectsPerDay, approachesPerObject);
+        feed = objectMapper.readValue(feedJson, NeoWsFeedResponse.class);
+        dates = new ArrayList<>();
+        summariesByDay = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = START.plusDays(day);
+            dates.add(date);
+            summariesByDay.add(normalizer.normalizeForDate(feed, date));
+        }
+    }
+
+    @Benchmark
+    public NeoWsFeedResponse deserializeFeed() throws IOException {
+        return objectMapper.readValue(feedJson, NeoWsFeedResponse.class);
+    }
+
+    @Benchmark
+    public void normalizeForDate(Blackhole blackhole) {
+        for (LocalDate date : dates) {
+            blackhole.consume(normalizer.normalizeForDate(feed, date));
+        }
+    }
+
+    // The production ingest path: raw body to summaries for every date, no DTO tree.
+    @Benchmark
+    public Object normalizeFeedStreaming() {
+        return normalizer.normalizeFeed(feedJson);
+    }
+
+    @Benchmark
+    public void serializeSummaries(Blackhole blackhole) throws IOException {
+        for (List<NeoSummary> summaries : summariesByDay) {
+            blackhole.consume(objectMapper.writeValueAsBytes(summaries));
+        }
+    }
+
+    // What caching a day costs on top of serialization: the gzip copy and the ETag digest.
+    @Benchmark
+    public void encodeDayPayloads(Blackhole blackhole) {
+        for (List<NeoSummary> summaries : summariesByDay) {
+            blackhole.consume(payloadEncoder.encode(summaries));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.common.ServerTiming;
+import com.asteroidhunter.nasa.SyntheticNeoWsFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+// What stage timing adds to a cache hit on /api/neos/today: the untimed lookup (off a request, current() is a no-op),
+// the same lookup under a request's timing, and that plus building the Server-Timing header.
+// Run with: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ServerTimingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ServerTimingBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), ZONE);
+
+    private NeoTodayService neoTodayService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday", "neosLastKnownGood");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        // Never called: every lookup below is a cache hit.
+        neoTodayService = new NeoTodayServiceBuilder(null, CLOCK)
+                .encoder(new NeoPayloadEncoder(objectMapper))
+                .cacheManager(cacheManager)
+                .build();
+        LocalDate today = LocalDate.now(CLOCK);
+        neoTodayService.cacheFeed(today, today, SyntheticNeoWsFeed.feedJson(today, 1, 25, 1));
+    }
+
+    @Benchmark
+    public NeoDayResult cacheHitUntimed() {
+        return neoTodayService.getToday();
+    }
+
+    @Benchmark
+    public NeoDayResult cacheHitTimed() {
+        try (ServerTiming.Scope scope = ServerTiming.start().attach()) {
+            return neoTodayService.getToday();
+        }
+    }
+
+    @Benchmark
+    public void cacheHitTimedWithHeader(Blackhole blackhole) {
+        ServerTiming timing = ServerTiming.start();
+        try (ServerTiming.Scope scope = timing.attach()) {
+            blackhole.consume(neoTodayService.getToday());
+        }
+        blackhole.consume(timing.header());
+    }
+}
@@ -1,10 +1,14 @@
 package com.asteroidhunter.common;
 
 import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.neo.service.NeoNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -18,6 +22,36 @@ public class ApiExceptionHandler {
                         ex.getStatus()));
     }
 
+    @ExceptionHandler(NeoNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleNeoNotFoundException(NeoNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiErrorResponse(
+                        "NEO_NOT_FOUND",
+                        ex.getMessage(),
+                        null));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidRequestException(InvalidRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiErrorResponse(
+                        "INVALID_REQUEST",
+                        ex.getMessage(),
+                        null));
+    }
+
+    @ExceptionHandler({
+            MissingServletRequestParameterException.class,
+            MethodArgumentTypeMismatchException.class,
+            BindException.class})
+    public ResponseEntity<ApiErrorResponse> handleInvalidRequestParameter(Exception ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiErrorResponse(
+                        "INVALID_REQUEST",
+                        "Invalid or missing request parameter",
+                        null));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalStateException(IllegalStateException ex) {
         if (ex.getMessage() != null && ex.getMessage().contains("NASA_API_KEY")) {
@@ -0,0 +1,10 @@
+package com.asteroidhunter.common;
+
+// A request parameter the API rejects with 400; the message is returned to the client, so it must not carry
+// anything beyond what the request itself contained.
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
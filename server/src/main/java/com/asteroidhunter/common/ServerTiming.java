@@ -0,0 +1,144 @@
+package com.asteroidhunter.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Per-request stage durations, written out as a Server-Timing header and kept for slow requests. The request thread
+// finds its instance through current(); async continuations (a NeoWs response completing on an event-loop thread)
+// capture it first and re-attach it with within(). Off a request current() is a no-op instance, so instrumented
+// code costs a thread-local read and nothing else. A request's stages run one after another, never concurrently.
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Stage {
+        CACHE("cache"),
+        ARCHIVE("archive"),
+        NEOWS("neows"),
+        NORMALIZE("normalize"),
+        ENCODE("encode");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final ServerTiming NONE = new ServerTiming(0);
+
+    private final long startNanos;
+    private final long[] stageNanos = new long[STAGES.length];
+    private int recorded;
+
+    private ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static ServerTiming start() {
+        return new ServerTiming(System.nanoTime());
+    }
+
+    public static ServerTiming current() {
+        ServerTiming timing = CURRENT.get();
+        return timing == null ? NONE : timing;
+    }
+
+    public boolean isRecording() {
+        return this != NONE;
+    }
+
+    public void record(Stage stage, long nanos) {
+        if (this != NONE) {
+            stageNanos[stage.ordinal()] += nanos;
+            recorded |= 1 << stage.ordinal();
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        if (this == NONE) {
+            return work.get();
+        }
+        long started = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - started);
+        }
+    }
+
+    // Makes this the current timing on the calling thread until the returned scope is closed.
+    public Scope attach() {
+        ServerTiming previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public <T> T within(Supplier<T> work) {
+        if (this == NONE) {
+            return work.get();
+        }
+        try (Scope scope = attach()) {
+            return work.get();
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Recorded stages in pipeline order, in milliseconds.
+    public Map<String, Double> stageMillis() {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (Stage stage : STAGES) {
+            if ((recorded & (1 << stage.ordinal())) != 0) {
+                stages.put(stage.metricName, stageNanos[stage.ordinal()] / 1_000_000.0);
+            }
+        }
+        return stages;
+    }
+
+    // e.g. "cache;dur=0.004, neows;dur=412.700, normalize;dur=2.310, encode;dur=0.520, total;dur=416.000"
+    public String header() {
+        StringBuilder header = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            if ((recorded & (1 << stage.ordinal())) != 0) {
+                appendMetric(header, stage.metricName, stageNanos[stage.ordinal()]);
+            }
+        }
+        appendMetric(header, "total", elapsedNanos());
+        return header.toString();
+    }
+
+    // Milliseconds with three decimals, without String.format: this runs on every timed request.
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        long micros = Math.max(0, nanos) / 1_000;
+        long fraction = micros % 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            header.append(fraction < 10 ? "00" : "0");
+        }
+        header.append(fraction);
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
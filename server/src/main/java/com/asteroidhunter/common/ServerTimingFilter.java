@@ -0,0 +1,47 @@
+package com.asteroidhunter.common;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Starts a ServerTiming per API request and makes it current on the request thread, including the async dispatch
+// that writes a reactive handler's result. The request is offered to the slow-request log once it has completed.
+// Handlers add the Server-Timing header themselves, while the response is still open.
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+
+    private final SlowRequestLog slowRequestLog;
+
+    public ServerTimingFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = ServerTiming.start();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+        try (ServerTiming.Scope scope = timing.attach()) {
+            chain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                String path = request.getQueryString() == null
+                        ? request.getRequestURI()
+                        : request.getRequestURI() + "?" + request.getQueryString();
+                slowRequestLog.record(request.getMethod(), path, response.getStatus(), timing);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.asteroidhunter.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Collapses concurrent loads for the same key into one call; waiters share its result or failure.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        return await(executeAsync(key, () -> CompletableFuture.completedFuture(loader.get())));
+    }
+
+    // Callers get their own copy so cancelling one waiter never cancels the shared load.
+    public CompletableFuture<V> executeAsync(K key, Supplier<? extends CompletionStage<V>> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            loader.get().whenComplete((value, failure) -> {
+                inFlight.remove(key, created);
+                if (failure != null) {
+                    created.completeExceptionally(unwrap(failure));
+                } else {
+                    created.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(ex);
+        }
+        return created.copy();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    public static Throwable unwrap(Throwable failure) {
+        Throwable current = failure;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
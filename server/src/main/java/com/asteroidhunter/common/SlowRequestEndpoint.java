@@ -0,0 +1,22 @@
+package com.asteroidhunter.common;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/slowrequests lists recent API requests over app.timing.slowThreshold with their stage breakdowns.
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public SlowRequestLog.Report slowRequests() {
+        return slowRequestLog.report();
+    }
+}
@@ -0,0 +1,100 @@
+package com.asteroidhunter.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// The most recent API requests slower than the threshold, with their stage breakdowns, for /actuator/slowrequests.
+// Only slow requests take the lock; everything else costs one comparison.
+@Component
+public class SlowRequestLog {
+
+    public record SlowRequest(
+            Instant at,
+            String method,
+            String path,
+            int status,
+            double totalMillis,
+            Map<String, Double> stageMillis) {
+    }
+
+    // meanStageMillis averages each stage over the retained slow requests that recorded it.
+    public record Report(
+            Duration threshold,
+            long slowRequests,
+            Map<String, Double> meanStageMillis,
+            List<SlowRequest> recent) {
+    }
+
+    private final Clock appClock;
+    private final long thresholdNanos;
+    private final Duration threshold;
+    private final int maxRetained;
+    private final ArrayDeque<SlowRequest> recent = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter slowRequests;
+
+    public SlowRequestLog(
+            Clock appClock,
+            MeterRegistry meterRegistry,
+            @Value("${app.timing.slowThreshold:PT0.5S}") Duration threshold,
+            @Value("${app.timing.maxSlowRequests:50}") int maxRetained) {
+        this.appClock = appClock;
+        this.threshold = threshold;
+        this.thresholdNanos = threshold.toNanos();
+        this.maxRetained = Math.max(1, maxRetained);
+        this.slowRequests = Counter.builder("http.server.requests.slow")
+                .description("API requests slower than app.timing.slowThreshold")
+                .register(meterRegistry);
+    }
+
+    public void record(String method, String path, int status, ServerTiming timing) {
+        long elapsed = timing.elapsedNanos();
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        slowRequests.increment();
+        SlowRequest request = new SlowRequest(
+                appClock.instant(), method, path, status, elapsed / 1_000_000.0, timing.stageMillis());
+        lock.lock();
+        try {
+            if (recent.size() == maxRetained) {
+                recent.removeFirst();
+            }
+            recent.addLast(request);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Newest first.
+    public Report report() {
+        List<SlowRequest> snapshot;
+        lock.lock();
+        try {
+            snapshot = List.copyOf(recent.reversed());
+        } finally {
+            lock.unlock();
+        }
+        Map<String, double[]> sums = new LinkedHashMap<>();
+        for (SlowRequest request : snapshot) {
+            request.stageMillis().forEach((stage, millis) -> {
+                double[] sum = sums.computeIfAbsent(stage, ignored -> new double[2]);
+                sum[0] += millis;
+                sum[1]++;
+            });
+        }
+        Map<String, Double> means = new LinkedHashMap<>();
+        sums.forEach((stage, sum) -> means.put(stage, sum[0] / sum[1]));
+        return new Report(threshold, (long) slowRequests.count(), means, snapshot);
+    }
+}
@@ -14,12 +14,36 @@ public class CacheConfig {
     @Bean
     public CacheManager cacheManager(
             @Value("${app.cache.neosTodayTtl:PT1H}") Duration neosTodayTtl,
-            @Value("${app.cache.neosTodayMaxSize:10}") long neosTodayMaxSize) {
+            @Value("${app.cache.neosTodayMaxSize:400}") long neosTodayMaxSize,
+            @Value("${app.cache.neosLastKnownGoodMaxStaleness:PT24H}") Duration neosLastKnownGoodMaxStaleness,
+            @Value("${app.cache.neosLastKnownGoodMaxSize:400}") long neosLastKnownGoodMaxSize,
+            @Value("${app.cache.neoLookupsTtl:PT12H}") Duration neoLookupsTtl,
+            @Value("${app.cache.neoLookupsMaxSize:2000}") long neoLookupsMaxSize,
+            @Value("${app.cache.neoZoneDaysTtl:PT6H}") Duration neoZoneDaysTtl,
+            @Value("${app.cache.neoZoneDaysMaxSize:200}") long neoZoneDaysMaxSize) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(neosTodayTtl)
                 .maximumSize(neosTodayMaxSize)
                 .recordStats());
+        // Outlives neosToday so an upstream outage can still be answered from the last good fetch.
+        cacheManager.registerCustomCache("neosLastKnownGood", Caffeine.newBuilder()
+                .expireAfterWrite(neosLastKnownGoodMaxStaleness)
+                .maximumSize(neosLastKnownGoodMaxSize)
+                .recordStats()
+                .build());
+        // Single objects fetched from NeoWs by id; sized and expired independently of the day caches.
+        cacheManager.registerCustomCache("neoLookups", Caffeine.newBuilder()
+                .expireAfterWrite(neoLookupsTtl)
+                .maximumSize(neoLookupsMaxSize)
+                .recordStats()
+                .build());
+        // Per-zone day views re-bucketed from the raw feed days; cheap to rebuild, so kept small.
+        cacheManager.registerCustomCache("neoZoneDays", Caffeine.newBuilder()
+                .expireAfterWrite(neoZoneDaysTtl)
+                .maximumSize(neoZoneDaysMaxSize)
+                .recordStats()
+                .build());
         return cacheManager;
     }
 }
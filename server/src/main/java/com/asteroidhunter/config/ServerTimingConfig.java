@@ -0,0 +1,19 @@
+package com.asteroidhunter.config;
+
+import com.asteroidhunter.common.ServerTimingFilter;
+import com.asteroidhunter.common.SlowRequestLog;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestLog));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,122 @@
+package com.asteroidhunter.nasa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+// Caps concurrent NeoWs calls. A call over the cap queues for the next released permit instead of failing, and only
+// gives up with 503 once it has waited maxWait, so a short fan-out above the cap is slowed down rather than refused.
+class NeoWsBulkhead {
+
+    private final int permits;
+    private final Duration maxWait;
+    private final Counter rejections;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int active;
+
+    NeoWsBulkhead(int permits, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = Math.max(1, permits);
+        this.maxWait = maxWait;
+        Gauge.builder("neows.bulkhead.active", this, NeoWsBulkhead::active)
+                .description("NeoWs calls holding a bulkhead permit")
+                .register(meterRegistry);
+        Gauge.builder("neows.bulkhead.queued", this, NeoWsBulkhead::queued)
+                .description("NeoWs calls waiting for a bulkhead permit")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("neows.bulkhead.rejected")
+                .description("NeoWs calls that gave up waiting for a bulkhead permit")
+                .register(meterRegistry);
+    }
+
+    // Completes once the caller holds a permit, which it must hand back through release().
+    Mono<Void> acquire() {
+        return Mono.<Void>create(sink -> {
+                    Waiter waiter = new Waiter(sink);
+                    sink.onCancel(() -> abandon(waiter));
+                    lock.lock();
+                    try {
+                        if (waiter.abandoned) {
+                            return;
+                        }
+                        if (active >= permits) {
+                            waiters.add(waiter);
+                            return;
+                        }
+                        active++;
+                        waiter.granted = true;
+                    } finally {
+                        lock.unlock();
+                    }
+                    sink.success();
+                })
+                .timeout(maxWait, Mono.defer(() -> {
+                    rejections.increment();
+                    return Mono.error(new NeoWsUnavailableException("too many concurrent NeoWs calls"));
+                }));
+    }
+
+    // A released permit goes straight to the longest waiting call, if there is one.
+    void release() {
+        Waiter next;
+        lock.lock();
+        try {
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+            next.granted = true;
+        } finally {
+            lock.unlock();
+        }
+        next.sink.success();
+    }
+
+    // A call cancelled (or timed out) after being handed a permit, but before it saw it, passes the permit on.
+    private void abandon(Waiter waiter) {
+        lock.lock();
+        try {
+            waiter.abandoned = true;
+            if (waiters.remove(waiter) || !waiter.granted) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        release();
+    }
+
+    private int active() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Void> sink;
+        private boolean granted;
+        private boolean abandoned;
+
+        private Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
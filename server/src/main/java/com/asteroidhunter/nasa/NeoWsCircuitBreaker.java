@@ -0,0 +1,114 @@
+package com.asteroidhunter.nasa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Opens after a run of consecutive upstream failures and fails calls fast until the open period has passed; then a
+// single trial call decides whether it closes again or stays open for another period.
+class NeoWsCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final Clock clock;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    NeoWsCircuitBreaker(Clock clock, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("neows.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("NeoWs circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    State state() {
+        return state;
+    }
+
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (state != State.CLOSED) {
+                transitionTo(State.CLOSED);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+            if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+                consecutiveFailures = 0;
+                openedAt = clock.instant();
+                if (state != State.OPEN) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A call that ended without an outcome (cancelled) gives its trial slot back.
+    void release() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionTo(State next) {
+        Counter.builder("neows.circuit.transitions")
+                .description("NeoWs circuit breaker state changes")
+                .tag("from", state.name())
+                .tag("to", next.name())
+                .register(meterRegistry)
+                .increment();
+        state = next;
+    }
+}
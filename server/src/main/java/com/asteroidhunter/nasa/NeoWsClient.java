@@ -1,57 +1,188 @@
 package com.asteroidhunter.nasa;
 
 import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import org.springframework.beans.factory.annotation.Value;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 @Component
 public class NeoWsClient {
 
     private static final int ERROR_BODY_SNIPPET_MAX_LENGTH = 300;
+    private static final String FEED_ENDPOINT = "feed";
+    private static final String LOOKUP_ENDPOINT = "neo";
 
     private final WebClient neoWsWebClient;
-    private final String nasaApiKey;
+    private final NeoWsKeyPool keyPool;
+    private final MeterRegistry meterRegistry;
+    private final NeoWsResilience resilience;
+    private final NeoWsRateScheduler rateScheduler;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final DistributionSummary feedResponseSize;
 
     public NeoWsClient(
             WebClient neoWsWebClient,
-            @Value("${nasa.apiKey:${NASA_API_KEY:}}") String nasaApiKey) {
+            NeoWsKeyPool keyPool,
+            MeterRegistry meterRegistry,
+            NeoWsResilience resilience,
+            NeoWsRateScheduler rateScheduler) {
         this.neoWsWebClient = neoWsWebClient;
-        this.nasaApiKey = nasaApiKey == null ? "" : nasaApiKey.trim();
+        this.keyPool = keyPool;
+        this.meterRegistry = meterRegistry;
+        this.resilience = resilience;
+        this.rateScheduler = rateScheduler;
+        Gauge.builder("neows.requests.active", activeRequests, AtomicInteger::get)
+                .description("NeoWs requests currently awaiting a response")
+                .register(meterRegistry);
+        this.feedResponseSize = DistributionSummary.builder("neows.response.size")
+                .description("Size of successful NeoWs response bodies")
+                .baseUnit("bytes")
+                .tag("endpoint", FEED_ENDPOINT)
+                .register(meterRegistry);
     }
 
     public NeoWsFeedResponse getFeed(LocalDate startDate, LocalDate endDate) {
-        if (nasaApiKey.isBlank()) {
-            throw new IllegalStateException(
-                    "NASA_API_KEY is not configured. Set env var NASA_API_KEY or property nasa.apiKey.");
+        return fetchFeed(startDate, endDate).block();
+    }
+
+    public Mono<NeoWsFeedResponse> fetchFeed(LocalDate startDate, LocalDate endDate) {
+        return exchangeFeed(startDate, endDate, NeoWsPriority.INTERACTIVE, NeoWsFeedResponse.class);
+    }
+
+    public byte[] getFeedJson(LocalDate startDate, LocalDate endDate) {
+        return fetchFeedJson(startDate, endDate).block();
+    }
+
+    public byte[] getFeedJson(LocalDate startDate, LocalDate endDate, NeoWsPriority priority) {
+        return fetchFeedJson(startDate, endDate, priority).block();
+    }
+
+    // Raw body for streaming ingest; no DTO tree is built.
+    public Mono<byte[]> fetchFeedJson(LocalDate startDate, LocalDate endDate) {
+        return fetchFeedJson(startDate, endDate, NeoWsPriority.INTERACTIVE);
+    }
+
+    public Mono<byte[]> fetchFeedJson(LocalDate startDate, LocalDate endDate, NeoWsPriority priority) {
+        return exchangeFeed(startDate, endDate, priority, byte[].class)
+                .doOnNext(body -> feedResponseSize.record(body.length));
+    }
+
+    // A single object with its full close-approach history.
+    public Mono<NeoWsNeoObject> fetchNeo(String id) {
+        return exchange(LOOKUP_ENDPOINT, NeoWsPriority.INTERACTIVE, (uriBuilder, apiKey) -> uriBuilder
+                .path("/neo/rest/v1/neo/{id}")
+                .queryParam("api_key", apiKey)
+                .build(id), NeoWsNeoObject.class);
+    }
+
+    private <T> Mono<T> exchangeFeed(
+            LocalDate startDate, LocalDate endDate, NeoWsPriority priority, Class<T> bodyType) {
+        return exchange(FEED_ENDPOINT, priority, (uriBuilder, apiKey) -> uriBuilder
+                .path("/neo/rest/v1/feed")
+                .queryParam("start_date", startDate)
+                .queryParam("end_date", endDate)
+                .queryParam("api_key", apiKey)
+                .build(), bodyType);
+    }
+
+    private <T> Mono<T> exchange(
+            String endpoint,
+            NeoWsPriority priority,
+            BiFunction<UriBuilder, String, URI> uri,
+            Class<T> bodyType) {
+        if (keyPool.isEmpty()) {
+            return Mono.error(new IllegalStateException(
+                    "NASA_API_KEY is not configured. Set env var NASA_API_KEY (or NASA_API_KEYS) or property nasa.apiKey."));
         }
 
-        return neoWsWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/neo/rest/v1/feed")
-                        .queryParam("start_date", startDate)
-                        .queryParam("end_date", endDate)
-                        .queryParam("api_key", nasaApiKey)
-                        .build())
-                .exchangeToMono(response -> mapResponse(response.statusCode(), response))
-                .block();
+        // Each attempt, retries included, takes a rate limit token and goes out on the key with most headroom.
+        return Mono.defer(() -> {
+            if (!keyPool.admits(priority)) {
+                return Mono.error(new NeoWsUnavailableException("NeoWs quota is reserved for interactive requests"));
+            }
+            return resilience.decorate(endpoint, rateScheduler.acquire(priority), Mono.defer(() -> {
+                // Stays IO_ERROR unless a response arrives; timed until the body has been read.
+                AtomicReference<String> status = new AtomicReference<>("IO_ERROR");
+                NeoWsKeyPool.Key key = keyPool.select();
+                Timer.Sample sample = Timer.start(meterRegistry);
+                activeRequests.incrementAndGet();
+                return neoWsWebClient.get()
+                        .uri(uriBuilder -> uri.apply(uriBuilder, key.value()))
+                        .exchangeToMono(response -> {
+                            status.set(String.valueOf(response.statusCode().value()));
+                            keyPool.record(key, response.statusCode().value(), response.headers().asHttpHeaders());
+                            return mapResponse(response.statusCode(), response, bodyType);
+                        })
+                        .doFinally(signal -> {
+                            keyPool.release(key);
+                            activeRequests.decrementAndGet();
+                            sample.stop(requestTimer(
+                                    endpoint, signal == SignalType.CANCEL ? "CANCELLED" : status.get()));
+                        });
+            }));
+        });
+    }
+
+    private Timer requestTimer(String endpoint, String status) {
+        return Timer.builder("neows.requests")
+                .description("NeoWs request latency, including reading the body")
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .register(meterRegistry);
     }
 
-    private Mono<NeoWsFeedResponse> mapResponse(
+    private <T> Mono<T> mapResponse(
             HttpStatusCode statusCode,
-            org.springframework.web.reactive.function.client.ClientResponse response) {
+            org.springframework.web.reactive.function.client.ClientResponse response,
+            Class<T> bodyType) {
         if (statusCode.is2xxSuccessful()) {
-            return response.bodyToMono(NeoWsFeedResponse.class);
+            return response.bodyToMono(bodyType);
         }
 
         return response.bodyToMono(String.class)
                 .defaultIfEmpty("")
                 .flatMap(body -> Mono.error(new NeoWsException(
                         statusCode.value(),
-                        summarizeBody(body))));
+                        summarizeBody(body),
+                        retryAfter(response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER)))));
+    }
+
+    // Retry-After is either delay-seconds or an HTTP date.
+    static Duration retryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not delay-seconds; try the date form.
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
     }
 
     private String summarizeBody(String body) {
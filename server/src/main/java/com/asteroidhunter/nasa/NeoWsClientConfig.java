@@ -1,20 +1,31 @@
 package com.asteroidhunter.nasa;
 
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
 @Configuration
 public class NeoWsClientConfig {
 
+    // Timeouts at the connection level; the per-attempt and overall deadlines live in NeoWsResilience.
     @Bean
     public WebClient neoWsWebClient(
             WebClient.Builder webClientBuilder,
-            @Value("${NASA_NEO_BASE_URL:https://api.nasa.gov}") String baseUrl) {
+            @Value("${NASA_NEO_BASE_URL:https://api.nasa.gov}") String baseUrl,
+            @Value("${app.neows.connectTimeout:PT5S}") Duration connectTimeout,
+            @Value("${app.neows.attemptTimeout:PT10S}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
         return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .build();
@@ -1,15 +1,23 @@
 package com.asteroidhunter.nasa;
 
+import java.time.Duration;
+
 public class NeoWsException extends RuntimeException {
 
     private final int status;
     private final String bodySnippet;
+    private final Duration retryAfter;
 
     public NeoWsException(int status, String bodySnippet) {
+        this(status, bodySnippet, null);
+    }
+
+    public NeoWsException(int status, String bodySnippet, Duration retryAfter) {
         super("NeoWs request failed with status " + status
                 + (bodySnippet == null || bodySnippet.isBlank() ? "" : ": " + bodySnippet));
         this.status = status;
         this.bodySnippet = bodySnippet;
+        this.retryAfter = retryAfter;
     }
 
     public int getStatus() {
@@ -19,4 +27,9 @@ public class NeoWsException extends RuntimeException {
     public String getBodySnippet() {
         return bodySnippet;
     }
+
+    // From the Retry-After header of a 429 or 503, if NeoWs sent one.
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
 }
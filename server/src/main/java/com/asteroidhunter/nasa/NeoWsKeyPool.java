@@ -0,0 +1,196 @@
+package com.asteroidhunter.nasa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+// NeoWs API keys with the hourly quota NASA last reported for each (X-RateLimit-Limit/-Remaining). Every attempt
+// goes out on the key with the most headroom, counting calls still in flight on it. NASA's window is a rolling
+// hour, so a key's count is assumed restored an hour after it was last reported. Background calls are refused
+// once the pool's remaining quota falls to the reserve, which is kept for user requests.
+@Component
+public class NeoWsKeyPool {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final Duration QUOTA_WINDOW = Duration.ofHours(1);
+
+    private final List<Key> keys;
+    private final Clock clock;
+    private final int backgroundReserve;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter backgroundRejections;
+
+    @Autowired
+    public NeoWsKeyPool(
+            @Value("${nasa.apiKeys:${NASA_API_KEYS:}}") String apiKeys,
+            @Value("${nasa.apiKey:${NASA_API_KEY:}}") String apiKey,
+            @Value("${app.neows.defaultHourlyLimit:1000}") int defaultHourlyLimit,
+            @Value("${app.neows.backgroundQuotaReserve:100}") int backgroundReserve,
+            Clock appClock,
+            MeterRegistry meterRegistry) {
+        this.clock = appClock;
+        this.backgroundReserve = Math.max(0, backgroundReserve);
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String value : (nullToEmpty(apiKeys) + "," + nullToEmpty(apiKey)).split(",")) {
+            if (!value.isBlank()) {
+                distinct.add(value.trim());
+            }
+        }
+        List<Key> pool = new ArrayList<>(distinct.size());
+        for (String value : distinct) {
+            Key key = new Key(value, Math.max(1, defaultHourlyLimit));
+            pool.add(key);
+            Gauge.builder("neows.quota.remaining", key, k -> k.estimatedRemaining(clock.instant()))
+                    .description("Requests NASA last reported left on a NeoWs API key this hour")
+                    .tag("key", key.label)
+                    .register(meterRegistry);
+            Gauge.builder("neows.quota.limit", key, k -> k.limit)
+                    .description("Hourly request limit NASA reported for a NeoWs API key")
+                    .tag("key", key.label)
+                    .register(meterRegistry);
+        }
+        this.keys = List.copyOf(pool);
+        Gauge.builder("neows.quota.pool.remaining", this, NeoWsKeyPool::totalRemaining)
+                .description("Requests left this hour across all NeoWs API keys")
+                .register(meterRegistry);
+        this.backgroundRejections = Counter.builder("neows.quota.rejected")
+                .description("Background NeoWs calls refused to keep quota for user requests")
+                .tag("priority", NeoWsPriority.BACKGROUND.name())
+                .register(meterRegistry);
+    }
+
+    public static NeoWsKeyPool of(String... apiKeys) {
+        return new NeoWsKeyPool(String.join(",", Arrays.asList(apiKeys)), "", 1000, 0, Clock.systemUTC(),
+                new SimpleMeterRegistry());
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    // User requests are always admitted; NASA has the final say and answers 429 when a key is really spent.
+    boolean admits(NeoWsPriority priority) {
+        if (priority == NeoWsPriority.INTERACTIVE || totalRemaining() > backgroundReserve) {
+            return true;
+        }
+        backgroundRejections.increment();
+        return false;
+    }
+
+    // The caller must release the key once the attempt is over.
+    Key select() {
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            Key best = keys.getFirst();
+            for (Key key : keys) {
+                if (key.headroom(now) > best.headroom(now)) {
+                    best = key;
+                }
+            }
+            best.inFlight++;
+            return best;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void record(Key key, int status, HttpHeaders headers) {
+        Integer limit = parse(headers.getFirst(LIMIT_HEADER));
+        Integer remaining = parse(headers.getFirst(REMAINING_HEADER));
+        if (remaining == null && status == 429) {
+            remaining = 0;
+        }
+        if (remaining == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (limit != null && limit > 0) {
+                key.limit = limit;
+            }
+            key.remaining = remaining;
+            key.reportedAt = clock.instant();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Key key) {
+        lock.lock();
+        try {
+            key.inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long totalRemaining() {
+        Instant now = clock.instant();
+        long total = 0;
+        for (Key key : keys) {
+            total += key.estimatedRemaining(now);
+        }
+        return total;
+    }
+
+    private static Integer parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    static final class Key {
+
+        private final String value;
+        // Enough to tell keys apart on a dashboard without publishing them.
+        private final String label;
+        private volatile int limit;
+        private volatile int remaining;
+        private volatile Instant reportedAt;
+        private int inFlight;
+
+        private Key(String value, int limit) {
+            this.value = value;
+            this.label = "..." + value.substring(Math.max(0, value.length() - 4));
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        String value() {
+            return value;
+        }
+
+        private int estimatedRemaining(Instant now) {
+            Instant reported = reportedAt;
+            return reported == null || !now.isBefore(reported.plus(QUOTA_WINDOW)) ? limit : remaining;
+        }
+
+        private int headroom(Instant now) {
+            return estimatedRemaining(now) - inFlight;
+        }
+    }
+}
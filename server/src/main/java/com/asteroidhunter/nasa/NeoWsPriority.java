@@ -0,0 +1,7 @@
+package com.asteroidhunter.nasa;
+
+// Who is waiting on a NeoWs call: a user request, or prefetch/backfill work that can wait for spare quota.
+public enum NeoWsPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
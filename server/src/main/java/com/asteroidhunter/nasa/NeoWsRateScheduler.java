@@ -0,0 +1,191 @@
+package com.asteroidhunter.nasa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// A token bucket in front of NeoWs. Calls queue by priority and user requests are always served before background
+// ones; background calls also leave the last few tokens of the bucket alone, so a user request arriving after a
+// burst of prefetch or backfill work does not wait a full refill. A call that has waited too long fails with 503.
+@Component
+public class NeoWsRateScheduler {
+
+    private final boolean enabled;
+    private final double permitsPerNano;
+    private final double burst;
+    private final int backgroundReserve;
+    private final long maxWaitNanos;
+    private final int maxQueued;
+    private final Scheduler timer = Schedulers.parallel();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<NeoWsPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(NeoWsPriority.class);
+    private final Map<NeoWsPriority, Timer> waitTimers = new EnumMap<>(NeoWsPriority.class);
+    private final Map<NeoWsPriority, Counter> rejections = new EnumMap<>(NeoWsPriority.class);
+    private double tokens;
+    private long refilledAt;
+    private boolean drainScheduled;
+
+    @Autowired
+    public NeoWsRateScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${app.neows.rate.permitsPerSecond:5}") double permitsPerSecond,
+            @Value("${app.neows.rate.burst:10}") int burst,
+            @Value("${app.neows.rate.backgroundReserve:2}") int backgroundReserve,
+            @Value("${app.neows.rate.maxWait:PT10S}") Duration maxWait,
+            @Value("${app.neows.rate.maxQueued:200}") int maxQueued) {
+        this(true, meterRegistry, permitsPerSecond, burst, backgroundReserve, maxWait, maxQueued);
+    }
+
+    private NeoWsRateScheduler(
+            boolean enabled,
+            MeterRegistry meterRegistry,
+            double permitsPerSecond,
+            int burst,
+            int backgroundReserve,
+            Duration maxWait,
+            int maxQueued) {
+        this.enabled = enabled;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.backgroundReserve = Math.max(0, Math.min(backgroundReserve, Math.max(1, burst) - 1));
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueued = Math.max(1, maxQueued);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+        for (NeoWsPriority priority : NeoWsPriority.values()) {
+            ArrayDeque<Waiter> queue = new ArrayDeque<>();
+            queues.put(priority, queue);
+            if (meterRegistry == null) {
+                continue;
+            }
+            Gauge.builder("neows.scheduler.queued", queue, this::queued)
+                    .description("NeoWs calls waiting for a rate limit token")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("neows.scheduler.wait")
+                    .description("Time NeoWs calls waited for a rate limit token")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("neows.scheduler.rejected")
+                    .description("NeoWs calls that gave up waiting for a rate limit token")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // Calls are never held back.
+    public static NeoWsRateScheduler unlimited() {
+        return new NeoWsRateScheduler(false, null, 1, 1, 0, Duration.ZERO, 1);
+    }
+
+    public Mono<Void> acquire(NeoWsPriority priority) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.<Void>create(sink -> {
+                    Waiter waiter = new Waiter(sink, priority, System.nanoTime());
+                    lock.lock();
+                    try {
+                        ArrayDeque<Waiter> queue = queues.get(priority);
+                        if (queue.size() >= maxQueued) {
+                            rejections.get(priority).increment();
+                            sink.error(new NeoWsUnavailableException("too many NeoWs calls waiting for the rate limit"));
+                            return;
+                        }
+                        queue.add(waiter);
+                    } finally {
+                        lock.unlock();
+                    }
+                    sink.onCancel(() -> remove(waiter));
+                    drain();
+                })
+                .timeout(Duration.ofNanos(maxWaitNanos), Mono.defer(() -> {
+                    rejections.get(priority).increment();
+                    return Mono.error(new NeoWsUnavailableException("timed out waiting for the NeoWs rate limit"));
+                }));
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            long waitNanos = 0;
+            while (true) {
+                ArrayDeque<Waiter> queue = queues.get(NeoWsPriority.INTERACTIVE);
+                double needed = 1;
+                if (queue.isEmpty()) {
+                    queue = queues.get(NeoWsPriority.BACKGROUND);
+                    needed = 1 + backgroundReserve;
+                }
+                if (queue.isEmpty()) {
+                    break;
+                }
+                if (tokens < needed) {
+                    waitNanos = (long) Math.ceil((needed - tokens) / permitsPerNano);
+                    break;
+                }
+                tokens -= 1;
+                granted.add(queue.poll());
+            }
+            if (waitNanos > 0 && !drainScheduled) {
+                drainScheduled = true;
+                timer.schedule(() -> {
+                    lock.lock();
+                    try {
+                        drainScheduled = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    drain();
+                }, waitNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            waitTimers.get(waiter.priority).record(now - waiter.queuedAt, TimeUnit.NANOSECONDS);
+            waiter.sink.success();
+        }
+    }
+
+    private void remove(Waiter waiter) {
+        lock.lock();
+        try {
+            queues.get(waiter.priority).remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued(ArrayDeque<Waiter> queue) {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Waiter(MonoSink<Void> sink, NeoWsPriority priority, long queuedAt) {
+    }
+}
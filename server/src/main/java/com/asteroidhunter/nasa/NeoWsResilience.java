@@ -0,0 +1,188 @@
+package com.asteroidhunter.nasa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.retry.Retry;
+
+// Wraps every NeoWs call. Each attempt runs inside the bulkhead and circuit breaker under its own deadline; failed
+// attempts on 429, 5xx, timeouts and connection errors are retried with jittered exponential backoff (or after the
+// Retry-After NeoWs asked for), and the whole call, retries included, has an overall deadline.
+@Component
+public class NeoWsResilience {
+
+    private static final String RETRY_LISTENER = NeoWsResilience.class.getName() + ".retryListener";
+
+    private final boolean enabled;
+    private final Duration attemptTimeout;
+    private final Duration overallTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final NeoWsCircuitBreaker circuitBreaker;
+    private final NeoWsBulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public NeoWsResilience(
+            Clock appClock,
+            MeterRegistry meterRegistry,
+            @Value("${app.neows.attemptTimeout:PT10S}") Duration attemptTimeout,
+            @Value("${app.neows.overallTimeout:PT30S}") Duration overallTimeout,
+            @Value("${app.neows.maxRetries:2}") int maxRetries,
+            @Value("${app.neows.retryBackoff:PT0.5S}") Duration retryBackoff,
+            @Value("${app.neows.maxRetryBackoff:PT5S}") Duration maxRetryBackoff,
+            @Value("${app.neows.circuitFailureThreshold:5}") int circuitFailureThreshold,
+            @Value("${app.neows.circuitOpenDuration:PT30S}") Duration circuitOpenDuration,
+            @Value("${app.neows.maxConcurrentCalls:8}") int maxConcurrentCalls,
+            @Value("${app.neows.bulkheadMaxWait:PT2S}") Duration bulkheadMaxWait) {
+        this(true, appClock, meterRegistry, attemptTimeout, overallTimeout, maxRetries, retryBackoff,
+                maxRetryBackoff, circuitFailureThreshold, circuitOpenDuration, maxConcurrentCalls, bulkheadMaxWait);
+    }
+
+    private NeoWsResilience(
+            boolean enabled,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            Duration attemptTimeout,
+            Duration overallTimeout,
+            int maxRetries,
+            Duration retryBackoff,
+            Duration maxRetryBackoff,
+            int circuitFailureThreshold,
+            Duration circuitOpenDuration,
+            int maxConcurrentCalls,
+            Duration bulkheadMaxWait) {
+        this.enabled = enabled;
+        this.attemptTimeout = attemptTimeout;
+        this.overallTimeout = overallTimeout;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker =
+                new NeoWsCircuitBreaker(clock, circuitFailureThreshold, circuitOpenDuration, meterRegistry);
+        this.bulkhead = new NeoWsBulkhead(maxConcurrentCalls, bulkheadMaxWait, meterRegistry);
+    }
+
+    // Calls go straight through: no deadlines, retries, breaker or bulkhead.
+    public static NeoWsResilience disabled() {
+        return new NeoWsResilience(false, Clock.systemUTC(), new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 0,
+                Duration.ZERO, Duration.ZERO, 1, Duration.ZERO, 1, Duration.ZERO);
+    }
+
+    public <T> Mono<T> decorate(String endpoint, Mono<T> attempt) {
+        return decorate(endpoint, Mono.empty(), attempt);
+    }
+
+    // Subscriber context that has the listener called before each retry of a call made under it, for callers that
+    // report their own upstream attempt counts.
+    public static Context onRetry(Runnable listener) {
+        return Context.of(RETRY_LISTENER, listener);
+    }
+
+    // The permit (a rate limit token) is awaited before every attempt, retries included, outside the attempt's
+    // deadline and the bulkhead so time spent queued for it is not counted as an upstream failure. Waiting for a
+    // bulkhead slot is likewise outside the attempt's deadline but within the overall one.
+    public <T> Mono<T> decorate(String endpoint, Mono<?> permit, Mono<T> attempt) {
+        if (!enabled) {
+            return permit.then(attempt);
+        }
+        return permit.then(guarded(attempt))
+                .retryWhen(retry(endpoint))
+                .timeout(overallTimeout);
+    }
+
+    private <T> Mono<T> guarded(Mono<T> attempt) {
+        return bulkhead.acquire().then(Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                return Mono.error(new NeoWsUnavailableException("circuit breaker is open"));
+            }
+            return attempt
+                    .timeout(attemptTimeout)
+                    .doOnSuccess(value -> circuitBreaker.onSuccess())
+                    .doOnError(failure -> {
+                        if (isRetryable(failure)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::release)
+                    .doFinally(signal -> bulkhead.release());
+        }));
+    }
+
+    private Retry retry(String endpoint) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (signal.totalRetries() >= maxRetries || !isRetryable(failure)) {
+                return Mono.error(failure);
+            }
+            Duration delay = backoff(signal.totalRetries(), failure);
+            if (delay == null) {
+                return Mono.error(failure);
+            }
+            Counter.builder("neows.retries")
+                    .description("NeoWs attempts retried after a failure")
+                    .tag("endpoint", endpoint)
+                    .tag("reason", reason(failure))
+                    .register(meterRegistry)
+                    .increment();
+            return Mono.deferContextual(context -> {
+                context.<Runnable>getOrEmpty(RETRY_LISTENER).ifPresent(Runnable::run);
+                return Mono.delay(delay);
+            });
+        }));
+    }
+
+    // Half to all of the exponential step, so clients that failed together do not retry together. A Retry-After
+    // longer than the overall deadline is not waited out.
+    private Duration backoff(long retry, Throwable failure) {
+        long stepMillis = Math.min(
+                maxRetryBackoff.toMillis(),
+                retryBackoff.toMillis() * (1L << Math.min(retry, 20)));
+        long delayMillis = stepMillis / 2 + ThreadLocalRandom.current().nextLong(stepMillis / 2 + 1);
+        if (failure instanceof NeoWsException neoWsException && neoWsException.getRetryAfter() != null) {
+            Duration retryAfter = neoWsException.getRetryAfter();
+            if (retryAfter.compareTo(overallTimeout) >= 0) {
+                return null;
+            }
+            delayMillis = Math.max(delayMillis, retryAfter.toMillis());
+        }
+        return Duration.ofMillis(delayMillis);
+    }
+
+    // Outages only; client errors (bad key, unknown id) would fail the same way again.
+    static boolean isRetryable(Throwable failure) {
+        if (failure instanceof NeoWsUnavailableException) {
+            return false;
+        }
+        if (failure instanceof NeoWsException neoWsException) {
+            return neoWsException.getStatus() == 429 || neoWsException.getStatus() >= 500;
+        }
+        return failure instanceof TimeoutException || failure instanceof WebClientRequestException;
+    }
+
+    private static String reason(Throwable failure) {
+        if (failure instanceof NeoWsException neoWsException) {
+            return String.valueOf(neoWsException.getStatus());
+        }
+        return failure instanceof TimeoutException ? "TIMEOUT" : "IO_ERROR";
+    }
+
+    NeoWsCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+}
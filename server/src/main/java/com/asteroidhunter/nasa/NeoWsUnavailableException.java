@@ -0,0 +1,10 @@
+package com.asteroidhunter.nasa;
+
+// Raised without calling NeoWs: the circuit is open or too many calls are already in flight. Reported as a 503 so
+// callers treat it like any other upstream outage.
+public class NeoWsUnavailableException extends NeoWsException {
+
+    public NeoWsUnavailableException(String reason) {
+        super(503, reason);
+    }
+}
@@ -0,0 +1,69 @@
+package com.asteroidhunter.neo.backfill;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+
+// Every window of [start, end] up to and including completedThrough is archived; null means nothing is yet.
+record BackfillCheckpoint(LocalDate start, LocalDate end, LocalDate completedThrough) {
+
+    LocalDate resumeFrom() {
+        return completedThrough == null ? start : completedThrough.plusDays(1);
+    }
+
+    boolean isComplete() {
+        return completedThrough != null && !completedThrough.isBefore(end);
+    }
+
+    static BackfillCheckpoint read(Path path) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read backfill checkpoint " + path, ex);
+        }
+        try {
+            String completedThrough = properties.getProperty("completedThrough");
+            return new BackfillCheckpoint(
+                    LocalDate.parse(properties.getProperty("start")),
+                    LocalDate.parse(properties.getProperty("end")),
+                    completedThrough == null ? null : LocalDate.parse(completedThrough));
+        } catch (DateTimeParseException | NullPointerException ex) {
+            throw new IllegalStateException("Backfill checkpoint " + path + " is malformed", ex);
+        }
+    }
+
+    // Written to a sibling file and moved into place, so a crash never leaves a half-written checkpoint.
+    void write(Path path) {
+        Properties properties = new Properties();
+        properties.setProperty("start", start.toString());
+        properties.setProperty("end", end.toString());
+        if (completedThrough != null) {
+            properties.setProperty("completedThrough", completedThrough.toString());
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write backfill checkpoint " + path, ex);
+        }
+    }
+}
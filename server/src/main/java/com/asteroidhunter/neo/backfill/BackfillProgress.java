@@ -0,0 +1,30 @@
+package com.asteroidhunter.neo.backfill;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record BackfillProgress(
+        State state,
+        LocalDate start,
+        LocalDate end,
+        LocalDate completedThrough,
+        long daysTotal,
+        long daysArchived,
+        long daysSkipped,
+        long upstreamCalls,
+        long retries,
+        double daysPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String lastError) {
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        // Stopped by NeoWs rate limiting or reserved quota; resuming continues from the checkpoint.
+        PAUSED,
+        STOPPED,
+        FAILED
+    }
+}
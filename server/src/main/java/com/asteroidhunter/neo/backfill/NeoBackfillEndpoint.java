@@ -0,0 +1,63 @@
+package com.asteroidhunter.neo.backfill;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.Supplier;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/backfill reports progress, POST {"start": ..., "end": ...} starts (or, without a body, resumes)
+// a backfill, and DELETE stops the running one at its last checkpoint. Not exposed over HTTP by default.
+@Component
+@Endpoint(id = "backfill")
+public class NeoBackfillEndpoint {
+
+    private final NeoBackfillService neoBackfillService;
+
+    public NeoBackfillEndpoint(NeoBackfillService neoBackfillService) {
+        this.neoBackfillService = neoBackfillService;
+    }
+
+    @ReadOperation
+    public BackfillProgress progress() {
+        return neoBackfillService.progress();
+    }
+
+    @WriteOperation
+    public BackfillProgress start(@Nullable String start, @Nullable String end) {
+        if (start == null && end == null) {
+            return invoke(neoBackfillService::resume);
+        }
+        return invoke(() -> neoBackfillService.start(parseDate(start), parseDate(end)));
+    }
+
+    @DeleteOperation
+    public BackfillProgress stop() {
+        return neoBackfillService.stop();
+    }
+
+    private BackfillProgress invoke(Supplier<BackfillProgress> operation) {
+        try {
+            return operation.get();
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidEndpointRequestException(
+                    "Invalid date '" + value + "'. Use YYYY-MM-DD.", "Invalid date format");
+        }
+    }
+}
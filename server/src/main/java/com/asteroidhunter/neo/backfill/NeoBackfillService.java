@@ -0,0 +1,323 @@
+package com.asteroidhunter.neo.backfill;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsPriority;
+import com.asteroidhunter.nasa.NeoWsResilience;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.NeoWsUnavailableException;
+import com.asteroidhunter.neo.backfill.BackfillProgress.State;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.asteroidhunter.neo.service.NeoDayArchive;
+import com.asteroidhunter.neo.service.NeoDaySnapshot;
+import com.asteroidhunter.neo.service.NeoFeedNormalizer;
+import com.asteroidhunter.neo.service.NeoRangeService;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Walks a historical date range in feed-sized windows and writes every day to the NEO archive. Progress is
+// checkpointed as the last contiguously archived day, so a crash or exhausted quota resumes where it stopped.
+@Service
+public class NeoBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(NeoBackfillService.class);
+
+    private final NeoWsClient neoWsClient;
+    private final NeoFeedNormalizer neoFeedNormalizer;
+    private final NeoDayArchive neoDayArchive;
+    private final ZoneId appZoneId;
+    private final Clock appClock;
+    private final Path checkpointPath;
+    private final int maxConcurrentFetches;
+    private final Duration requestInterval;
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    public NeoBackfillService(
+            NeoWsClient neoWsClient,
+            NeoFeedNormalizer neoFeedNormalizer,
+            NeoDayArchive neoDayArchive,
+            ZoneId appZoneId,
+            Clock appClock,
+            @Value("${app.backfill.checkpointPath:data/backfill-checkpoint.properties}") Path checkpointPath,
+            @Value("${app.backfill.maxConcurrentFetches:2}") int maxConcurrentFetches,
+            @Value("${app.backfill.requestsPerSecond:0.25}") double requestsPerSecond) {
+        this.neoWsClient = neoWsClient;
+        this.neoFeedNormalizer = neoFeedNormalizer;
+        this.neoDayArchive = neoDayArchive;
+        this.appZoneId = appZoneId;
+        this.appClock = appClock;
+        this.checkpointPath = checkpointPath;
+        this.maxConcurrentFetches = Math.max(1, maxConcurrentFetches);
+        this.requestInterval = requestsPerSecond > 0
+                ? Duration.ofNanos((long) (1_000_000_000L / requestsPerSecond))
+                : Duration.ZERO;
+    }
+
+    // Restarting the range of the saved checkpoint resumes it; any other range starts over.
+    public BackfillProgress start(LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        BackfillCheckpoint saved = BackfillCheckpoint.read(checkpointPath);
+        BackfillCheckpoint checkpoint = saved != null && saved.start().equals(start) && saved.end().equals(end)
+                ? saved
+                : new BackfillCheckpoint(start, end, null);
+        return launch(checkpoint);
+    }
+
+    public BackfillProgress resume() {
+        BackfillCheckpoint saved = BackfillCheckpoint.read(checkpointPath);
+        if (saved == null) {
+            throw new IllegalStateException("There is no backfill checkpoint to resume");
+        }
+        return launch(saved);
+    }
+
+    public BackfillProgress stop() {
+        Run run = current.get();
+        if (run != null && run.subscription != null) {
+            run.subscription.dispose();
+        }
+        return progress();
+    }
+
+    public BackfillProgress progress() {
+        Run run = current.get();
+        if (run != null) {
+            return run.progress();
+        }
+        BackfillCheckpoint saved = BackfillCheckpoint.read(checkpointPath);
+        return saved == null
+                ? new BackfillProgress(State.IDLE, null, null, null, 0, 0, 0, 0, 0, 0, null, null, null)
+                : new BackfillProgress(State.IDLE, saved.start(), saved.end(), saved.completedThrough(),
+                        days(saved.start(), saved.end()), 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    CompletableFuture<BackfillProgress> completion() {
+        Run run = current.get();
+        return run == null ? CompletableFuture.completedFuture(progress()) : run.completion.copy();
+    }
+
+    private BackfillProgress launch(BackfillCheckpoint checkpoint) {
+        if (!neoDayArchive.isEnabled()) {
+            throw new IllegalStateException("Backfill needs the NEO archive, which is disabled");
+        }
+        Run previous = current.get();
+        if (previous != null && previous.state == State.RUNNING) {
+            throw new IllegalStateException("A backfill is already running");
+        }
+        Run run = new Run(checkpoint, windows(checkpoint.resumeFrom(), checkpoint.end()));
+        if (!current.compareAndSet(previous, run)) {
+            throw new IllegalStateException("A backfill is already running");
+        }
+        checkpoint.write(checkpointPath);
+
+        // Days already final in the archive (from traffic or an earlier run) are never fetched again.
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < run.windows.size(); i++) {
+            if (isArchived(run.windows.get(i))) {
+                run.daysSkipped.addAndGet(run.windows.get(i).days());
+                run.complete(i);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        log.info("Backfilling NEOs for {}..{} ({}) from {}: {} of {} windows to fetch",
+                checkpoint.start(), checkpoint.end(), appZoneId, checkpoint.resumeFrom(),
+                pending.size(), run.windows.size());
+        Flux<Integer> paced = requestInterval.isZero()
+                ? Flux.fromIterable(pending)
+                : Flux.fromIterable(pending).delayElements(requestInterval);
+        run.subscription = paced
+                .flatMap(index -> fetchWindow(run, index), maxConcurrentFetches)
+                .doOnCancel(() -> run.finish(State.STOPPED, null))
+                .subscribe(null, run::fail, () -> run.finish(State.COMPLETED, null));
+        return run.progress();
+    }
+
+    private Mono<Integer> fetchWindow(Run run, int index) {
+        Window window = run.windows.get(index);
+        // Retries are NeoWsClient's own; a failure that outlasts them ends the run (paused when out of quota).
+        return Mono.defer(() -> {
+                    run.upstreamCalls.incrementAndGet();
+                    return neoWsClient.fetchFeedJson(window.start(), window.end(), NeoWsPriority.BACKGROUND);
+                })
+                .contextWrite(NeoWsResilience.onRetry(() -> {
+                    run.upstreamCalls.incrementAndGet();
+                    run.retries.incrementAndGet();
+                }))
+                // Normalizing and the archive's file writes stay off the event loop that completed the fetch.
+                .publishOn(Schedulers.boundedElastic())
+                .map(feedJson -> {
+                    archive(window, feedJson);
+                    run.daysArchived.addAndGet(window.days());
+                    run.complete(index);
+                    return index;
+                });
+    }
+
+    // Only the normalized neos are archived, so neither response bodies nor indexes are built here. A day the
+    // archive did not store ends the run before the window counts as done, so the checkpoint stays behind it.
+    private void archive(Window window, byte[] feedJson) {
+        Map<LocalDate, List<NeoSummary>> days = neoFeedNormalizer.normalizeFeed(feedJson);
+        Instant fetchedAt = appClock.instant();
+        for (LocalDate date = window.start(); !date.isAfter(window.end()); date = date.plusDays(1)) {
+            List<NeoSummary> neos = days.getOrDefault(date, List.of());
+            if (!neoDayArchive.append(appZoneId, new NeoDaySnapshot(date, neos, fetchedAt, null, null))) {
+                throw new IllegalStateException("NEO archive did not store " + date + "; it is full or unwritable");
+            }
+        }
+    }
+
+    private boolean isArchived(Window window) {
+        for (LocalDate date = window.start(); !date.isAfter(window.end()); date = date.plusDays(1)) {
+            if (!neoDayArchive.isFinal(date, appZoneId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Both start and end dates are required");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end must not be before start");
+        }
+        if (end.isAfter(LocalDate.now(appClock))) {
+            throw new IllegalArgumentException("end must not be in the future");
+        }
+    }
+
+    static List<Window> windows(LocalDate start, LocalDate end) {
+        List<Window> windows = new ArrayList<>();
+        for (LocalDate windowStart = start; !windowStart.isAfter(end);
+                windowStart = windowStart.plusDays(NeoRangeService.MAX_FEED_WINDOW_DAYS)) {
+            LocalDate windowEnd = windowStart.plusDays(NeoRangeService.MAX_FEED_WINDOW_DAYS - 1);
+            windows.add(new Window(windowStart, windowEnd.isAfter(end) ? end : windowEnd));
+        }
+        return windows;
+    }
+
+    private static long days(LocalDate start, LocalDate end) {
+        return ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    record Window(LocalDate start, LocalDate end) {
+
+        long days() {
+            return NeoBackfillService.days(start, end);
+        }
+    }
+
+    private final class Run {
+
+        private final BackfillCheckpoint initial;
+        private final List<Window> windows;
+        private final boolean[] done;
+        private final ReentrantLock checkpointLock = new ReentrantLock();
+        private final AtomicLong daysArchived = new AtomicLong();
+        private final AtomicLong daysSkipped = new AtomicLong();
+        private final AtomicLong upstreamCalls = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final Instant startedAt = appClock.instant();
+        private final CompletableFuture<BackfillProgress> completion = new CompletableFuture<>();
+        private int nextPending;
+        private volatile LocalDate completedThrough;
+        private volatile State state = State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String lastError;
+        private volatile Disposable subscription;
+
+        private Run(BackfillCheckpoint initial, List<Window> windows) {
+            this.initial = initial;
+            this.windows = windows;
+            this.done = new boolean[windows.size()];
+            this.completedThrough = initial.completedThrough();
+            // Days behind the checkpoint were archived by an earlier run.
+            this.daysSkipped.set(days(initial.start(), initial.resumeFrom()) - 1);
+        }
+
+        // Windows finish out of order; the checkpoint only advances over a contiguous prefix.
+        private void complete(int index) {
+            checkpointLock.lock();
+            try {
+                done[index] = true;
+                int advancedFrom = nextPending;
+                while (nextPending < done.length && done[nextPending]) {
+                    completedThrough = windows.get(nextPending).end();
+                    nextPending++;
+                }
+                if (nextPending > advancedFrom) {
+                    new BackfillCheckpoint(initial.start(), initial.end(), completedThrough).write(checkpointPath);
+                }
+            } finally {
+                checkpointLock.unlock();
+            }
+        }
+
+        // Out of quota or refused by the client's own limits: pause, so a later resume picks up from the checkpoint.
+        private void fail(Throwable failure) {
+            boolean pause = failure instanceof NeoWsUnavailableException
+                    || failure instanceof NeoWsException neoWsException && neoWsException.getStatus() == 429;
+            LocalDate resumeFrom =
+                    new BackfillCheckpoint(initial.start(), initial.end(), completedThrough).resumeFrom();
+            log.warn("Backfill of NEOs {}, resumable from {}: {}",
+                    pause ? "paused" : "failed", resumeFrom, failure.getMessage());
+            finish(pause ? State.PAUSED : State.FAILED, failure.getMessage());
+        }
+
+        private void finish(State finalState, String error) {
+            if (state != State.RUNNING) {
+                return;
+            }
+            lastError = error;
+            finishedAt = appClock.instant();
+            state = finalState;
+            if (finalState == State.COMPLETED) {
+                log.info("Backfill of NEOs for {}..{} completed: {} days archived, {} skipped",
+                        initial.start(), initial.end(), daysArchived.get(), daysSkipped.get());
+            }
+            completion.complete(progress());
+        }
+
+        private BackfillProgress progress() {
+            Instant until = finishedAt != null ? finishedAt : appClock.instant();
+            double seconds = Duration.between(startedAt, until).toNanos() / 1e9;
+            long archived = daysArchived.get();
+            return new BackfillProgress(
+                    state,
+                    initial.start(),
+                    initial.end(),
+                    completedThrough,
+                    days(initial.start(), initial.end()),
+                    archived,
+                    daysSkipped.get(),
+                    upstreamCalls.get(),
+                    retries.get(),
+                    seconds > 0 ? archived / seconds : 0,
+                    startedAt,
+                    finishedAt,
+                    lastError);
+        }
+    }
+}
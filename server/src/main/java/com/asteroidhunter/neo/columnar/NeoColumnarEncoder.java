@@ -0,0 +1,146 @@
+package com.asteroidhunter.neo.columnar;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact binary form of a list of NeoSummary rows, one frame per list. Everything is little-endian and every
+// section starts on an 8-byte boundary, so a browser can lay Float64Array/Int32Array views straight over the
+// buffer. Frames are self-delimiting and a multiple of 8 bytes long, so a range response is just the cached day
+// frames back to back.
+//
+// Frame layout:
+//   header      int32 magic ("NEOC"), int32 version, int32 rows, int32 strings, int32 frameBytes, int32 reserved
+//   float64[rows] x6  closeApproachEpochMillis (NaN when unknown), missDistanceKm, missDistanceLunar,
+//                     relativeVelocityKmPerSec, diameterMinMeters, diameterMaxMeters
+//   int32[rows] x3    id, name and orbitingBody codes into the string table (-1 for null)
+//   uint8[rows]       hazardous (0 or 1)
+//   string table      int32[strings + 1] offsets into the UTF-8 bytes that follow
+public final class NeoColumnarEncoder {
+
+    public static final String MEDIA_TYPE = "application/vnd.asteroidhunter.neo-columns";
+    public static final int MAGIC = 0x434F454E;
+    public static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 24;
+
+    private NeoColumnarEncoder() {
+    }
+
+    public static byte[] encode(List<NeoSummary> neos) {
+        int rows = neos.size();
+        StringDictionary strings = new StringDictionary();
+        int[] idCodes = new int[rows];
+        int[] nameCodes = new int[rows];
+        int[] orbitingBodyCodes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            NeoSummary neo = neos.get(row);
+            idCodes[row] = strings.encode(neo.id());
+            nameCodes[row] = strings.encode(neo.name());
+            orbitingBodyCodes[row] = strings.encode(neo.orbitingBody());
+        }
+        List<byte[]> encoded = new ArrayList<>();
+        int stringBytes = 0;
+        for (String value : strings.freeze()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        int frameBytes = HEADER_BYTES
+                + 6 * rows * Double.BYTES
+                + pad(3 * rows * Integer.BYTES)
+                + pad(rows)
+                + pad((encoded.size() + 1) * Integer.BYTES + stringBytes);
+        ByteBuffer buffer = ByteBuffer.allocate(frameBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(encoded.size()).putInt(frameBytes).putInt(0);
+
+        for (NeoSummary neo : neos) {
+            buffer.putDouble(neo.closeApproachTime() == null ? Double.NaN : neo.closeApproachTime().toEpochMilli());
+        }
+        neos.forEach(neo -> buffer.putDouble(neo.missDistanceKm()));
+        neos.forEach(neo -> buffer.putDouble(neo.missDistanceLunar()));
+        neos.forEach(neo -> buffer.putDouble(neo.relativeVelocityKmPerSec()));
+        neos.forEach(neo -> buffer.putDouble(neo.diameterMinMeters()));
+        neos.forEach(neo -> buffer.putDouble(neo.diameterMaxMeters()));
+        for (int[] codes : List.of(idCodes, nameCodes, orbitingBodyCodes)) {
+            for (int code : codes) {
+                buffer.putInt(code);
+            }
+        }
+        align(buffer);
+        neos.forEach(neo -> buffer.put((byte) (neo.isHazardous() ? 1 : 0)));
+        align(buffer);
+
+        int offset = 0;
+        buffer.putInt(offset);
+        for (byte[] bytes : encoded) {
+            offset += bytes.length;
+            buffer.putInt(offset);
+        }
+        encoded.forEach(buffer::put);
+        return buffer.array();
+    }
+
+    // Concatenates already encoded frames into one body.
+    public static byte[] concat(List<byte[]> frames) {
+        int length = frames.stream().mapToInt(frame -> frame.length).sum();
+        ByteBuffer body = ByteBuffer.allocate(length);
+        frames.forEach(body::put);
+        return body.array();
+    }
+
+    // Reads every frame of a body back into rows; the inverse of encode/concat.
+    public static List<NeoSummary> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        List<NeoSummary> neos = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            if (buffer.getInt(start) != MAGIC || buffer.getInt(start + 4) != VERSION) {
+                throw new IllegalArgumentException("Not a version " + VERSION + " NEO columns frame at " + start);
+            }
+            int rows = buffer.getInt(start + 8);
+            int stringCount = buffer.getInt(start + 12);
+            int frameBytes = buffer.getInt(start + 16);
+            int doubles = start + HEADER_BYTES;
+            int codes = doubles + 6 * rows * Double.BYTES;
+            int flags = codes + pad(3 * rows * Integer.BYTES);
+            int offsets = flags + pad(rows);
+            int stringData = offsets + (stringCount + 1) * Integer.BYTES;
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                int from = buffer.getInt(offsets + i * Integer.BYTES);
+                int to = buffer.getInt(offsets + (i + 1) * Integer.BYTES);
+                strings[i] = new String(body, stringData + from, to - from, StandardCharsets.UTF_8);
+            }
+            for (int row = 0; row < rows; row++) {
+                double epochMillis = buffer.getDouble(doubles + row * Double.BYTES);
+                neos.add(new NeoSummary(
+                        StringDictionary.decode(strings, buffer.getInt(codes + row * Integer.BYTES)),
+                        StringDictionary.decode(strings, buffer.getInt(codes + (rows + row) * Integer.BYTES)),
+                        body[flags + row] != 0,
+                        buffer.getDouble(doubles + (4 * rows + row) * Double.BYTES),
+                        buffer.getDouble(doubles + (5 * rows + row) * Double.BYTES),
+                        Double.isNaN(epochMillis) ? null : Instant.ofEpochMilli((long) epochMillis),
+                        StringDictionary.decode(strings, buffer.getInt(codes + (2 * rows + row) * Integer.BYTES)),
+                        buffer.getDouble(doubles + (rows + row) * Double.BYTES),
+                        buffer.getDouble(doubles + (2 * rows + row) * Double.BYTES),
+                        buffer.getDouble(doubles + (3 * rows + row) * Double.BYTES)));
+            }
+            buffer.position(start + frameBytes);
+        }
+        return neos;
+    }
+
+    private static int pad(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static void align(ByteBuffer buffer) {
+        buffer.position(pad(buffer.position()));
+    }
+}
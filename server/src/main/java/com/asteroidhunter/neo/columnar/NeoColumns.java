@@ -0,0 +1,323 @@
+package com.asteroidhunter.neo.columnar;
+
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Struct-of-arrays copy of many days of NeoSummary rows for analytics over years of approaches. Each field is
+// a primitive column (strings are dictionary-encoded, the hazardous flag is a bitset), so scans only touch the
+// columns a filter bounds, in tight branch-free loops over contiguous arrays. Instances are immutable.
+public final class NeoColumns {
+
+    public enum Column {
+        MISS_DISTANCE_KM,
+        MISS_DISTANCE_LUNAR,
+        RELATIVE_VELOCITY_KM_PER_SEC,
+        DIAMETER_MIN_METERS,
+        DIAMETER_MAX_METERS
+    }
+
+    // NaN values (unknown measurements) are left out of min, max and mean.
+    public record ColumnStats(int count, double min, double max, double mean) {
+    }
+
+    private final int size;
+    private final int[] idCodes;
+    private final int[] nameCodes;
+    private final int[] orbitingBodyCodes;
+    private final long[] hazardousBits;
+    private final double[] diameterMinMeters;
+    private final double[] diameterMaxMeters;
+    private final long[] closeApproachEpochMillis;
+    private final double[] missDistanceKm;
+    private final double[] missDistanceLunar;
+    private final double[] relativeVelocityKmPerSec;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] orbitingBodies;
+
+    private NeoColumns(Builder builder) {
+        this.size = builder.size;
+        this.idCodes = Arrays.copyOf(builder.idCodes, size);
+        this.nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        this.orbitingBodyCodes = Arrays.copyOf(builder.orbitingBodyCodes, size);
+        this.hazardousBits = Arrays.copyOf(builder.hazardousBits, words(size));
+        this.diameterMinMeters = Arrays.copyOf(builder.diameterMinMeters, size);
+        this.diameterMaxMeters = Arrays.copyOf(builder.diameterMaxMeters, size);
+        this.closeApproachEpochMillis = Arrays.copyOf(builder.closeApproachEpochMillis, size);
+        this.missDistanceKm = Arrays.copyOf(builder.missDistanceKm, size);
+        this.missDistanceLunar = Arrays.copyOf(builder.missDistanceLunar, size);
+        this.relativeVelocityKmPerSec = Arrays.copyOf(builder.relativeVelocityKmPerSec, size);
+        this.ids = builder.ids.freeze();
+        this.names = builder.names.freeze();
+        this.orbitingBodies = builder.orbitingBodies.freeze();
+    }
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+
+    public static NeoColumns fromDays(Collection<? extends Collection<NeoSummary>> days) {
+        Builder builder = builder(days.stream().mapToInt(Collection::size).sum());
+        days.forEach(builder::addAll);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public NeoSummary row(int index) {
+        return new NeoSummary(
+                StringDictionary.decode(ids, idCodes[index]),
+                StringDictionary.decode(names, nameCodes[index]),
+                isHazardous(index),
+                diameterMinMeters[index],
+                diameterMaxMeters[index],
+                Instant.ofEpochMilli(closeApproachEpochMillis[index]),
+                StringDictionary.decode(orbitingBodies, orbitingBodyCodes[index]),
+                missDistanceKm[index],
+                missDistanceLunar[index],
+                relativeVelocityKmPerSec[index]);
+    }
+
+    public List<NeoSummary> rows(int[] indexes) {
+        List<NeoSummary> rows = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            rows.add(row(index));
+        }
+        return rows;
+    }
+
+    public boolean isHazardous(int index) {
+        return (hazardousBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int count(NeoFilter filter) {
+        if (filter.isUnfiltered()) {
+            return size;
+        }
+        Scan scan = new Scan(filter);
+        int count = 0;
+        for (int word = 0; word < hazardousBits.length; word++) {
+            count += Long.bitCount(scan.matchWord(this, word));
+        }
+        return count;
+    }
+
+    // Row indexes in storage order.
+    public int[] select(NeoFilter filter) {
+        Scan scan = new Scan(filter);
+        int[] selected = new int[size];
+        int count = 0;
+        for (int word = 0; word < hazardousBits.length; word++) {
+            for (long matches = scan.matchWord(this, word); matches != 0; matches &= matches - 1) {
+                selected[count++] = (word << 6) + Long.numberOfTrailingZeros(matches);
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    public ColumnStats stats(Column column, NeoFilter filter) {
+        double[] values = values(column);
+        Scan scan = new Scan(filter);
+        int count = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        for (int word = 0; word < hazardousBits.length; word++) {
+            for (long matches = scan.matchWord(this, word); matches != 0; matches &= matches - 1) {
+                double value = values[(word << 6) + Long.numberOfTrailingZeros(matches)];
+                if (value == value) {
+                    count++;
+                    sum += value;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+        }
+        return count == 0
+                ? new ColumnStats(0, Double.NaN, Double.NaN, Double.NaN)
+                : new ColumnStats(count, min, max, sum / count);
+    }
+
+    // Array payloads plus the dictionaries' strings; object headers of the columns themselves are ignored.
+    public long estimatedBytes() {
+        long bytes = (long) size * (3 * Integer.BYTES + 6 * Double.BYTES) + (long) hazardousBits.length * Long.BYTES;
+        for (String[] dictionary : List.of(ids, names, orbitingBodies)) {
+            for (String value : dictionary) {
+                // String header + value array header + Latin-1 bytes, plus the dictionary slot.
+                bytes += 24 + 16 + value.length() + 4;
+            }
+        }
+        return bytes;
+    }
+
+    private double[] values(Column column) {
+        return switch (column) {
+            case MISS_DISTANCE_KM -> missDistanceKm;
+            case MISS_DISTANCE_LUNAR -> missDistanceLunar;
+            case RELATIVE_VELOCITY_KM_PER_SEC -> relativeVelocityKmPerSec;
+            case DIAMETER_MIN_METERS -> diameterMinMeters;
+            case DIAMETER_MAX_METERS -> diameterMaxMeters;
+        };
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    // A filter unpacked once per scan and evaluated 64 rows at a time into a match bitmask: the hazardous bitset
+    // applies a whole word at once, and each bounded column is tested in its own tight, branch-free loop (skipped
+    // as soon as no row in the word can still match).
+    private static final class Scan {
+
+        private final boolean hazardousOnly;
+        private final boolean missBounded;
+        private final double minMiss;
+        private final double maxMiss;
+        private final boolean velocityBounded;
+        private final double minVelocity;
+        private final double maxVelocity;
+        private final boolean diameterBounded;
+        private final double minDiameter;
+        private final double maxDiameter;
+        private final boolean timeBounded;
+        private final long fromEpochMillis;
+        private final long toEpochMillis;
+
+        private Scan(NeoFilter filter) {
+            this.hazardousOnly = filter.hazardousOnly();
+            this.minMiss = filter.minMissDistanceKm();
+            this.maxMiss = filter.maxMissDistanceKm();
+            this.missBounded = bounded(minMiss, maxMiss);
+            this.minVelocity = filter.minVelocityKmPerSec();
+            this.maxVelocity = filter.maxVelocityKmPerSec();
+            this.velocityBounded = bounded(minVelocity, maxVelocity);
+            this.minDiameter = filter.minDiameterMeters();
+            this.maxDiameter = filter.maxDiameterMeters();
+            this.diameterBounded = bounded(minDiameter, maxDiameter);
+            this.fromEpochMillis = filter.fromEpochMillis();
+            this.toEpochMillis = filter.toEpochMillis();
+            this.timeBounded = fromEpochMillis != Long.MIN_VALUE || toEpochMillis != Long.MAX_VALUE;
+        }
+
+        private long matchWord(NeoColumns columns, int word) {
+            int from = word << 6;
+            int to = Math.min(columns.size, from + 64);
+            long mask = to - from == 64 ? -1L : (1L << (to - from)) - 1;
+            if (hazardousOnly) {
+                mask &= columns.hazardousBits[word];
+            }
+            if (mask != 0 && missBounded) {
+                mask &= rangeMask(columns.missDistanceKm, from, to, minMiss, maxMiss);
+            }
+            if (mask != 0 && velocityBounded) {
+                mask &= rangeMask(columns.relativeVelocityKmPerSec, from, to, minVelocity, maxVelocity);
+            }
+            if (mask != 0 && diameterBounded) {
+                mask &= rangeMask(columns.diameterMaxMeters, from, to, minDiameter, maxDiameter);
+            }
+            if (mask != 0 && timeBounded) {
+                mask &= timeMask(columns.closeApproachEpochMillis, from, to, fromEpochMillis, toEpochMillis);
+            }
+            return mask;
+        }
+
+        private static long rangeMask(double[] values, int from, int to, double min, double max) {
+            long mask = 0;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                mask |= (value >= min & value <= max ? 1L : 0L) << (i - from);
+            }
+            return mask;
+        }
+
+        private static long timeMask(long[] values, int from, int to, long fromInclusive, long toExclusive) {
+            long mask = 0;
+            for (int i = from; i < to; i++) {
+                long value = values[i];
+                mask |= (value >= fromInclusive & value < toExclusive ? 1L : 0L) << (i - from);
+            }
+            return mask;
+        }
+
+        private static boolean bounded(double min, double max) {
+            return min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+        }
+    }
+
+    public static final class Builder {
+
+        private final StringDictionary ids = new StringDictionary();
+        private final StringDictionary names = new StringDictionary();
+        private final StringDictionary orbitingBodies = new StringDictionary();
+        private int size;
+        private int[] idCodes;
+        private int[] nameCodes;
+        private int[] orbitingBodyCodes;
+        private long[] hazardousBits;
+        private double[] diameterMinMeters;
+        private double[] diameterMaxMeters;
+        private long[] closeApproachEpochMillis;
+        private double[] missDistanceKm;
+        private double[] missDistanceLunar;
+        private double[] relativeVelocityKmPerSec;
+
+        private Builder(int expectedRows) {
+            allocate(Math.max(16, expectedRows));
+        }
+
+        public Builder addAll(Collection<NeoSummary> neos) {
+            neos.forEach(this::add);
+            return this;
+        }
+
+        public Builder add(NeoSummary neo) {
+            if (size == idCodes.length) {
+                allocate(size * 2);
+            }
+            int row = size++;
+            idCodes[row] = ids.encode(neo.id());
+            nameCodes[row] = names.encode(neo.name());
+            orbitingBodyCodes[row] = orbitingBodies.encode(neo.orbitingBody());
+            if (neo.isHazardous()) {
+                hazardousBits[row >>> 6] |= 1L << row;
+            }
+            diameterMinMeters[row] = neo.diameterMinMeters();
+            diameterMaxMeters[row] = neo.diameterMaxMeters();
+            closeApproachEpochMillis[row] = neo.closeApproachTime().toEpochMilli();
+            missDistanceKm[row] = neo.missDistanceKm();
+            missDistanceLunar[row] = neo.missDistanceLunar();
+            relativeVelocityKmPerSec[row] = neo.relativeVelocityKmPerSec();
+            return this;
+        }
+
+        public NeoColumns build() {
+            return new NeoColumns(this);
+        }
+
+        private void allocate(int capacity) {
+            idCodes = idCodes == null ? new int[capacity] : Arrays.copyOf(idCodes, capacity);
+            nameCodes = nameCodes == null ? new int[capacity] : Arrays.copyOf(nameCodes, capacity);
+            orbitingBodyCodes = orbitingBodyCodes == null ? new int[capacity] : Arrays.copyOf(orbitingBodyCodes, capacity);
+            hazardousBits = hazardousBits == null ? new long[words(capacity)] : Arrays.copyOf(hazardousBits, words(capacity));
+            diameterMinMeters = grow(diameterMinMeters, capacity);
+            diameterMaxMeters = grow(diameterMaxMeters, capacity);
+            closeApproachEpochMillis = closeApproachEpochMillis == null
+                    ? new long[capacity]
+                    : Arrays.copyOf(closeApproachEpochMillis, capacity);
+            missDistanceKm = grow(missDistanceKm, capacity);
+            missDistanceLunar = grow(missDistanceLunar, capacity);
+            relativeVelocityKmPerSec = grow(relativeVelocityKmPerSec, capacity);
+        }
+
+        private static double[] grow(double[] values, int capacity) {
+            return values == null ? new double[capacity] : Arrays.copyOf(values, capacity);
+        }
+    }
+}
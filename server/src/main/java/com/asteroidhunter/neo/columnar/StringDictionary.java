@@ -0,0 +1,34 @@
+package com.asteroidhunter.neo.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Each distinct string is stored once; rows hold its int code. Code -1 stands for null.
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    String[] freeze() {
+        return values.toArray(String[]::new);
+    }
+
+    static String decode(String[] dictionary, int code) {
+        return code < 0 ? null : dictionary[code];
+    }
+}
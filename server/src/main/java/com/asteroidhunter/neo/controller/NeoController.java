@@ -1,24 +1,274 @@
 package com.asteroidhunter.neo.controller;
 
+import com.asteroidhunter.common.ServerTiming;
+import com.asteroidhunter.neo.columnar.NeoColumnarEncoder;
+import com.asteroidhunter.neo.model.NeoDayChanges;
+import com.asteroidhunter.neo.model.NeoPage;
+import com.asteroidhunter.neo.model.NeoQuery;
 import com.asteroidhunter.neo.model.NeoSummary;
+import com.asteroidhunter.neo.service.NeoDayIndex;
+import com.asteroidhunter.neo.service.NeoDayPayload;
+import com.asteroidhunter.neo.service.NeoDayResult;
+import com.asteroidhunter.neo.service.NeoDaySnapshot;
+import com.asteroidhunter.neo.service.NeoLookupService;
+import com.asteroidhunter.neo.service.NeoRangeService;
 import com.asteroidhunter.neo.service.NeoTodayService;
+import com.asteroidhunter.neo.service.NeoTodayStream;
+import com.asteroidhunter.neo.service.NeoUpcomingService;
+import com.asteroidhunter.neo.service.NeoZoneViewService;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/neos")
 public class NeoController {
 
+    static final String UPSTREAM_STATUS_HEADER = "X-Upstream-Status";
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final String GZIP = "gzip";
+    private static final MediaType COLUMNS = MediaType.parseMediaType(NeoColumnarEncoder.MEDIA_TYPE);
+
     private final NeoTodayService neoTodayService;
+    private final NeoRangeService neoRangeService;
+    private final NeoLookupService neoLookupService;
+    private final NeoUpcomingService neoUpcomingService;
+    private final NeoZoneViewService neoZoneViewService;
+    private final NeoTodayStream neoTodayStream;
 
-    public NeoController(NeoTodayService neoTodayService) {
+    public NeoController(
+            NeoTodayService neoTodayService,
+            NeoRangeService neoRangeService,
+            NeoLookupService neoLookupService,
+            NeoUpcomingService neoUpcomingService,
+            NeoZoneViewService neoZoneViewService,
+            NeoTodayStream neoTodayStream) {
         this.neoTodayService = neoTodayService;
+        this.neoRangeService = neoRangeService;
+        this.neoLookupService = neoLookupService;
+        this.neoUpcomingService = neoUpcomingService;
+        this.neoZoneViewService = neoZoneViewService;
+        this.neoTodayStream = neoTodayStream;
+    }
+
+    // With query parameters the response is a NeoPage served from the days' precomputed indexes. With tz the
+    // days are local to that zone instead of NeoWs feed days. Without query parameters, clients accepting
+    // NeoColumnarEncoder.MEDIA_TYPE get the days' cached binary frames back to back instead of JSON.
+    @GetMapping
+    public Mono<?> getRangeNeos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) ZoneId tz,
+            @ModelAttribute NeoQueryParams params) {
+        if (params.isEmpty() && acceptsColumns(accept)) {
+            Mono<List<NeoDaySnapshot>> days = tz == null
+                    ? neoRangeService.getRangeDaysReactive(start, end)
+                    : neoZoneViewService.getRangeDaysReactive(start, end, tz);
+            return days.map(NeoController::toColumnsResponse);
+        }
+        if (params.isEmpty()) {
+            return tz == null
+                    ? neoRangeService.getRangeReactive(start, end)
+                    : neoZoneViewService.getRangeReactive(start, end, tz);
+        }
+        NeoQuery query = params.toQuery();
+        Mono<List<NeoDaySnapshot>> days = tz == null
+                ? neoRangeService.getRangeDaysReactive(start, end)
+                : neoZoneViewService.getRangeDaysReactive(start, end, tz);
+        return days.map(snapshots -> NeoDayIndex.page(snapshots.stream().map(NeoDaySnapshot::index).toList(), query));
     }
 
+    // The same range as newline-delimited JSON, one NeoSummary per line. Days are loaded a chunk at a time as the
+    // response is written and rows go out only as fast as the client reads them, so neither side holds the whole
+    // range and the first rows arrive before the last days are fetched.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<NeoSummary> streamRangeNeos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) ZoneId tz) {
+        return tz == null
+                ? neoRangeService.streamRange(start, end)
+                : neoZoneViewService.streamRange(start, end, tz);
+    }
+
+    // Writes the bytes encoded when the day was cached; nothing is serialized per request.
     @GetMapping("/today")
-    public List<NeoSummary> getTodayNeos() {
-        return neoTodayService.getTodayNeos();
+    public Mono<ResponseEntity<?>> getTodayNeos(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) ZoneId tz,
+            @ModelAttribute NeoQueryParams params) {
+        Mono<NeoDayResult> today = tz == null
+                ? neoTodayService.getTodayReactive()
+                : neoZoneViewService.getTodayReactive(tz);
+        // Captured here on the request thread; the mapping below may run wherever the day finished loading.
+        ServerTiming timing = ServerTiming.current();
+        if (params.isEmpty()) {
+            boolean columns = acceptsColumns(accept);
+            return today.map(result -> withServerTiming(
+                    toResponse(result, ifNoneMatch, acceptEncoding, columns), timing));
+        }
+        NeoQuery query = params.toQuery();
+        return today.map(result -> withServerTiming(toPageResponse(result, query), timing));
+    }
+
+    // Today's list as server-sent events: the current list, then one event per refresh that changes it, with
+    // heartbeat comments in between. Clients reconnecting with Last-Event-ID skip a list they already have.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamTodayNeos(
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return neoTodayService.getTodayReactive()
+                .flatMapMany(result -> neoTodayStream.subscribe(result.snapshot(), lastEventId));
+    }
+
+    // What was added, changed or removed on a day (today by default) since a version from an earlier response.
+    // sinceVersion 0, or one this server no longer tracks, returns the whole list with full=true.
+    @GetMapping("/changes")
+    public Mono<NeoDayChanges> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "0") long sinceVersion) {
+        return neoTodayService.getChangesReactive(date, sinceVersion);
+    }
+
+    // Approaches from now until the given number of hours ahead, across UTC feed day boundaries.
+    @GetMapping("/upcoming")
+    public Mono<List<NeoSummary>> getUpcomingNeos(@RequestParam(defaultValue = "24") int hours) {
+        return neoUpcomingService.getUpcomingReactive(hours);
+    }
+
+    // NeoWs ids are numeric, which also keeps this from shadowing the named endpoints.
+    @GetMapping("/{id:\\d+}")
+    public Mono<NeoSummary> getNeo(@PathVariable String id) {
+        return neoLookupService.lookupReactive(id);
+    }
+
+    private ResponseEntity<?> toPageResponse(NeoDayResult result, NeoQuery query) {
+        NeoPage page = NeoDayIndex.page(List.of(result.snapshot().index()), query);
+        return withStaleHeaders(ResponseEntity.ok(), result).body(page);
+    }
+
+    private ResponseEntity<?> toResponse(
+            NeoDayResult result, String ifNoneMatch, String acceptEncoding, boolean columns) {
+        NeoDayPayload payload = result.snapshot().payload();
+        String etag = columns ? payload.columnsEtag() : payload.etag();
+        boolean notModified = matchesEtag(ifNoneMatch, etag);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        withStaleHeaders(response, result);
+        if (notModified) {
+            return response.build();
+        }
+
+        // Mostly doubles, which gzip barely shrinks, so the binary body is always sent as is.
+        if (columns) {
+            return response.contentType(COLUMNS).body(payload.columns());
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(payload.gzippedJson());
+        }
+        return response.body(payload.json());
+    }
+
+    private static ResponseEntity<?> withServerTiming(ResponseEntity<?> response, ServerTiming timing) {
+        if (!timing.isRecording()) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(ServerTiming.HEADER, timing.header());
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static ResponseEntity<byte[]> toColumnsResponse(List<NeoDaySnapshot> days) {
+        byte[] body = NeoColumnarEncoder.concat(days.stream().map(day -> day.payload().columns()).toList());
+        return ResponseEntity.ok().contentType(COLUMNS).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder withStaleHeaders(ResponseEntity.BodyBuilder response, NeoDayResult result) {
+        if (result.stale()) {
+            response.header(HttpHeaders.AGE, String.valueOf(result.staleAge().toSeconds()))
+                    .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                    .header(UPSTREAM_STATUS_HEADER, String.valueOf(result.upstreamErrorStatus()));
+        }
+        return response;
+    }
+
+    // If-None-Match uses weak comparison, so W/ prefixes from intermediaries still match.
+    static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only an explicit, non-zero-quality mention counts; wildcards keep getting JSON.
+    static boolean acceptsColumns(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.getQualityValue() > 0 && mediaType.equalsTypeAndSubtype(COLUMNS)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].trim().matches("[qQ]=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 }
@@ -0,0 +1,53 @@
+package com.asteroidhunter.neo.controller;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoQuery;
+import com.asteroidhunter.neo.model.NeoSortKey;
+import java.util.stream.Stream;
+
+// Optional filter, sort and paging parameters shared by the NEO endpoints. With none of them set the endpoints
+// keep returning the plain list.
+record NeoQueryParams(
+        Boolean hazardous,
+        Double minMissKm,
+        Double maxMissKm,
+        Double minVelocity,
+        Double maxVelocity,
+        Double minDiameter,
+        Double maxDiameter,
+        String sort,
+        String order,
+        Integer limit,
+        String cursor) {
+
+    boolean isEmpty() {
+        return Stream.of(hazardous, minMissKm, maxMissKm, minVelocity, maxVelocity, minDiameter, maxDiameter,
+                        sort, order, limit, cursor)
+                .allMatch(value -> value == null);
+    }
+
+    NeoQuery toQuery() {
+        NeoFilter filter = NeoFilter.all()
+                .withHazardousOnly(Boolean.TRUE.equals(hazardous))
+                .withMissDistanceKm(minMissKm, maxMissKm)
+                .withVelocityKmPerSec(minVelocity, maxVelocity)
+                .withDiameterMeters(minDiameter, maxDiameter);
+        return new NeoQuery(
+                filter,
+                sort == null ? NeoSortKey.TIME : NeoSortKey.fromParameter(sort),
+                descending(),
+                limit == null ? NeoQuery.DEFAULT_LIMIT : limit,
+                cursor);
+    }
+
+    private boolean descending() {
+        if (order == null || order.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (order.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new InvalidRequestException("order must be asc or desc");
+    }
+}
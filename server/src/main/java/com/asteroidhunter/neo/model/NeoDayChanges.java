@@ -0,0 +1,15 @@
+package com.asteroidhunter.neo.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// full is true when sinceVersion was older than anything this server tracks for the day: added is then the whole
+// list and the client should replace what it has rather than apply a delta.
+public record NeoDayChanges(
+        LocalDate date,
+        long version,
+        boolean full,
+        List<NeoSummary> added,
+        List<NeoSummary> changed,
+        List<String> removed) {
+}
@@ -0,0 +1,86 @@
+package com.asteroidhunter.neo.model;
+
+import java.time.Instant;
+
+// Inclusive bounds; an unbounded range also matches NaN values (e.g. an unknown diameter).
+public record NeoFilter(
+        boolean hazardousOnly,
+        double minMissDistanceKm,
+        double maxMissDistanceKm,
+        double minVelocityKmPerSec,
+        double maxVelocityKmPerSec,
+        double minDiameterMeters,
+        double maxDiameterMeters,
+        long fromEpochMillis,
+        long toEpochMillis) {
+
+    private static final NeoFilter ALL = new NeoFilter(
+            false,
+            Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY,
+            Long.MIN_VALUE,
+            Long.MAX_VALUE);
+
+    public static NeoFilter all() {
+        return ALL;
+    }
+
+    public NeoFilter withHazardousOnly(boolean hazardousOnly) {
+        return new NeoFilter(hazardousOnly, minMissDistanceKm, maxMissDistanceKm, minVelocityKmPerSec,
+                maxVelocityKmPerSec, minDiameterMeters, maxDiameterMeters, fromEpochMillis, toEpochMillis);
+    }
+
+    public NeoFilter withMissDistanceKm(Double min, Double max) {
+        return new NeoFilter(hazardousOnly, lower(min), upper(max), minVelocityKmPerSec,
+                maxVelocityKmPerSec, minDiameterMeters, maxDiameterMeters, fromEpochMillis, toEpochMillis);
+    }
+
+    public NeoFilter withVelocityKmPerSec(Double min, Double max) {
+        return new NeoFilter(hazardousOnly, minMissDistanceKm, maxMissDistanceKm, lower(min),
+                upper(max), minDiameterMeters, maxDiameterMeters, fromEpochMillis, toEpochMillis);
+    }
+
+    // Matched against the estimated maximum diameter.
+    public NeoFilter withDiameterMeters(Double min, Double max) {
+        return new NeoFilter(hazardousOnly, minMissDistanceKm, maxMissDistanceKm, minVelocityKmPerSec,
+                maxVelocityKmPerSec, lower(min), upper(max), fromEpochMillis, toEpochMillis);
+    }
+
+    // Half-open: [from, to).
+    public NeoFilter withCloseApproach(Instant from, Instant to) {
+        return new NeoFilter(hazardousOnly, minMissDistanceKm, maxMissDistanceKm, minVelocityKmPerSec,
+                maxVelocityKmPerSec, minDiameterMeters, maxDiameterMeters,
+                from == null ? Long.MIN_VALUE : from.toEpochMilli(),
+                to == null ? Long.MAX_VALUE : to.toEpochMilli());
+    }
+
+    public boolean isUnfiltered() {
+        return equals(ALL);
+    }
+
+    public boolean matches(NeoSummary neo) {
+        long epochMillis = neo.closeApproachTime().toEpochMilli();
+        return (!hazardousOnly || neo.isHazardous())
+                && inRange(neo.missDistanceKm(), minMissDistanceKm, maxMissDistanceKm)
+                && inRange(neo.relativeVelocityKmPerSec(), minVelocityKmPerSec, maxVelocityKmPerSec)
+                && inRange(neo.diameterMaxMeters(), minDiameterMeters, maxDiameterMeters)
+                && epochMillis >= fromEpochMillis
+                && epochMillis < toEpochMillis;
+    }
+
+    public static boolean inRange(double value, double min, double max) {
+        return (value >= min && value <= max) || (min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY);
+    }
+
+    private static double lower(Double min) {
+        return min == null ? Double.NEGATIVE_INFINITY : min;
+    }
+
+    private static double upper(Double max) {
+        return max == null ? Double.POSITIVE_INFINITY : max;
+    }
+}
@@ -0,0 +1,7 @@
+package com.asteroidhunter.neo.model;
+
+import java.util.List;
+
+// nextCursor is null on the last page.
+public record NeoPage(List<NeoSummary> items, String nextCursor) {
+}
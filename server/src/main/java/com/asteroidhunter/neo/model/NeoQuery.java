@@ -0,0 +1,20 @@
+package com.asteroidhunter.neo.model;
+
+import com.asteroidhunter.common.InvalidRequestException;
+
+public record NeoQuery(
+        NeoFilter filter,
+        NeoSortKey sort,
+        boolean descending,
+        int limit,
+        String cursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public NeoQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.asteroidhunter.neo.model;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public enum NeoSortKey {
+    MISS_DISTANCE("missDistance"),
+    VELOCITY("velocity"),
+    SIZE("size"),
+    TIME("time");
+
+    private final String parameter;
+
+    NeoSortKey(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String parameter() {
+        return parameter;
+    }
+
+    public static NeoSortKey fromParameter(String value) {
+        for (NeoSortKey key : values()) {
+            if (key.parameter.equalsIgnoreCase(value)) {
+                return key;
+            }
+        }
+        throw new InvalidRequestException("sort must be one of "
+                + Arrays.stream(values()).map(NeoSortKey::parameter).collect(Collectors.joining(", ")));
+    }
+
+    // Size sorts on the estimated maximum diameter, the same value the diameter filter bounds.
+    public double value(NeoSummary neo) {
+        return switch (this) {
+            case MISS_DISTANCE -> neo.missDistanceKm();
+            case VELOCITY -> neo.relativeVelocityKmPerSec();
+            case SIZE -> neo.diameterMaxMeters();
+            case TIME -> neo.closeApproachTime().toEpochMilli();
+        };
+    }
+
+    // Whether the filter's bound on this key excludes the row because its value is too small (or too large).
+    public boolean belowRange(NeoSummary neo, NeoFilter filter) {
+        double value = value(neo);
+        return switch (this) {
+            case MISS_DISTANCE -> value < filter.minMissDistanceKm();
+            case VELOCITY -> value < filter.minVelocityKmPerSec();
+            case SIZE -> value < filter.minDiameterMeters();
+            case TIME -> value < filter.fromEpochMillis();
+        };
+    }
+
+    public boolean aboveRange(NeoSummary neo, NeoFilter filter) {
+        double value = value(neo);
+        return switch (this) {
+            case MISS_DISTANCE -> value > filter.maxMissDistanceKm();
+            case VELOCITY -> value > filter.maxVelocityKmPerSec();
+            case SIZE -> value > filter.maxDiameterMeters();
+            case TIME -> value >= filter.toEpochMillis();
+        };
+    }
+}
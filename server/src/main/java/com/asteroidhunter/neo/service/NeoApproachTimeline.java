@@ -0,0 +1,115 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+// Close-approach times of the cached days from yesterday on, as one sorted long[] with the rows alongside.
+// A cached or refreshed day is merged in with a single linear pass that also drops that day's previous rows and
+// days that have gone by; readers binary-search whichever arrays were last published and never take the lock.
+@Component
+public class NeoApproachTimeline implements NeoDayListener {
+
+    private final ZoneId appZoneId;
+    private final Clock appClock;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Entries entries = new Entries(new long[0], new NeoSummary[0], new LocalDate[0]);
+
+    public NeoApproachTimeline(ZoneId appZoneId, Clock appClock) {
+        this.appZoneId = appZoneId;
+        this.appClock = appClock;
+    }
+
+    @Override
+    public void dayCached(NeoDaySnapshot snapshot) {
+        update(snapshot.date(), snapshot.neos());
+    }
+
+    @Override
+    public void dayRestored(NeoDaySnapshot snapshot) {
+        update(snapshot.date(), snapshot.neos());
+    }
+
+    public void update(LocalDate date, List<NeoSummary> neos) {
+        NeoSummary[] added = neos.toArray(NeoSummary[]::new);
+        Arrays.sort(added, NeoFeedNormalizer.APPROACH_ORDER);
+
+        updateLock.lock();
+        try {
+            LocalDate retainFrom = LocalDate.ofInstant(appClock.instant(), appZoneId).minusDays(1);
+            if (date.isBefore(retainFrom)) {
+                added = new NeoSummary[0];
+            }
+            Entries current = entries;
+            int kept = 0;
+            for (LocalDate day : current.days()) {
+                if (!day.equals(date) && !day.isBefore(retainFrom)) {
+                    kept++;
+                }
+            }
+
+            int size = kept + added.length;
+            long[] epochMillis = new long[size];
+            NeoSummary[] rows = new NeoSummary[size];
+            LocalDate[] days = new LocalDate[size];
+            int i = 0;
+            int j = 0;
+            for (int out = 0; out < size; out++) {
+                while (i < current.days().length
+                        && (current.days()[i].equals(date) || current.days()[i].isBefore(retainFrom))) {
+                    i++;
+                }
+                boolean takeExisting = j == added.length
+                        || (i < current.days().length
+                        && NeoFeedNormalizer.APPROACH_ORDER.compare(current.neos()[i], added[j]) <= 0);
+                if (takeExisting) {
+                    epochMillis[out] = current.epochMillis()[i];
+                    rows[out] = current.neos()[i];
+                    days[out] = current.days()[i++];
+                } else {
+                    epochMillis[out] = added[j].closeApproachTime().toEpochMilli();
+                    rows[out] = added[j++];
+                    days[out] = date;
+                }
+            }
+            entries = new Entries(epochMillis, rows, days);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Approaches in [from, to), in time order.
+    public List<NeoSummary> between(Instant from, Instant to) {
+        Entries current = entries;
+        int start = lowerBound(current.epochMillis(), from.toEpochMilli());
+        int end = Math.max(start, lowerBound(current.epochMillis(), to.toEpochMilli()));
+        return List.of(Arrays.copyOfRange(current.neos(), start, end));
+    }
+
+    public int size() {
+        return entries.epochMillis().length;
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entries(long[] epochMillis, NeoSummary[] neos, LocalDate[] days) {
+    }
+}
@@ -0,0 +1,466 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Append-only file of normalized days keyed by date and zone. Each record is
+// [int length][int crc32][payload]; the newest record for a key wins, and a torn tail left by a crash is
+// truncated on open. Reads decode straight out of a read-only memory mapping of the file; records appended since the
+// last mapping are read from the channel until enough have piled up to be worth remapping. The file is capped at
+// maxBytes (at most 2 GB, the size of one mapping) and rewritten with only the newest record per key on open once
+// superseded records take up most of it.
+@Component
+public class NeoDayArchive implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NeoDayArchive.class);
+    private static final int MAGIC = 0x4E454F41;
+    private static final short VERSION = 1;
+    private static final int FILE_HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final long DEFAULT_MAX_BYTES = 1L << 30;
+    private static final long REMAP_BYTES = 1L << 20;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private final long maxBytes;
+    private final FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long size;
+
+    public NeoDayArchive(boolean enabled, Path path) {
+        this(enabled, path, DEFAULT_MAX_BYTES);
+    }
+
+    @Autowired
+    public NeoDayArchive(
+            @Value("${app.archive.enabled:true}") boolean enabled,
+            @Value("${app.archive.path:data/neo-days.bin}") Path path,
+            @Value("${app.archive.maxBytes:1073741824}") long maxBytes) {
+        this.maxBytes = Math.max(FILE_HEADER_BYTES, Math.min(maxBytes, Integer.MAX_VALUE));
+        this.channel = enabled ? open(path) : null;
+    }
+
+    public static NeoDayArchive disabled() {
+        return new NeoDayArchive(false, null);
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public ArchivedDay find(LocalDate date, ZoneId zone) {
+        if (channel == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(key(date, zone));
+            return entry == null ? null : decode(entry);
+        } catch (RuntimeException ex) {
+            log.warn("Unable to read archived NEOs for {} ({}): {}", date, zone, ex.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFinal(LocalDate date, ZoneId zone) {
+        if (channel == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(key(date, zone));
+            return entry != null && entry.isFinal();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Newest dates first, so warming a bounded cache keeps the days most likely to be asked for.
+    public List<LocalDate> dates(ZoneId zone) {
+        if (channel == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<LocalDate> dates = new ArrayList<>();
+            for (IndexEntry entry : index.values()) {
+                if (entry.zone().equals(zone.getId())) {
+                    dates.add(entry.date());
+                }
+            }
+            dates.sort(Comparator.reverseOrder());
+            return dates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Skips the write when the archive already holds this content and the new snapshot adds nothing
+    // (it is not newer, or it would not turn the day final). False when the day could not be stored: the archive is
+    // disabled or full, or the write failed.
+    public boolean append(ZoneId zone, NeoDaySnapshot snapshot) {
+        if (channel == null) {
+            return false;
+        }
+        String key = key(snapshot.date(), zone);
+        byte[] summaries = encodeSummaries(snapshot.neos());
+        lock.writeLock().lock();
+        try {
+            IndexEntry existing = index.get(key);
+            if (existing != null && !snapshot.fetchedAt().isAfter(existing.fetchedAt())) {
+                return true;
+            }
+            if (existing != null
+                    && sameSummaries(existing, summaries)
+                    && (existing.isFinal() || !snapshot.isFinal(zone))) {
+                return true;
+            }
+
+            byte[] payload = encodePayload(snapshot.date(), zone, snapshot.fetchedAt(), summaries);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                    .putInt(payload.length)
+                    .putInt((int) crc.getValue())
+                    .put(payload)
+                    .flip();
+            long offset = size;
+            if (offset + record.remaining() > maxBytes) {
+                log.warn("Not archiving NEOs for {} ({}): the archive has reached its {} byte limit",
+                        snapshot.date(), zone, maxBytes);
+                return false;
+            }
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            channel.force(false);
+            size = offset + RECORD_HEADER_BYTES + payload.length;
+            index.put(key, indexEntry(
+                    offset,
+                    snapshot.date(),
+                    zone.getId(),
+                    snapshot.fetchedAt(),
+                    payload.length,
+                    summaries.length,
+                    snapshot.isFinal(zone)));
+            remapIfGrown();
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to archive NEOs for {} ({}): {}", snapshot.date(), zone, ex.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The record is already stored; if remapping fails, reads keep going to the channel for the unmapped tail.
+    private void remapIfGrown() {
+        if (size - mapped.limit() < REMAP_BYTES) {
+            return;
+        }
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to remap the NEO archive: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private FileChannel open(Path path) {
+        FileChannel opened = null;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            opened = openFile(path);
+            if (opened != null && needsCompaction()) {
+                opened = compact(path, opened);
+            }
+            if (opened != null) {
+                log.info("Opened NEO archive {} with {} days", path, index.size());
+            }
+            return opened;
+        } catch (IOException | RuntimeException ex) {
+            // A file too large to map lands here too (map throws IllegalArgumentException past 2 GB).
+            log.warn("NEO archive {} is unavailable, continuing without it: {}", path, ex.getMessage());
+            index.clear();
+            mapped = null;
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (IOException ignored) {
+                    // Already failed; nothing more to report.
+                }
+            }
+            return null;
+        }
+    }
+
+    private FileChannel openFile(Path path) throws IOException {
+        FileChannel opened = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (opened.size() == 0) {
+                opened.write(fileHeader(), 0);
+                opened.force(true);
+            }
+            size = opened.size();
+            if (size < FILE_HEADER_BYTES) {
+                opened.close();
+                log.warn("Ignoring NEO archive {}: truncated header", path);
+                return null;
+            }
+            mapped = opened.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != MAGIC || mapped.getShort(Integer.BYTES) != VERSION) {
+                opened.close();
+                log.warn("Ignoring NEO archive {}: not a version {} archive", path, VERSION);
+                return null;
+            }
+            rebuildIndex(opened);
+            return opened;
+        } catch (IOException | RuntimeException ex) {
+            opened.close();
+            throw ex;
+        }
+    }
+
+    // Superseded records outweigh the live ones, or the file is over its cap.
+    private boolean needsCompaction() {
+        long live = FILE_HEADER_BYTES;
+        for (IndexEntry entry : index.values()) {
+            live += entry.recordBytes();
+        }
+        return size - live > live || size > maxBytes;
+    }
+
+    // Writes the newest record per key, in file order, to a sibling file and moves it over the archive.
+    private FileChannel compact(Path path, FileChannel opened) throws IOException {
+        List<IndexEntry> live = new ArrayList<>(index.values());
+        live.sort(Comparator.comparingLong(IndexEntry::recordOffset));
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        long before = size;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = write(out, fileHeader(), 0);
+            for (IndexEntry entry : live) {
+                if (position + entry.recordBytes() > maxBytes) {
+                    log.warn("Dropping archived NEOs for {} ({}) and later records: over the {} byte limit",
+                            entry.date(), entry.zone(), maxBytes);
+                    break;
+                }
+                position = write(out, read(entry.recordOffset(), entry.recordBytes()), position);
+            }
+            out.force(true);
+        }
+        opened.close();
+        index.clear();
+        mapped = null;
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel reopened = openFile(path);
+        log.info("Compacted NEO archive {} from {} to {} bytes", path, before, size);
+        return reopened;
+    }
+
+    private static ByteBuffer fileHeader() {
+        return ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putShort(VERSION).flip();
+    }
+
+    private static long write(FileChannel out, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += out.write(bytes, position);
+        }
+        return position;
+    }
+
+    private void rebuildIndex(FileChannel opened) throws IOException {
+        long offset = FILE_HEADER_BYTES;
+        while (offset + RECORD_HEADER_BYTES <= size) {
+            int length = read(offset, Integer.BYTES).getInt();
+            long end = offset + RECORD_HEADER_BYTES + length;
+            if (length <= 0 || end > size || !checksumMatches(offset, length)) {
+                break;
+            }
+            indexRecord(offset, length);
+            offset = end;
+        }
+        if (offset < size) {
+            log.warn("Truncating {} bytes of incomplete NEO archive records", size - offset);
+            opened.truncate(offset);
+            opened.force(true);
+            size = offset;
+            mapped = opened.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private boolean checksumMatches(long offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(read(offset + RECORD_HEADER_BYTES, length));
+        return (int) crc.getValue() == read(offset + Integer.BYTES, Integer.BYTES).getInt();
+    }
+
+    private void indexRecord(long offset, int length) {
+        ByteBuffer payload = read(offset + RECORD_HEADER_BYTES, length);
+        LocalDate date = LocalDate.ofEpochDay(payload.getLong());
+        String zone = readString(payload);
+        Instant fetchedAt = Instant.ofEpochSecond(payload.getLong(), payload.getInt());
+        int summariesLength = length - payload.position();
+        boolean isFinal = !fetchedAt.isBefore(date.plusDays(1).atStartOfDay(ZoneId.of(zone)).toInstant());
+        index.put(date + "|" + zone, indexEntry(offset, date, zone, fetchedAt, length, summariesLength, isFinal));
+    }
+
+    private IndexEntry indexEntry(
+            long offset, LocalDate date, String zone, Instant fetchedAt, int length, int summariesLength, boolean isFinal) {
+        long summariesOffset = offset + RECORD_HEADER_BYTES + length - summariesLength;
+        return new IndexEntry(
+                date, zone, fetchedAt, offset, RECORD_HEADER_BYTES + length, summariesOffset, summariesLength, isFinal);
+    }
+
+    // A view of the mapping, or for records appended since it was made, a copy read from the channel.
+    private ByteBuffer read(long offset, int length) {
+        if (offset + length <= mapped.limit()) {
+            return mapped.slice((int) offset, length);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        try {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, offset + bytes.position()) < 0) {
+                    throw new IOException("NEO archive ends before offset " + (offset + length));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.flip();
+    }
+
+    private ArchivedDay decode(IndexEntry entry) {
+        ByteBuffer summaries = read(entry.summariesOffset(), entry.summariesLength());
+        int count = summaries.getInt();
+        List<NeoSummary> neos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neos.add(new NeoSummary(
+                    readString(summaries),
+                    readString(summaries),
+                    summaries.get() != 0,
+                    summaries.getDouble(),
+                    summaries.getDouble(),
+                    Instant.ofEpochSecond(summaries.getLong(), summaries.getInt()),
+                    readString(summaries),
+                    summaries.getDouble(),
+                    summaries.getDouble(),
+                    summaries.getDouble()));
+        }
+        return new ArchivedDay(entry.date(), List.copyOf(neos), entry.fetchedAt());
+    }
+
+    private boolean sameSummaries(IndexEntry entry, byte[] summaries) {
+        if (entry.summariesLength() != summaries.length) {
+            return false;
+        }
+        ByteBuffer archived = read(entry.summariesOffset(), entry.summariesLength());
+        return archived.equals(ByteBuffer.wrap(summaries));
+    }
+
+    private static byte[] encodePayload(LocalDate date, ZoneId zone, Instant fetchedAt, byte[] summaries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(summaries.length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(date.toEpochDay());
+            writeString(out, zone.getId());
+            out.writeLong(fetchedAt.getEpochSecond());
+            out.writeInt(fetchedAt.getNano());
+            out.write(summaries);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeSummaries(List<NeoSummary> neos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + neos.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(neos.size());
+            for (NeoSummary neo : neos) {
+                writeString(out, neo.id());
+                writeString(out, neo.name());
+                out.writeBoolean(neo.isHazardous());
+                out.writeDouble(neo.diameterMinMeters());
+                out.writeDouble(neo.diameterMaxMeters());
+                out.writeLong(neo.closeApproachTime().getEpochSecond());
+                out.writeInt(neo.closeApproachTime().getNano());
+                writeString(out, neo.orbitingBody());
+                out.writeDouble(neo.missDistanceKm());
+                out.writeDouble(neo.missDistanceLunar());
+                out.writeDouble(neo.relativeVelocityKmPerSec());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String key(LocalDate date, ZoneId zone) {
+        return date + "|" + zone.getId();
+    }
+
+    public record ArchivedDay(LocalDate date, List<NeoSummary> neos, Instant fetchedAt) {
+    }
+
+    private record IndexEntry(
+            LocalDate date,
+            String zone,
+            Instant fetchedAt,
+            long recordOffset,
+            int recordBytes,
+            long summariesOffset,
+            int summariesLength,
+            boolean isFinal) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoDayChanges;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Versions each cached day and remembers, per object, a content hash and the versions it was added and last
+// changed at, plus when removed objects went away. That is enough to answer "what changed since version N" without
+// keeping old lists. Days further than retainDays from today are forgotten; asking about them again starts over.
+@Component
+public class NeoDayChangeLog implements NeoDayListener {
+
+    private static final byte[] NEAR_EARTH_OBJECTS = "\"near_earth_objects\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] API_KEY = "api_key=".getBytes(StandardCharsets.UTF_8);
+
+    private final Clock appClock;
+    private final int retainDays;
+    private final Map<LocalDate, DayLog> days = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Versions continue from the startup time, so any handed out before a restart are older than every current one
+    // and those clients get a full list rather than a delta against state this process never saw.
+    private long lastVersion;
+
+    public NeoDayChangeLog(Clock appClock, @Value("${app.changes.retainDays:7}") int retainDays) {
+        this.appClock = appClock;
+        this.retainDays = Math.max(1, retainDays);
+        this.lastVersion = appClock.millis() * 1000;
+    }
+
+    @Override
+    public void dayCached(NeoDaySnapshot snapshot) {
+        record(snapshot.date(), snapshot.neos());
+    }
+
+    // Returns the day's version, which only moves when an object was added, changed or removed.
+    public long record(LocalDate date, List<NeoSummary> neos) {
+        lock.lock();
+        try {
+            prune();
+            DayLog day = days.get(date);
+            if (day == null) {
+                day = new DayLog(++lastVersion);
+                for (NeoSummary neo : neos) {
+                    day.entries.put(neo.id(), new Entry(neo, contentHash(neo), day.version, day.version));
+                }
+                days.put(date, day);
+                return day.version;
+            }
+            long next = lastVersion + 1;
+            boolean changed = false;
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (NeoSummary neo : neos) {
+                long hash = contentHash(neo);
+                Entry previous = day.entries.get(neo.id());
+                if (previous == null) {
+                    entries.put(neo.id(), new Entry(neo, hash, next, next));
+                    day.removed.remove(neo.id());
+                    changed = true;
+                } else if (previous.hash != hash) {
+                    entries.put(neo.id(), new Entry(neo, hash, previous.addedVersion, next));
+                    changed = true;
+                } else {
+                    entries.put(neo.id(), new Entry(neo, hash, previous.addedVersion, previous.modifiedVersion));
+                }
+            }
+            for (Map.Entry<String, Entry> previous : day.entries.entrySet()) {
+                if (!entries.containsKey(previous.getKey())) {
+                    day.removed.put(previous.getKey(), new Removal(previous.getValue().addedVersion, next));
+                    changed = true;
+                }
+            }
+            day.entries = entries;
+            day.feedKey = null;
+            if (changed) {
+                lastVersion = next;
+                day.version = next;
+            }
+            return day.version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Null when the day is not tracked; callers record the current snapshot and ask again.
+    public NeoDayChanges changesSince(LocalDate date, long sinceVersion) {
+        lock.lock();
+        try {
+            DayLog day = days.get(date);
+            if (day == null) {
+                return null;
+            }
+            if (sinceVersion < day.baseVersion || sinceVersion > day.version) {
+                List<NeoSummary> all = day.entries.values().stream().map(Entry::neo).toList();
+                return new NeoDayChanges(date, day.version, true, all, List.of(), List.of());
+            }
+            List<NeoSummary> added = new ArrayList<>();
+            List<NeoSummary> changed = new ArrayList<>();
+            for (Entry entry : day.entries.values()) {
+                if (entry.addedVersion > sinceVersion) {
+                    added.add(entry.neo);
+                } else if (entry.modifiedVersion > sinceVersion) {
+                    changed.add(entry.neo);
+                }
+            }
+            List<String> removed = day.removed.entrySet().stream()
+                    .filter(removal -> removal.getValue().removedVersion > sinceVersion
+                            && removal.getValue().addedVersion <= sinceVersion)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            return new NeoDayChanges(date, day.version, false, added, changed, removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remembers which raw feed body (window plus hash) produced the day's current list. record() clears it.
+    public void recordFeed(LocalDate date, String feedKey) {
+        lock.lock();
+        try {
+            DayLog day = days.get(date);
+            if (day != null) {
+                day.feedKey = feedKey;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFeedUnchanged(LocalDate date, String feedKey) {
+        lock.lock();
+        try {
+            DayLog day = days.get(date);
+            return day != null && feedKey.equals(day.feedKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Hashes the body from near_earth_objects on, leaving out api_key values: NeoWs echoes the requesting key into
+    // every links URL, top-level and per object, so the same feed fetched with another pool key must hash the same.
+    static String feedKey(LocalDate start, LocalDate end, byte[] feedJson) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        int objects = indexOf(feedJson, NEAR_EARTH_OBJECTS, 0);
+        int from = objects < 0 ? 0 : objects;
+        for (int key = indexOf(feedJson, API_KEY, from); key >= 0; key = indexOf(feedJson, API_KEY, from)) {
+            int valueStart = key + API_KEY.length;
+            digest.update(feedJson, from, valueStart - from);
+            from = valueStart;
+            while (from < feedJson.length && !endsQueryValue(feedJson[from])) {
+                from++;
+            }
+        }
+        digest.update(feedJson, from, feedJson.length - from);
+        return start + "|" + end + "|" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target, int from) {
+        for (int i = from; i <= bytes.length - target.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean endsQueryValue(byte b) {
+        return b == '"' || b == '&' || b == '\\';
+    }
+
+    // 64 bits over every field; only ever compared against the previous hash for the same id.
+    static long contentHash(NeoSummary neo) {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + hashString(neo.name());
+        hash = 31 * hash + (neo.isHazardous() ? 1 : 0);
+        hash = 31 * hash + Double.doubleToLongBits(neo.diameterMinMeters());
+        hash = 31 * hash + Double.doubleToLongBits(neo.diameterMaxMeters());
+        hash = 31 * hash + Objects.hashCode(neo.closeApproachTime());
+        hash = 31 * hash + hashString(neo.orbitingBody());
+        hash = 31 * hash + Double.doubleToLongBits(neo.missDistanceKm());
+        hash = 31 * hash + Double.doubleToLongBits(neo.missDistanceLunar());
+        hash = 31 * hash + Double.doubleToLongBits(neo.relativeVelocityKmPerSec());
+        return hash;
+    }
+
+    private static long hashString(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = 1099511628211L * (hash ^ b);
+        }
+        return hash;
+    }
+
+    private void prune() {
+        LocalDate today = LocalDate.now(appClock);
+        days.keySet().removeIf(date -> date.isBefore(today.minusDays(retainDays))
+                || date.isAfter(today.plusDays(retainDays)));
+    }
+
+    private static final class DayLog {
+        private final long baseVersion;
+        private long version;
+        private Map<String, Entry> entries = new LinkedHashMap<>();
+        private final Map<String, Removal> removed = new HashMap<>();
+        private String feedKey;
+
+        private DayLog(long version) {
+            this.baseVersion = version;
+            this.version = version;
+        }
+    }
+
+    private record Entry(NeoSummary neo, long hash, long addedVersion, long modifiedVersion) {
+    }
+
+    private record Removal(long addedVersion, long removedVersion) {
+    }
+}
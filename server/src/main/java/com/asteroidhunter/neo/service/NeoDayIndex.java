@@ -0,0 +1,218 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoPage;
+import com.asteroidhunter.neo.model.NeoQuery;
+import com.asteroidhunter.neo.model.NeoSortKey;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+// Row orders for every sort key and direction, computed once when a day is cached. A query binary-searches each
+// day to its first candidate (the sort key's bound or the cursor, whichever is later) and k-way merges the days,
+// so a page costs a few searches plus the rows it returns instead of a filter and re-sort of the whole range.
+// Unknown values (NaN) sort last in both directions; ties break on approach time, miss distance, then id.
+public final class NeoDayIndex {
+
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+    private final List<NeoSummary> neos;
+    private final int[][] orders;
+
+    private NeoDayIndex(List<NeoSummary> neos) {
+        this.neos = neos;
+        this.orders = new int[NeoSortKey.values().length * 2][];
+        for (NeoSortKey key : NeoSortKey.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                Comparator<NeoSummary> order = order(key, descending);
+                orders[slot(key, descending)] = IntStream.range(0, neos.size())
+                        .boxed()
+                        .sorted((a, b) -> order.compare(neos.get(a), neos.get(b)))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+        }
+    }
+
+    public static NeoDayIndex build(List<NeoSummary> neos) {
+        return new NeoDayIndex(neos);
+    }
+
+    public static NeoPage page(List<NeoDayIndex> days, NeoQuery query) {
+        NeoFilter filter = query.filter();
+        NeoSortKey sort = query.sort();
+        boolean descending = query.descending();
+        Comparator<NeoSummary> order = order(sort, descending);
+        NeoSummary after = query.cursor() == null ? null : decodeCursor(query.cursor(), sort, descending);
+
+        PriorityQueue<DayCursor> heads = new PriorityQueue<>((a, b) -> order.compare(a.current(), b.current()));
+        for (NeoDayIndex day : days) {
+            DayCursor cursor = day.cursor(filter, sort, descending, after, order);
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<NeoSummary> items = new ArrayList<>(Math.min(query.limit(), 64));
+        while (items.size() < query.limit() && !heads.isEmpty()) {
+            DayCursor head = heads.poll();
+            items.add(head.current());
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        String nextCursor = heads.isEmpty() ? null : encodeCursor(items.getLast(), sort, descending);
+        return new NeoPage(List.copyOf(items), nextCursor);
+    }
+
+    private DayCursor cursor(
+            NeoFilter filter,
+            NeoSortKey sort,
+            boolean descending,
+            NeoSummary after,
+            Comparator<NeoSummary> order) {
+        int[] rows = orders[slot(sort, descending)];
+        int start = descending
+                ? firstPosition(rows, neo -> !sort.aboveRange(neo, filter))
+                : firstPosition(rows, neo -> !sort.belowRange(neo, filter));
+        if (after != null) {
+            start = Math.max(start, firstPosition(rows, neo -> order.compare(neo, after) > 0));
+        }
+        Predicate<NeoSummary> pastRange = descending
+                ? neo -> sort.belowRange(neo, filter)
+                : neo -> sort.aboveRange(neo, filter);
+        return new DayCursor(rows, start, filter, pastRange);
+    }
+
+    // Rows are sorted so the predicate is false for a prefix and true for the rest.
+    private int firstPosition(int[] rows, Predicate<NeoSummary> predicate) {
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(neos.get(rows[mid]))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static Comparator<NeoSummary> order(NeoSortKey key, boolean descending) {
+        return (a, b) -> {
+            double x = key.value(a);
+            double y = key.value(b);
+            boolean xUnknown = Double.isNaN(x);
+            boolean yUnknown = Double.isNaN(y);
+            if (xUnknown != yUnknown) {
+                return xUnknown ? 1 : -1;
+            }
+            int byKey = descending ? Double.compare(y, x) : Double.compare(x, y);
+            if (byKey != 0) {
+                return byKey;
+            }
+            int byTime = a.closeApproachTime().compareTo(b.closeApproachTime());
+            if (byTime != 0) {
+                return byTime;
+            }
+            int byMissDistance = Double.compare(a.missDistanceKm(), b.missDistanceKm());
+            return byMissDistance != 0 ? byMissDistance : a.id().compareTo(b.id());
+        };
+    }
+
+    private static int slot(NeoSortKey key, boolean descending) {
+        return key.ordinal() * 2 + (descending ? 1 : 0);
+    }
+
+    // A keyset cursor: the sort settings plus the ordering fields of the last row returned. It stays valid when
+    // days are refreshed between pages, resuming after that row rather than at a stale offset.
+    private static String encodeCursor(NeoSummary last, NeoSortKey sort, boolean descending) {
+        String value = String.join("|",
+                sort.parameter(),
+                descending ? "desc" : "asc",
+                Long.toHexString(Double.doubleToLongBits(sort.value(last))),
+                Long.toString(last.closeApproachTime().toEpochMilli()),
+                Long.toHexString(Double.doubleToLongBits(last.missDistanceKm())),
+                last.id());
+        return CURSOR_ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static NeoSummary decodeCursor(String cursor, NeoSortKey sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(CURSOR_DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|", 6);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("cursor is not valid");
+        }
+        if (parts.length != 6
+                || !parts[0].equals(sort.parameter())
+                || !parts[1].equals(descending ? "desc" : "asc")) {
+            throw new InvalidRequestException("cursor does not match the requested sort");
+        }
+        try {
+            double key = Double.longBitsToDouble(Long.parseUnsignedLong(parts[2], 16));
+            long epochMillis = Long.parseLong(parts[3]);
+            double missDistanceKm = Double.longBitsToDouble(Long.parseUnsignedLong(parts[4], 16));
+            // Only the ordering fields matter; the key is written back into the field the sort reads.
+            return new NeoSummary(
+                    parts[5],
+                    null,
+                    false,
+                    Double.NaN,
+                    sort == NeoSortKey.SIZE ? key : Double.NaN,
+                    Instant.ofEpochMilli(epochMillis),
+                    null,
+                    sort == NeoSortKey.MISS_DISTANCE ? key : missDistanceKm,
+                    Double.NaN,
+                    sort == NeoSortKey.VELOCITY ? key : Double.NaN);
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("cursor is not valid");
+        }
+    }
+
+    private final class DayCursor {
+
+        private final int[] rows;
+        private final NeoFilter filter;
+        private final Predicate<NeoSummary> pastRange;
+        private int position;
+        private NeoSummary current;
+
+        private DayCursor(int[] rows, int start, NeoFilter filter, Predicate<NeoSummary> pastRange) {
+            this.rows = rows;
+            this.position = start;
+            this.filter = filter;
+            this.pastRange = pastRange;
+        }
+
+        private NeoSummary current() {
+            return current;
+        }
+
+        // Moves to the next matching row; false once the day has none left in range.
+        private boolean advance() {
+            while (position < rows.length) {
+                NeoSummary neo = neos.get(rows[position++]);
+                if (pastRange.test(neo)) {
+                    break;
+                }
+                if (filter.matches(neo)) {
+                    current = neo;
+                    return true;
+                }
+            }
+            position = rows.length;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.asteroidhunter.neo.service;
+
+// Views derived from the day cache (id index, approach timeline, change log, event stream). NeoTodayService tells
+// every listener bean about each day it caches, so adding a view does not touch the service.
+public interface NeoDayListener {
+
+    // A day was fetched and normalized.
+    void dayCached(NeoDaySnapshot snapshot);
+
+    // A day came back from the archive after a restart or an eviction; nothing was fetched.
+    default void dayRestored(NeoDaySnapshot snapshot) {
+    }
+
+    // A refetch returned the same feed body as before, so only fetchedAt moved.
+    default void dayRefreshed(NeoDaySnapshot snapshot) {
+    }
+}
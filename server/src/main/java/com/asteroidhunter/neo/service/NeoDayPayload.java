@@ -0,0 +1,15 @@
+package com.asteroidhunter.neo.service;
+
+// Response bodies for one cached day, encoded once when the day is cached rather than on every request.
+// columns is the NeoColumnarEncoder frame for clients that ask for the binary representation.
+public record NeoDayPayload(
+        byte[] json,
+        byte[] gzippedJson,
+        String etag,
+        byte[] columns) {
+
+    // The binary body is a different representation of the same list, so it needs its own strong validator.
+    public String columnsEtag() {
+        return etag.substring(0, etag.length() - 1) + "-c\"";
+    }
+}
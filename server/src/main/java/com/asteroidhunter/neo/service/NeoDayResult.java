@@ -0,0 +1,27 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Duration;
+import java.util.List;
+
+public record NeoDayResult(
+        NeoDaySnapshot snapshot,
+        Duration staleAge,
+        Integer upstreamErrorStatus) {
+
+    public static NeoDayResult fresh(NeoDaySnapshot snapshot) {
+        return new NeoDayResult(snapshot, null, null);
+    }
+
+    public static NeoDayResult stale(NeoDaySnapshot snapshot, Duration age, int upstreamErrorStatus) {
+        return new NeoDayResult(snapshot, age, upstreamErrorStatus);
+    }
+
+    public boolean stale() {
+        return upstreamErrorStatus != null;
+    }
+
+    public List<NeoSummary> neos() {
+        return snapshot.neos();
+    }
+}
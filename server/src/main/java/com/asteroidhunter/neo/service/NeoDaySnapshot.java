@@ -0,0 +1,25 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+public record NeoDaySnapshot(
+        LocalDate date,
+        List<NeoSummary> neos,
+        Instant fetchedAt,
+        NeoDayPayload payload,
+        NeoDayIndex index) {
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    // NeoWs does not revise a day once it is over, so a snapshot fetched after the day ended never needs refetching.
+    public boolean isFinal(ZoneId zone) {
+        return !fetchedAt.isBefore(date.plusDays(1).atStartOfDay(zone).toInstant());
+    }
+}
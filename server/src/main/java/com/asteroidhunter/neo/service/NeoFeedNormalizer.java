@@ -8,6 +8,11 @@ import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
 import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
 import com.asteroidhunter.nasa.dto.NeoWsVelocity;
 import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,6 +23,7 @@ import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -38,6 +44,12 @@ public class NeoFeedNormalizer {
                     .optionalEnd()
                     .toFormatter(Locale.US);
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    static final Comparator<NeoSummary> APPROACH_ORDER = Comparator
+            .comparing(NeoSummary::closeApproachTime)
+            .thenComparingDouble(NeoSummary::missDistanceKm);
+
     public List<NeoSummary> normalizeForDate(NeoWsFeedResponse feed, LocalDate date) {
         if (feed == null || date == null) {
             return List.of();
@@ -61,15 +73,316 @@ public class NeoFeedNormalizer {
             summaries.add(toSummary(neoObject, date));
         }
 
-        summaries.sort(Comparator
-                .comparing(NeoSummary::closeApproachTime)
-                .thenComparingDouble(NeoSummary::missDistanceKm));
+        summaries.sort(APPROACH_ORDER);
         return List.copyOf(summaries);
     }
 
+    // Streams the raw feed body straight into summaries, one map entry per date key. Fields we never use are
+    // skipped without being decoded, and of each object's close approaches only the chosen one is read in full.
+    public Map<LocalDate, List<NeoSummary>> normalizeFeed(byte[] feedJson) {
+        if (feedJson == null || feedJson.length == 0) {
+            return Map.of();
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(feedJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Map.of();
+            }
+            Map<LocalDate, List<NeoSummary>> days = Map.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && field.equals("near_earth_objects")) {
+                    days = readDays(parser, feedJson);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return days;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to parse NeoWs feed", ex);
+        }
+    }
+
+    private Map<LocalDate, List<NeoSummary>> readDays(JsonParser parser, byte[] feedJson) throws IOException {
+        Map<LocalDate, List<NeoSummary>> days = new HashMap<>();
+        ObjectFields fields = new ObjectFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            LocalDate date = parseDateOrNull(parser.currentName());
+            if (parser.nextToken() != JsonToken.START_ARRAY || date == null) {
+                parser.skipChildren();
+                continue;
+            }
+
+            String dateKey = date.toString();
+            List<NeoSummary> summaries = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                fields.clear();
+                readObject(parser, dateKey, fields);
+                summaries.add(toSummary(fields, feedJson, date));
+            }
+            summaries.sort(APPROACH_ORDER);
+            days.put(date, List.copyOf(summaries));
+        }
+        return Map.copyOf(days);
+    }
+
+    private void readObject(JsonParser parser, String dateKey, ObjectFields fields) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> fields.id = textValue(parser);
+                case "name" -> fields.name = textValue(parser);
+                case "is_potentially_hazardous_asteroid" -> fields.hazardous = parser.getValueAsBoolean();
+                case "estimated_diameter" -> readEstimatedDiameter(parser, token, fields);
+                case "close_approach_data" -> scanCloseApproaches(parser, token, dateKey, fields);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readEstimatedDiameter(JsonParser parser, JsonToken token, ObjectFields fields) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String unit = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT || !unit.equals("meters")) {
+                parser.skipChildren();
+                continue;
+            }
+            fields.diameterMinMeters = 0.0;
+            fields.diameterMaxMeters = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String bound = parser.currentName();
+                parser.nextToken();
+                switch (bound) {
+                    case "estimated_diameter_min" -> fields.diameterMinMeters = parser.getValueAsDouble(0.0);
+                    case "estimated_diameter_max" -> fields.diameterMaxMeters = parser.getValueAsDouble(0.0);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    // Same selection as chooseBestCloseApproach in one pass: each approach is scanned only for the fields
+    // the choice depends on, and candidates are remembered by byte offset rather than materialized.
+    private void scanCloseApproaches(JsonParser parser, JsonToken token, String dateKey, ObjectFields fields)
+            throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        Approach scanned = fields.scanned;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            scanned.clear();
+            scanned.offset = parser.currentTokenLocation().getByteOffset();
+            scanCloseApproach(parser, dateKey, scanned);
+
+            if (scanned.matchesDate
+                    && (fields.bestMatching.offset < 0
+                    || compareMissDistance(scanned.missDistanceKm, fields.bestMatching.missDistanceKm) < 0)) {
+                fields.bestMatching.copyFrom(scanned);
+            }
+            if (fields.first.offset < 0) {
+                fields.first.copyFrom(scanned);
+            }
+            if (scanned.hasEpoch
+                    && (fields.soonestWithEpoch.offset < 0 || scanned.epoch < fields.soonestWithEpoch.epoch)) {
+                fields.soonestWithEpoch.copyFrom(scanned);
+            }
+        }
+    }
+
+    private void scanCloseApproach(JsonParser parser, String dateKey, Approach approach) throws IOException {
+        boolean dateRead = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "close_approach_date" -> {
+                    approach.matchesDate = textEquals(parser, token, dateKey);
+                    dateRead = true;
+                }
+                case "epoch_date_close_approach" -> readEpoch(parser, token, approach);
+                case "miss_distance" -> {
+                    if (!dateRead || approach.matchesDate) {
+                        readMissDistance(parser, token, approach);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private Approach readCloseApproachAt(byte[] feedJson, long offset, Approach approach) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(feedJson, (int) offset, feedJson.length - (int) offset)) {
+            parser.nextToken();
+            approach.clear();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "close_approach_date_full" -> approach.dateFull = textValue(parser);
+                    case "epoch_date_close_approach" -> readEpoch(parser, token, approach);
+                    case "orbiting_body" -> approach.orbitingBody = textValue(parser);
+                    case "relative_velocity" -> readRelativeVelocity(parser, token, approach);
+                    case "miss_distance" -> readMissDistance(parser, token, approach);
+                    default -> parser.skipChildren();
+                }
+            }
+            return approach;
+        }
+    }
+
+    private void readRelativeVelocity(JsonParser parser, JsonToken token, Approach approach) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("kilometers_per_second")) {
+                approach.relativeVelocityKmPerSec = parseDoubleOrNaN(textValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMissDistance(JsonParser parser, JsonToken token, Approach approach) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "kilometers" -> approach.missDistanceKm = parseDoubleOrNaN(textValue(parser));
+                case "lunar" -> approach.missDistanceLunar = parseDoubleOrNaN(textValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readEpoch(JsonParser parser, JsonToken token, Approach approach) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            approach.epoch = parser.getValueAsLong();
+            approach.hasEpoch = true;
+            return;
+        }
+        String text = textValue(parser);
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        try {
+            approach.epoch = Long.parseLong(text.trim());
+            approach.hasEpoch = true;
+        } catch (NumberFormatException ignored) {
+            approach.hasEpoch = false;
+        }
+    }
+
+    private NeoSummary toSummary(ObjectFields fields, byte[] feedJson, LocalDate date) throws IOException {
+        Approach chosen = fields.bestMatching.offset >= 0 ? fields.bestMatching
+                : fields.soonestWithEpoch.offset >= 0 ? fields.soonestWithEpoch
+                : fields.first.offset >= 0 ? fields.first
+                : null;
+        Approach best = chosen == null ? null : readCloseApproachAt(feedJson, chosen.offset, fields.scanned);
+
+        double missDistanceKm = best == null ? Double.NaN : best.missDistanceKm;
+        double missDistanceLunar = best == null ? Double.NaN : best.missDistanceLunar;
+        if (Double.isNaN(missDistanceLunar) && !Double.isNaN(missDistanceKm)) {
+            missDistanceLunar = missDistanceKm / LUNAR_DISTANCE_KM;
+        }
+
+        return new NeoSummary(
+                safeString(fields.id),
+                safeString(fields.name),
+                fields.hazardous,
+                fields.diameterMinMeters,
+                fields.diameterMaxMeters,
+                resolveCloseApproachTime(best, date),
+                defaultIfBlank(best == null ? null : best.orbitingBody, "Earth"),
+                missDistanceKm,
+                missDistanceLunar,
+                best == null ? Double.NaN : best.relativeVelocityKmPerSec);
+    }
+
+    private Instant resolveCloseApproachTime(Approach approach, LocalDate fallbackDate) {
+        if (approach != null && approach.hasEpoch) {
+            return Instant.ofEpochMilli(approach.epoch);
+        }
+
+        if (approach != null) {
+            Instant parsed = tryParseCloseApproachDateFull(approach.dateFull);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+
+        return fallbackDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    // Scalars of any type read as text, the way Jackson coerces them into the String-typed DTO fields.
+    private String textValue(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        parser.skipChildren();
+        return text;
+    }
+
+    // Compares against the parser's buffer so the many non-matching approach dates are never copied out.
+    private boolean textEquals(JsonParser parser, JsonToken token, String expected) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            return expected.equals(textValue(parser));
+        }
+        int length = parser.getTextLength();
+        if (length != expected.length()) {
+            return false;
+        }
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < length; i++) {
+            if (text[offset + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private LocalDate parseDateOrNull(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    // A looked-up object carries its whole approach history; the summary describes the approach nearest to now.
+    public NeoSummary normalizeLookup(NeoWsNeoObject neoObject, Instant now) {
+        NeoWsCloseApproachData nearest = chooseNearestCloseApproach(neoObject.close_approach_data(), now);
+        return toSummary(neoObject, nearest, LocalDate.ofInstant(now, ZoneId.systemDefault()));
+    }
+
     private NeoSummary toSummary(NeoWsNeoObject neoObject, LocalDate date) {
+        return toSummary(neoObject, chooseBestCloseApproach(neoObject.close_approach_data(), date), date);
+    }
+
+    private NeoSummary toSummary(NeoWsNeoObject neoObject, NeoWsCloseApproachData bestApproach, LocalDate date) {
         NeoWsDiameterRange metersRange = extractMetersRange(neoObject.estimated_diameter());
-        NeoWsCloseApproachData bestApproach = chooseBestCloseApproach(neoObject.close_approach_data(), date);
 
         double missDistanceKm = parseDoubleOrNaN(bestApproach == null ? null : kilometers(bestApproach.miss_distance()));
         double missDistanceLunar = parseDoubleOrNaN(bestApproach == null ? null : lunar(bestApproach.miss_distance()));
@@ -144,6 +457,30 @@ public class NeoFeedNormalizer {
         return soonestWithEpoch != null ? soonestWithEpoch : first;
     }
 
+    private NeoWsCloseApproachData chooseNearestCloseApproach(
+            List<NeoWsCloseApproachData> closeApproachData,
+            Instant now) {
+        if (closeApproachData == null) {
+            return null;
+        }
+        NeoWsCloseApproachData nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
+        for (NeoWsCloseApproachData item : closeApproachData) {
+            if (item == null || item.epoch_date_close_approach() == null) {
+                continue;
+            }
+            long distance = Math.abs(item.epoch_date_close_approach() - now.toEpochMilli());
+            if (nearest == null || distance < nearestDistance) {
+                nearest = item;
+                nearestDistance = distance;
+            }
+        }
+        if (nearest != null) {
+            return nearest;
+        }
+        return closeApproachData.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
     private int compareMissDistance(double left, double right) {
         if (Double.isNaN(left) && Double.isNaN(right)) {
             return 0;
@@ -216,4 +553,64 @@ public class NeoFeedNormalizer {
     private String kmPerSec(NeoWsVelocity velocity) {
         return velocity == null ? null : velocity.kilometers_per_second();
     }
+
+    // Reused across objects while streaming so each object costs only its summary and a few strings.
+    private static final class ObjectFields {
+        private String id;
+        private String name;
+        private boolean hazardous;
+        private double diameterMinMeters;
+        private double diameterMaxMeters;
+        private final Approach scanned = new Approach();
+        private final Approach bestMatching = new Approach();
+        private final Approach first = new Approach();
+        private final Approach soonestWithEpoch = new Approach();
+
+        private void clear() {
+            id = null;
+            name = null;
+            hazardous = false;
+            diameterMinMeters = Double.NaN;
+            diameterMaxMeters = Double.NaN;
+            bestMatching.clear();
+            first.clear();
+            soonestWithEpoch.clear();
+        }
+    }
+
+    private static final class Approach {
+        private long offset;
+        private boolean matchesDate;
+        private boolean hasEpoch;
+        private long epoch;
+        private String dateFull;
+        private String orbitingBody;
+        private double missDistanceKm;
+        private double missDistanceLunar;
+        private double relativeVelocityKmPerSec;
+
+        private void clear() {
+            offset = -1L;
+            matchesDate = false;
+            hasEpoch = false;
+            epoch = 0L;
+            dateFull = null;
+            orbitingBody = null;
+            missDistanceKm = Double.NaN;
+            missDistanceLunar = Double.NaN;
+            relativeVelocityKmPerSec = Double.NaN;
+        }
+
+        private void copyFrom(Approach other) {
+            offset = other.offset;
+            matchesDate = other.matchesDate;
+            hasEpoch = other.hasEpoch;
+            epoch = other.epoch;
+            dateFull = other.dateFull;
+            orbitingBody = other.orbitingBody;
+            missDistanceKm = other.missDistanceKm;
+            missDistanceLunar = other.missDistanceLunar;
+            relativeVelocityKmPerSec = other.relativeVelocityKmPerSec;
+        }
+    }
 }
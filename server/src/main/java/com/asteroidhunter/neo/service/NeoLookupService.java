@@ -0,0 +1,70 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.common.SingleFlight;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Resolves a single object: the id index over cached days first, then the lookup cache, then one NeoWs /neo/{id}
+// call per id no matter how many requests are waiting on it.
+@Service
+public class NeoLookupService {
+
+    private static final String NEO_LOOKUPS_CACHE = "neoLookups";
+
+    private final NeoObjectIndex neoObjectIndex;
+    private final NeoWsClient neoWsClient;
+    private final NeoFeedNormalizer neoFeedNormalizer;
+    private final Clock appClock;
+    private final CacheManager cacheManager;
+    private final SingleFlight<String, NeoSummary> lookups = new SingleFlight<>();
+
+    public NeoLookupService(
+            NeoObjectIndex neoObjectIndex,
+            NeoWsClient neoWsClient,
+            NeoFeedNormalizer neoFeedNormalizer,
+            Clock appClock,
+            CacheManager cacheManager) {
+        this.neoObjectIndex = neoObjectIndex;
+        this.neoWsClient = neoWsClient;
+        this.neoFeedNormalizer = neoFeedNormalizer;
+        this.appClock = appClock;
+        this.cacheManager = cacheManager;
+    }
+
+    public Mono<NeoSummary> lookupReactive(String id) {
+        return Mono.defer(() -> {
+            NeoSummary indexed = neoObjectIndex.find(id);
+            if (indexed != null) {
+                return Mono.just(indexed);
+            }
+            Cache cache = cacheManager.getCache(NEO_LOOKUPS_CACHE);
+            NeoSummary cached = cache == null ? null : cache.get(id, NeoSummary.class);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return Mono.fromFuture(() -> lookups.executeAsync(id, () -> fetch(id, cache)));
+        });
+    }
+
+    private CompletableFuture<NeoSummary> fetch(String id, Cache cache) {
+        return neoWsClient.fetchNeo(id)
+                .map(neo -> neoFeedNormalizer.normalizeLookup(neo, appClock.instant()))
+                .switchIfEmpty(Mono.error(() -> new NeoNotFoundException(id)))
+                .onErrorMap(
+                        ex -> ex instanceof NeoWsException neoWsException && neoWsException.getStatus() == 404,
+                        ex -> new NeoNotFoundException(id))
+                .doOnNext(summary -> {
+                    if (cache != null) {
+                        cache.put(id, summary);
+                    }
+                })
+                .toFuture();
+    }
+}
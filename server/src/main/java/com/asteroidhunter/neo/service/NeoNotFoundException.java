@@ -0,0 +1,8 @@
+package com.asteroidhunter.neo.service;
+
+public class NeoNotFoundException extends RuntimeException {
+
+    public NeoNotFoundException(String id) {
+        super("No near-earth object with id " + id);
+    }
+}
@@ -0,0 +1,123 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Id lookup over the days that have been cached or restored, so selecting an object seen in any feed needs no
+// NeoWs call. An object on several days answers with its approach nearest now, as a NeoWs lookup would. It holds
+// as many days as neosToday does; past that, the days furthest from today go first.
+@Component
+public class NeoObjectIndex implements NeoDayListener {
+
+    private final Clock appClock;
+    private final int maxDays;
+    private final Map<LocalDate, List<NeoSummary>> days = new HashMap<>();
+    private final Map<String, Map<LocalDate, NeoSummary>> byId = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public NeoObjectIndex(Clock appClock, @Value("${app.cache.neosTodayMaxSize:400}") int maxDays) {
+        this.appClock = appClock;
+        this.maxDays = Math.max(1, maxDays);
+    }
+
+    // Replaces whatever was indexed for the date.
+    public void index(LocalDate date, List<NeoSummary> neos) {
+        lock.lock();
+        try {
+            List<NeoSummary> previous = days.put(date, neos);
+            if (previous != null) {
+                unindex(date, previous);
+            }
+            for (NeoSummary neo : neos) {
+                byId.computeIfAbsent(neo.id(), id -> new HashMap<>(2)).put(date, neo);
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void dayCached(NeoDaySnapshot snapshot) {
+        index(snapshot.date(), snapshot.neos());
+    }
+
+    @Override
+    public void dayRestored(NeoDaySnapshot snapshot) {
+        index(snapshot.date(), snapshot.neos());
+    }
+
+    public NeoSummary find(String id) {
+        Instant now = appClock.instant();
+        lock.lock();
+        try {
+            Map<LocalDate, NeoSummary> approaches = byId.get(id);
+            if (approaches == null) {
+                return null;
+            }
+            NeoSummary nearest = null;
+            long nearestDistance = Long.MAX_VALUE;
+            for (NeoSummary neo : approaches.values()) {
+                long distance = neo.closeApproachTime() == null
+                        ? Long.MAX_VALUE
+                        : Duration.between(now, neo.closeApproachTime()).abs().toMillis();
+                if (nearest == null || distance < nearestDistance) {
+                    nearest = neo;
+                    nearestDistance = distance;
+                }
+            }
+            return nearest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        if (days.size() <= maxDays) {
+            return;
+        }
+        LocalDate today = LocalDate.now(appClock);
+        while (days.size() > maxDays) {
+            LocalDate furthest = null;
+            for (LocalDate date : days.keySet()) {
+                if (furthest == null
+                        || Math.abs(ChronoUnit.DAYS.between(today, date))
+                                > Math.abs(ChronoUnit.DAYS.between(today, furthest))) {
+                    furthest = date;
+                }
+            }
+            unindex(furthest, days.remove(furthest));
+        }
+    }
+
+    private void unindex(LocalDate date, List<NeoSummary> neos) {
+        for (NeoSummary neo : neos) {
+            Map<LocalDate, NeoSummary> approaches = byId.get(neo.id());
+            if (approaches != null) {
+                approaches.remove(date);
+                if (approaches.isEmpty()) {
+                    byId.remove(neo.id());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.columnar.NeoColumnarEncoder;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NeoPayloadEncoder {
+
+    private static final int ETAG_HASH_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+
+    public NeoPayloadEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public NeoDayPayload encode(List<NeoSummary> neos) {
+        byte[] json = toJson(neos);
+        return new NeoDayPayload(json, gzip(json), etag(json), NeoColumnarEncoder.encode(neos));
+    }
+
+    private byte[] toJson(List<NeoSummary> neos) {
+        try {
+            return objectMapper.writeValueAsBytes(neos);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize NEO summaries", ex);
+        }
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    // Strong validator: identical JSON bytes always produce the same tag, across refreshes and restarts.
+    private String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, ETAG_HASH_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
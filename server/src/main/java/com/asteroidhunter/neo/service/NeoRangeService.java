@@ -0,0 +1,162 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class NeoRangeService {
+
+    // NeoWs rejects feed requests spanning more than seven days.
+    public static final int MAX_FEED_WINDOW_DAYS = 7;
+
+    private static final Logger log = LoggerFactory.getLogger(NeoRangeService.class);
+
+    private final NeoTodayService neoTodayService;
+    private final int maxDays;
+    private final int maxParallelFetches;
+
+    public NeoRangeService(
+            NeoTodayService neoTodayService,
+            @Value("${app.range.maxDays:366}") int maxDays,
+            @Value("${app.range.maxParallelFetches:4}") int maxParallelFetches) {
+        this.neoTodayService = neoTodayService;
+        this.maxDays = maxDays;
+        this.maxParallelFetches = Math.max(1, maxParallelFetches);
+    }
+
+    public List<NeoSummary> getRange(LocalDate start, LocalDate end) {
+        return getRangeReactive(start, end).block();
+    }
+
+    public Mono<List<NeoSummary>> getRangeReactive(LocalDate start, LocalDate end) {
+        return getRangeDaysReactive(start, end).map(this::merge);
+    }
+
+    // The cached days of the range in date order, for callers that query their indexes instead of merging.
+    public Mono<List<NeoDaySnapshot>> getRangeDaysReactive(LocalDate start, LocalDate end) {
+        return Mono.defer(() -> {
+            validateRange(start, end);
+            return loadDays(start, end);
+        });
+    }
+
+    // The range one feed window of days at a time, loaded only as the consumer asks for more, so a long range
+    // never holds more than maxParallelFetches chunks. Rows are in approach order within each chunk.
+    public Flux<NeoSummary> streamRange(LocalDate start, LocalDate end) {
+        return streamChunks(start, end, chunk -> loadDays(chunk.start(), chunk.end()).map(this::merge))
+                .concatMapIterable(rows -> rows, 1);
+    }
+
+    // Validates the whole range, then loads its chunks in date order with up to maxParallelFetches in flight.
+    <T> Flux<T> streamChunks(LocalDate start, LocalDate end, Function<FeedWindow, Mono<T>> loadChunk) {
+        return Flux.defer(() -> {
+            validateRange(start, end);
+            return Flux.fromIterable(chunks(start, end)).flatMapSequential(loadChunk, maxParallelFetches, 1);
+        });
+    }
+
+    // Unvalidated, for callers that widen an already validated range.
+    Mono<List<NeoDaySnapshot>> loadDays(LocalDate start, LocalDate end) {
+        return Mono.defer(() -> {
+            Map<LocalDate, NeoDaySnapshot> days = new TreeMap<>();
+            List<LocalDate> missing = new ArrayList<>();
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                NeoDaySnapshot cached = neoTodayService.getCachedDay(date);
+                if (cached != null) {
+                    days.put(date, cached);
+                } else {
+                    missing.add(date);
+                }
+            }
+
+            List<FeedWindow> windows = feedWindows(missing);
+            if (windows.isEmpty()) {
+                return Mono.just(List.copyOf(days.values()));
+            }
+
+            log.debug("Fetching NEOs from NASA for {} of {} days in {}..{} using {} windows",
+                    missing.size(), days.size() + missing.size(), start, end, windows.size());
+            return Flux.fromIterable(windows)
+                    .flatMap(window -> neoTodayService.getWindowReactive(window.start(), window.end()),
+                            maxParallelFetches)
+                    .collectList()
+                    .map(fetched -> {
+                        fetched.forEach(snapshots -> snapshots.forEach(snapshot -> days.put(snapshot.date(), snapshot)));
+                        return List.copyOf(days.values());
+                    });
+        });
+    }
+
+    void validateRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new InvalidRequestException("Both start and end dates are required");
+        }
+        if (end.isBefore(start)) {
+            throw new InvalidRequestException("end must not be before start");
+        }
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (days > maxDays) {
+            throw new InvalidRequestException("Date range must not exceed " + maxDays + " days");
+        }
+    }
+
+    private List<NeoSummary> merge(List<NeoDaySnapshot> days) {
+        List<NeoSummary> merged = new ArrayList<>();
+        for (NeoDaySnapshot day : days) {
+            merged.addAll(day.neos());
+        }
+        // Days arrive in date order, so this is close to a single linear pass for TimSort.
+        merged.sort(NeoFeedNormalizer.APPROACH_ORDER);
+        return List.copyOf(merged);
+    }
+
+    static List<FeedWindow> chunks(LocalDate start, LocalDate end) {
+        List<FeedWindow> chunks = new ArrayList<>();
+        for (LocalDate from = start; !from.isAfter(end); from = from.plusDays(MAX_FEED_WINDOW_DAYS)) {
+            LocalDate to = from.plusDays(MAX_FEED_WINDOW_DAYS - 1);
+            chunks.add(new FeedWindow(from, to.isAfter(end) ? end : to));
+        }
+        return chunks;
+    }
+
+    // Groups consecutive uncached dates into the fewest feed requests NeoWs will accept.
+    static List<FeedWindow> feedWindows(List<LocalDate> dates) {
+        List<FeedWindow> windows = new ArrayList<>();
+        LocalDate windowStart = null;
+        LocalDate windowEnd = null;
+        for (LocalDate date : dates) {
+            boolean contiguous = windowEnd != null
+                    && date.equals(windowEnd.plusDays(1))
+                    && ChronoUnit.DAYS.between(windowStart, date) < MAX_FEED_WINDOW_DAYS;
+            if (contiguous) {
+                windowEnd = date;
+                continue;
+            }
+            if (windowStart != null) {
+                windows.add(new FeedWindow(windowStart, windowEnd));
+            }
+            windowStart = date;
+            windowEnd = date;
+        }
+        if (windowStart != null) {
+            windows.add(new FeedWindow(windowStart, windowEnd));
+        }
+        return windows;
+    }
+
+    record FeedWindow(LocalDate start, LocalDate end) {
+    }
+}
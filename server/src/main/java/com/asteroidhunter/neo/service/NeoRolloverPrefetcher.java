@@ -0,0 +1,96 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsPriority;
+import com.asteroidhunter.neo.service.NeoRangeService.FeedWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Cache keys carry the app-zone date, so at local midnight every key changes at once. Shortly before midnight
+// tomorrow is fetched again and cached under its own key; when the date rolls over, lookups switch to an entry that
+// is already there and fresh. Days further ahead are kept cached whenever they are missing.
+@Component
+public class NeoRolloverPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NeoRolloverPrefetcher.class);
+
+    private final NeoWsClient neoWsClient;
+    private final NeoTodayService neoTodayService;
+    private final ZoneId appZoneId;
+    private final Clock appClock;
+    private final boolean enabled;
+    private final Duration leadTime;
+    private final int lookAheadDays;
+    private final Counter prefetchedDays;
+
+    public NeoRolloverPrefetcher(
+            NeoWsClient neoWsClient,
+            NeoTodayService neoTodayService,
+            ZoneId appZoneId,
+            Clock appClock,
+            MeterRegistry meterRegistry,
+            @Value("${app.prefetch.enabled:true}") boolean enabled,
+            @Value("${app.prefetch.leadTime:PT15M}") Duration leadTime,
+            @Value("${app.prefetch.lookAheadDays:2}") int lookAheadDays) {
+        this.neoWsClient = neoWsClient;
+        this.neoTodayService = neoTodayService;
+        this.appZoneId = appZoneId;
+        this.appClock = appClock;
+        this.enabled = enabled;
+        this.leadTime = leadTime;
+        this.lookAheadDays = Math.max(1, lookAheadDays);
+        this.prefetchedDays = Counter.builder("neo.prefetch.days")
+                .description("Future days fetched ahead of the app-zone rollover")
+                .register(meterRegistry);
+    }
+
+    // Polled rather than scheduled for midnight so clock changes (and DST) only delay it by one interval.
+    @Scheduled(
+            initialDelayString = "${app.prefetch.checkInterval:PT1M}",
+            fixedDelayString = "${app.prefetch.checkInterval:PT1M}")
+    public void prefetchIfDue() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = appClock.instant();
+        LocalDate today = LocalDate.ofInstant(now, appZoneId);
+        LocalDate tomorrow = today.plusDays(1);
+        Instant rolloverFetchFrom = tomorrow.atStartOfDay(appZoneId).toInstant().minus(leadTime);
+
+        List<LocalDate> due = new ArrayList<>();
+        for (LocalDate date = tomorrow; !date.isAfter(today.plusDays(lookAheadDays)); date = date.plusDays(1)) {
+            NeoDaySnapshot cached = neoTodayService.getCachedDay(date);
+            boolean staleAtRollover = date.equals(tomorrow)
+                    && !now.isBefore(rolloverFetchFrom)
+                    && cached != null
+                    && cached.fetchedAt().isBefore(rolloverFetchFrom);
+            if (cached == null || staleAtRollover) {
+                due.add(date);
+            }
+        }
+
+        for (FeedWindow window : NeoRangeService.feedWindows(due)) {
+            try {
+                byte[] feedJson = neoWsClient.getFeedJson(window.start(), window.end(), NeoWsPriority.BACKGROUND);
+                neoTodayService.cacheFeed(window.start(), window.end(), feedJson);
+                prefetchedDays.increment(window.start().datesUntil(window.end().plusDays(1)).count());
+                log.debug("Prefetched NEOs for {}..{} ({})", window.start(), window.end(), appZoneId);
+            } catch (RuntimeException ex) {
+                log.warn("Prefetch of NEOs for {}..{} ({}) failed: {}",
+                        window.start(), window.end(), appZoneId, ex.getMessage());
+            }
+        }
+    }
+}
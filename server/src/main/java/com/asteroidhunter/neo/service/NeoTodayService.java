@@ -1,69 +1,496 @@
 package com.asteroidhunter.neo.service;
 
+import com.asteroidhunter.common.ServerTiming;
+import com.asteroidhunter.common.ServerTiming.Stage;
+import com.asteroidhunter.common.SingleFlight;
 import com.asteroidhunter.nasa.NeoWsClient;
-import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.neo.model.NeoDayChanges;
 import com.asteroidhunter.neo.model.NeoSummary;
+import com.asteroidhunter.neo.service.NeoDayArchive.ArchivedDay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
 
 @Service
 public class NeoTodayService {
 
     private static final String NEOS_TODAY_CACHE = "neosToday";
+    private static final String NEOS_LAST_KNOWN_GOOD_CACHE = "neosLastKnownGood";
     private static final Logger log = LoggerFactory.getLogger(NeoTodayService.class);
 
     private final NeoWsClient neoWsClient;
     private final NeoFeedNormalizer neoFeedNormalizer;
+    private final NeoPayloadEncoder neoPayloadEncoder;
+    private final NeoDayArchive neoDayArchive;
+    private final NeoDayChangeLog neoDayChangeLog;
+    private final List<NeoDayListener> neoDayListeners;
     private final ZoneId appZoneId;
     private final Clock appClock;
     private final CacheManager cacheManager;
+    private final TaskExecutor refreshExecutor;
+    private final Duration refreshAfter;
+    private final Duration lastKnownGoodMaxStaleness;
+    private final int archiveWarmMaxDays;
+    private final SingleFlight<String, NeoDaySnapshot> dayLoads = new SingleFlight<>();
+    private final Timer normalizeTimer;
+    private final DistributionSummary feedObjects;
+    private final Timer encodeTimer;
+    private final Counter unchangedFeeds;
 
     public NeoTodayService(
             NeoWsClient neoWsClient,
             NeoFeedNormalizer neoFeedNormalizer,
+            NeoPayloadEncoder neoPayloadEncoder,
+            NeoDayArchive neoDayArchive,
+            NeoDayChangeLog neoDayChangeLog,
+            List<NeoDayListener> neoDayListeners,
             ZoneId appZoneId,
             Clock appClock,
-            CacheManager cacheManager) {
+            CacheManager cacheManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor refreshExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.neosTodayRefreshAfter:PT45M}") Duration refreshAfter,
+            @Value("${app.cache.neosLastKnownGoodMaxStaleness:PT24H}") Duration lastKnownGoodMaxStaleness,
+            @Value("${app.archive.warmMaxDays:90}") int archiveWarmMaxDays) {
         this.neoWsClient = neoWsClient;
         this.neoFeedNormalizer = neoFeedNormalizer;
+        this.neoPayloadEncoder = neoPayloadEncoder;
+        this.neoDayArchive = neoDayArchive;
+        this.neoDayChangeLog = neoDayChangeLog;
+        this.neoDayListeners = List.copyOf(neoDayListeners);
         this.appZoneId = appZoneId;
         this.appClock = appClock;
         this.cacheManager = cacheManager;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAfter = refreshAfter;
+        this.lastKnownGoodMaxStaleness = lastKnownGoodMaxStaleness;
+        this.archiveWarmMaxDays = archiveWarmMaxDays;
+        // The streaming normalizer parses and normalizes in one pass, so there is no separate deserialization time.
+        this.normalizeTimer = Timer.builder("neo.feed.normalize")
+                .description("Time to parse and normalize a raw NeoWs feed body")
+                .register(meterRegistry);
+        this.feedObjects = DistributionSummary.builder("neo.feed.objects")
+                .description("Near-earth objects per normalized NeoWs feed")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("neo.day.encode")
+                .description("Time to encode a cached day's response bodies")
+                .register(meterRegistry);
+        this.unchangedFeeds = Counter.builder("neo.feed.unchanged")
+                .description("Refreshed NeoWs feeds identical to the cached ones, so not normalized again")
+                .register(meterRegistry);
+        Gauge.builder("neo.day.loads.active", dayLoads, SingleFlight::inFlight)
+                .description("Distinct days currently being loaded from NeoWs")
+                .register(meterRegistry);
     }
 
     public List<NeoSummary> getTodayNeos() {
-        LocalDate today = today();
-        String cacheKey = cacheKeyToday();
-        Cache cache = cacheManager.getCache(NEOS_TODAY_CACHE);
+        return getToday().neos();
+    }
+
+    public NeoDayResult getToday() {
+        return getDay(today());
+    }
+
+    public Mono<NeoDayResult> getTodayReactive() {
+        return Mono.defer(() -> getDayReactive(today()));
+    }
+
+    public NeoDayResult getDay(LocalDate date) {
+        return SingleFlight.await(lookupDay(date, this::fetchBlocking));
+    }
+
+    // Nothing blocks while NeoWs responds: the request thread is released and the feed is
+    // normalized on whichever thread completes the WebClient exchange.
+    public Mono<NeoDayResult> getDayReactive(LocalDate date) {
+        return Mono.fromFuture(() -> lookupDay(date, this::fetchReactive));
+    }
+
+    private CompletableFuture<NeoDayResult> lookupDay(
+            LocalDate date,
+            Function<LocalDate, CompletableFuture<byte[]>> fetch) {
+        String cacheKey = cacheKey(date);
+
+        ServerTiming timing = ServerTiming.current();
+        long lookupStarted = System.nanoTime();
+        NeoDaySnapshot cached = getCached(cacheManager.getCache(NEOS_TODAY_CACHE), cacheKey);
+        timing.record(Stage.CACHE, System.nanoTime() - lookupStarted);
+        if (cached != null) {
+            log.debug("Fetching NEOs from cache for {} ({})", date, appZoneId);
+            if (isDueForRefresh(cached)) {
+                refreshInBackground(cacheKey, date);
+            }
+            return CompletableFuture.completedFuture(NeoDayResult.fresh(cached));
+        }
+
+        return dayLoads.executeAsync(cacheKey, () -> load(cacheKey, date, fetch))
+                .handle((snapshot, failure) -> failure == null
+                        ? NeoDayResult.fresh(snapshot)
+                        : serveLastKnownGood(cacheKey, SingleFlight.unwrap(failure)));
+    }
+
+    // Several consecutive days with at most one feed call, through the same per-day flights as single-day loads:
+    // a day another caller is already loading is awaited rather than fetched again, a day that is cached or archived
+    // by the time its flight starts is served as is, and the one fetch covers only the days this call ended up loading.
+    public Mono<List<NeoDaySnapshot>> getWindowReactive(LocalDate start, LocalDate end) {
+        return Mono.fromFuture(() -> allOf(List.copyOf(loadWindow(start, end).values())));
+    }
+
+    // As getWindowReactive, but a day whose load failed on an outage is answered from last-known-good, as getDay does.
+    public Mono<List<NeoDayResult>> getWindowResultsReactive(LocalDate start, LocalDate end) {
+        return Mono.fromFuture(() -> allOf(loadWindow(start, end).entrySet().stream()
+                .map(day -> day.getValue().handle((snapshot, failure) -> failure == null
+                        ? NeoDayResult.fresh(snapshot)
+                        : serveLastKnownGood(cacheKey(day.getKey()), SingleFlight.unwrap(failure))))
+                .toList()));
+    }
+
+    private Map<LocalDate, CompletableFuture<NeoDaySnapshot>> loadWindow(LocalDate start, LocalDate end) {
+        CompletableFuture<Map<LocalDate, NeoDaySnapshot>> fetched = new CompletableFuture<>();
+        List<LocalDate> loading = new ArrayList<>();
+        Map<LocalDate, CompletableFuture<NeoDaySnapshot>> days = new LinkedHashMap<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            LocalDate day = date;
+            String cacheKey = cacheKey(day);
+            days.put(day, dayLoads.executeAsync(cacheKey, () -> {
+                NeoDaySnapshot cached = getCached(cacheManager.getCache(NEOS_TODAY_CACHE), cacheKey);
+                if (cached == null || isDueForRefresh(cached)) {
+                    cached = restoreFromArchive(day);
+                }
+                if (cached != null) {
+                    return CompletableFuture.completedFuture(cached);
+                }
+                loading.add(day);
+                return fetched.thenApply(snapshots -> snapshots.get(day));
+            }));
+        }
+        if (!loading.isEmpty()) {
+            LocalDate from = loading.getFirst();
+            LocalDate to = loading.getLast();
+            log.debug("Fetching NEOs from NASA for {}..{} ({})", from, to, appZoneId);
+            try {
+                neoWsClient.fetchFeedJson(from, to)
+                        .map(feedJson -> cacheFeed(from, to, feedJson))
+                        .subscribe(
+                                snapshots -> fetched.complete(snapshots.stream()
+                                        .collect(Collectors.toMap(NeoDaySnapshot::date, snapshot -> snapshot))),
+                                fetched::completeExceptionally);
+            } catch (RuntimeException ex) {
+                fetched.completeExceptionally(ex);
+            }
+        }
+        return days;
+    }
+
+    private static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    // Versioned delta for a day (today when date is null); see NeoDayChangeLog.
+    public Mono<NeoDayChanges> getChangesReactive(LocalDate date, long sinceVersion) {
+        return Mono.defer(() -> getDayReactive(date == null ? today() : date)).map(result -> {
+            NeoDaySnapshot snapshot = result.snapshot();
+            NeoDayChanges changes = neoDayChangeLog.changesSince(snapshot.date(), sinceVersion);
+            if (changes == null) {
+                neoDayChangeLog.record(snapshot.date(), snapshot.neos());
+                changes = neoDayChangeLog.changesSince(snapshot.date(), sinceVersion);
+            }
+            return changes;
+        });
+    }
+
+    // Archived past days count as cached, so range history is served without calling NASA again.
+    public NeoDaySnapshot getCachedDay(LocalDate date) {
+        NeoDaySnapshot cached = getCached(cacheManager.getCache(NEOS_TODAY_CACHE), cacheKey(date));
+        return cached != null ? cached : restoreFromArchive(date);
+    }
+
+    // Runs once the app is up: the newest archived days go back into the caches so a restart does not
+    // begin cold and stampede NeoWs.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmFromArchive() {
+        List<LocalDate> dates = neoDayArchive.dates(appZoneId);
+        int warmed = 0;
+        for (LocalDate date : dates.subList(0, Math.min(archiveWarmMaxDays, dates.size()))) {
+            if (restoreFromArchive(date) != null) {
+                warmed++;
+            }
+        }
+        if (!dates.isEmpty()) {
+            log.info("Warmed {} of {} archived NEO days ({})", warmed, dates.size(), appZoneId);
+        }
+    }
+
+    // Normalizes a (possibly multi-day) raw feed once and caches every date in [start, end]; dates
+    // missing from the feed are cached as empty days.
+    // A body byte-identical to the one behind every cached day in the window is not normalized again; the cached
+    // days are only marked as freshly fetched.
+    public List<NeoDaySnapshot> cacheFeed(LocalDate start, LocalDate end, byte[] feedJson) {
+        String feedKey = NeoDayChangeLog.feedKey(start, end, feedJson);
+        List<NeoDaySnapshot> unchanged = restampUnchanged(start, end, feedKey);
+        if (unchanged != null) {
+            unchangedFeeds.increment();
+            return unchanged;
+        }
+        ServerTiming timing = ServerTiming.current();
+        Map<LocalDate, List<NeoSummary>> days = timing.time(Stage.NORMALIZE,
+                () -> normalizeTimer.record(() -> neoFeedNormalizer.normalizeFeed(feedJson)));
+        feedObjects.record(days.values().stream().mapToInt(List::size).sum());
+        List<NeoDaySnapshot> snapshots = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            snapshots.add(cacheDay(date, days.getOrDefault(date, List.of())));
+            neoDayChangeLog.recordFeed(date, feedKey);
+        }
+        return snapshots;
+    }
 
+    public NeoDaySnapshot cacheDay(LocalDate date, List<NeoSummary> neos) {
+        NeoDaySnapshot snapshot = snapshot(date, neos, appClock.instant());
+        putCached(snapshot);
+        neoDayListeners.forEach(listener -> listener.dayCached(snapshot));
+        archiveInBackground(snapshot);
+
+        return snapshot;
+    }
+
+    private List<NeoDaySnapshot> restampUnchanged(LocalDate start, LocalDate end, String feedKey) {
+        List<NeoDaySnapshot> cached = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (!neoDayChangeLog.isFeedUnchanged(date, feedKey)) {
+                return null;
+            }
+            NeoDaySnapshot snapshot = getCached(cacheManager.getCache(NEOS_TODAY_CACHE), cacheKey(date));
+            if (snapshot == null) {
+                snapshot = getCached(cacheManager.getCache(NEOS_LAST_KNOWN_GOOD_CACHE), cacheKey(date));
+            }
+            if (snapshot == null) {
+                return null;
+            }
+            cached.add(snapshot);
+        }
+        Instant fetchedAt = appClock.instant();
+        List<NeoDaySnapshot> snapshots = new ArrayList<>();
+        for (NeoDaySnapshot previous : cached) {
+            NeoDaySnapshot snapshot = new NeoDaySnapshot(
+                    previous.date(), previous.neos(), fetchedAt, previous.payload(), previous.index());
+            putCached(snapshot);
+            neoDayListeners.forEach(listener -> listener.dayRefreshed(snapshot));
+            archiveInBackground(snapshot);
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    public String cacheKeyToday() {
+        return cacheKey(today());
+    }
+
+    // Entries past the soft age are still served while one background load replaces them;
+    // only entries evicted at the hard TTL make callers wait on NASA.
+    private void refreshInBackground(String cacheKey, LocalDate date) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    SingleFlight.await(dayLoads.executeAsync(cacheKey, () -> load(cacheKey, date, this::fetchBlocking)));
+                } catch (RuntimeException ex) {
+                    log.warn("Background refresh of NEOs for {} ({}) failed: {}", date, appZoneId, ex.getMessage());
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            log.debug("Skipping background refresh of NEOs for {} ({}): {}", date, appZoneId, ex.getMessage());
+        }
+    }
+
+    // The archive file is written off the request (or event-loop) thread that completed the fetch.
+    private void archiveInBackground(NeoDaySnapshot snapshot) {
+        if (!neoDayArchive.isEnabled()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> neoDayArchive.append(appZoneId, snapshot));
+        } catch (TaskRejectedException ex) {
+            log.debug("Skipping archive of NEOs for {} ({}): {}", snapshot.date(), appZoneId, ex.getMessage());
+        }
+    }
+
+    // Seeds last-known-good with any archived day, but only returns (and caches as fresh) a day that is final or
+    // not yet due for refresh; anything older is refetched.
+    private NeoDaySnapshot restoreFromArchive(LocalDate date) {
+        ArchivedDay archived = neoDayArchive.find(date, appZoneId);
+        if (archived == null) {
+            return null;
+        }
+        NeoDaySnapshot snapshot = snapshot(date, archived.neos(), archived.fetchedAt());
+        String cacheKey = cacheKey(date);
+
+        Cache lastKnownGood = cacheManager.getCache(NEOS_LAST_KNOWN_GOOD_CACHE);
+        if (lastKnownGood != null) {
+            lastKnownGood.putIfAbsent(cacheKey, snapshot);
+        }
+        neoDayListeners.forEach(listener -> listener.dayRestored(snapshot));
+        if (isDueForRefresh(snapshot)) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(NEOS_TODAY_CACHE);
         if (cache != null) {
-            List<NeoSummary> cached = cache.get(cacheKey, List.class);
-            if (cached != null) {
-                log.debug("Fetching NEOs from cache for {} ({})", today, appZoneId);
-                return cached;
+            cache.put(cacheKey, snapshot);
+        }
+        return snapshot;
+    }
+
+    private NeoDaySnapshot snapshot(LocalDate date, List<NeoSummary> neos, Instant fetchedAt) {
+        NeoDayPayload payload = ServerTiming.current()
+                .time(Stage.ENCODE, () -> encodeTimer.record(() -> neoPayloadEncoder.encode(neos)));
+        return new NeoDaySnapshot(
+                date,
+                neos,
+                fetchedAt,
+                payload,
+                NeoDayIndex.build(neos));
+    }
+
+    private CompletableFuture<NeoDaySnapshot> load(
+            String cacheKey,
+            LocalDate date,
+            Function<LocalDate, CompletableFuture<byte[]>> fetch) {
+        // A load for this key may have completed between our cache check and joining the flight.
+        NeoDaySnapshot cached = getCached(cacheManager.getCache(NEOS_TODAY_CACHE), cacheKey);
+        if (cached != null && !isDueForRefresh(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        ServerTiming timing = ServerTiming.current();
+        NeoDaySnapshot archived = timing.time(Stage.ARCHIVE, () -> restoreFromArchive(date));
+        if (archived != null) {
+            log.debug("Fetching NEOs from archive for {} ({})", date, appZoneId);
+            return CompletableFuture.completedFuture(archived);
+        }
+
+        log.debug("Fetching NEOs from NASA for {} ({})", date, appZoneId);
+        // The response may complete on an event-loop thread, so the request's timing is carried over explicitly.
+        long fetchStarted = System.nanoTime();
+        return fetch.apply(date).thenApply(feedJson -> {
+            timing.record(Stage.NEOWS, System.nanoTime() - fetchStarted);
+            return timing.within(() -> cacheFeed(date, date, feedJson).getFirst());
+        });
+    }
+
+    private CompletableFuture<byte[]> fetchBlocking(LocalDate date) {
+        return CompletableFuture.completedFuture(neoWsClient.getFeedJson(date, date));
+    }
+
+    private CompletableFuture<byte[]> fetchReactive(LocalDate date) {
+        return neoWsClient.fetchFeedJson(date, date).toFuture();
+    }
+
+    private NeoDayResult serveLastKnownGood(String cacheKey, Throwable failure) {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (!(failure instanceof RuntimeException runtimeFailure)) {
+            throw new IllegalStateException(failure);
+        }
+        Integer upstreamStatus = staleServableStatus(runtimeFailure);
+        if (upstreamStatus == null) {
+            throw runtimeFailure;
+        }
+
+        NeoDaySnapshot lastKnownGood = getCached(cacheManager.getCache(NEOS_LAST_KNOWN_GOOD_CACHE), cacheKey);
+        if (lastKnownGood == null) {
+            throw runtimeFailure;
+        }
+
+        Duration age = lastKnownGood.age(appClock.instant());
+        if (age.compareTo(lastKnownGoodMaxStaleness) > 0) {
+            throw runtimeFailure;
+        }
+
+        log.warn("Serving last known good NEOs for {} ({} old) after upstream status {}",
+                cacheKey, age, upstreamStatus);
+        return NeoDayResult.stale(lastKnownGood, age, upstreamStatus);
+    }
+
+    // Only outages are masked: rate limiting, 5xx and timeouts. Client errors such as a bad key still surface.
+    private Integer staleServableStatus(RuntimeException failure) {
+        if (failure instanceof NeoWsException neoWsException) {
+            int status = neoWsException.getStatus();
+            return status == 429 || status >= 500 ? status : null;
+        }
+        if (hasCause(failure, TimeoutException.class)
+                || hasCause(failure, io.netty.handler.timeout.TimeoutException.class)) {
+            return 504;
+        }
+        if (failure instanceof WebClientRequestException) {
+            return 502;
+        }
+        return null;
+    }
+
+    private boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
             }
         }
+        return false;
+    }
 
-        log.debug("Fetching NEOs from NASA for {} ({})", today, appZoneId);
-        NeoWsFeedResponse feed = neoWsClient.getFeed(today, today);
-        List<NeoSummary> normalized = neoFeedNormalizer.normalizeForDate(feed, today);
+    private boolean isDueForRefresh(NeoDaySnapshot snapshot) {
+        if (snapshot.isFinal(appZoneId)) {
+            return false;
+        }
+        if (refreshAfter == null || refreshAfter.isZero() || refreshAfter.isNegative()) {
+            return false;
+        }
+        return snapshot.age(appClock.instant()).compareTo(refreshAfter) >= 0;
+    }
 
+    private void putCached(NeoDaySnapshot snapshot) {
+        String cacheKey = cacheKey(snapshot.date());
+        Cache cache = cacheManager.getCache(NEOS_TODAY_CACHE);
         if (cache != null) {
-            cache.put(cacheKey, normalized);
+            cache.put(cacheKey, snapshot);
         }
+        Cache lastKnownGood = cacheManager.getCache(NEOS_LAST_KNOWN_GOOD_CACHE);
+        if (lastKnownGood != null) {
+            lastKnownGood.put(cacheKey, snapshot);
+        }
+    }
 
-        return normalized;
+    private NeoDaySnapshot getCached(Cache cache, String cacheKey) {
+        return cache == null ? null : cache.get(cacheKey, NeoDaySnapshot.class);
     }
 
-    public String cacheKeyToday() {
-        return today() + "|" + appZoneId;
+    private String cacheKey(LocalDate date) {
+        return date + "|" + appZoneId;
     }
 
     private LocalDate today() {
@@ -0,0 +1,152 @@
+package com.asteroidhunter.neo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+// Today's list as a server-sent event stream. One event is built per change (the day's cached JSON, keyed by its
+// ETag) and replayed to every subscriber from a single sink, so a change costs one serialization however many
+// dashboards are open. Refreshes that leave the normalized list unchanged publish nothing. Each subscriber has a
+// bounded buffer; a client that falls that far behind is disconnected and picks up the latest list on reconnect.
+// Tomorrow's list, when cached ahead of midnight, is held back and published once the day rolls over.
+@Component
+public class NeoTodayStream implements NeoDayListener {
+
+    static final String EVENT_NAME = "neos";
+
+    private final Clock appClock;
+    private final Duration heartbeatInterval;
+    private final int maxBufferedEvents;
+    private final Sinks.Many<ServerSentEvent<String>> updates = Sinks.many().replay().latest();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+    private LocalDate publishedDate;
+    private String publishedEtag;
+    private NeoDaySnapshot upcoming;
+
+    public NeoTodayStream(
+            Clock appClock,
+            MeterRegistry meterRegistry,
+            @Value("${app.stream.heartbeatInterval:PT15S}") Duration heartbeatInterval,
+            @Value("${app.stream.maxBufferedEvents:16}") int maxBufferedEvents) {
+        this.appClock = appClock;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxBufferedEvents = Math.max(1, maxBufferedEvents);
+        Gauge.builder("neo.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients connected to the NEO event stream")
+                .register(meterRegistry);
+        this.published = Counter.builder("neo.stream.published")
+                .description("Changed NEO lists pushed to stream subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("neo.stream.dropped")
+                .description("Stream subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void dayCached(NeoDaySnapshot snapshot) {
+        publish(snapshot);
+    }
+
+    // An unchanged refetch after midnight may be the first time today's list reaches the stream.
+    @Override
+    public void dayRefreshed(NeoDaySnapshot snapshot) {
+        publish(snapshot);
+    }
+
+    @Override
+    public void dayRestored(NeoDaySnapshot snapshot) {
+        publish(snapshot);
+    }
+
+    // Only a changed list for today becomes an event; tomorrow's is kept for publishAfterRollover.
+    public void publish(NeoDaySnapshot snapshot) {
+        LocalDate today = LocalDate.now(appClock);
+        lock.lock();
+        try {
+            if (snapshot.date().equals(today.plusDays(1))) {
+                upcoming = snapshot;
+                return;
+            }
+            if (!snapshot.date().equals(today)) {
+                return;
+            }
+            if (upcoming != null && !upcoming.date().isAfter(today)) {
+                upcoming = null;
+            }
+            if (snapshot.date().equals(publishedDate) && snapshot.payload().etag().equals(publishedEtag)) {
+                return;
+            }
+            if (publishedDate != null && snapshot.date().isBefore(publishedDate)) {
+                return;
+            }
+            publishedDate = snapshot.date();
+            publishedEtag = snapshot.payload().etag();
+            updates.tryEmitNext(ServerSentEvent.<String>builder()
+                    .id(eventId(snapshot))
+                    .event(EVENT_NAME)
+                    .data(new String(snapshot.payload().json(), StandardCharsets.UTF_8))
+                    .build());
+            published.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Polled like the rollover prefetch, so subscribers move to the new day without waiting for a refresh.
+    @Scheduled(
+            initialDelayString = "${app.stream.rolloverCheckInterval:PT1M}",
+            fixedDelayString = "${app.stream.rolloverCheckInterval:PT1M}")
+    public void publishAfterRollover() {
+        NeoDaySnapshot pending;
+        lock.lock();
+        try {
+            pending = upcoming;
+        } finally {
+            lock.unlock();
+        }
+        if (pending != null && pending.date().equals(LocalDate.now(appClock))) {
+            publish(pending);
+        }
+    }
+
+    // Starts with the current list unless the client already has it (Last-Event-ID after a reconnect).
+    public Flux<ServerSentEvent<String>> subscribe(NeoDaySnapshot current, String lastEventId) {
+        publish(current);
+        Flux<ServerSentEvent<String>> heartbeats = Flux.interval(heartbeatInterval)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+        return Flux.defer(() -> {
+            // An overflow error would only arrive after the buffer drained, which a stalled client never does.
+            Sinks.Empty<Void> disconnect = Sinks.empty();
+            return Flux.merge(updates.asFlux().filter(event -> !event.id().equals(lastEventId)), heartbeats)
+                    .onBackpressureBuffer(maxBufferedEvents, overflow -> {
+                        dropped.increment();
+                        disconnect.tryEmitEmpty();
+                    }, BufferOverflowStrategy.DROP_LATEST)
+                    .takeUntilOther(disconnect.asMono())
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> subscribers.decrementAndGet());
+        });
+    }
+
+    static String eventId(NeoDaySnapshot snapshot) {
+        String etag = snapshot.payload().etag();
+        return snapshot.date() + ":" + etag.substring(1, etag.length() - 1);
+    }
+}
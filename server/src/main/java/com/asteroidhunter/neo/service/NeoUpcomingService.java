@@ -0,0 +1,48 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class NeoUpcomingService {
+
+    // One NeoWs feed window.
+    public static final int MAX_HOURS = NeoRangeService.MAX_FEED_WINDOW_DAYS * 24;
+
+    private final NeoRangeService neoRangeService;
+    private final NeoApproachTimeline neoApproachTimeline;
+    private final Clock appClock;
+
+    public NeoUpcomingService(
+            NeoRangeService neoRangeService,
+            NeoApproachTimeline neoApproachTimeline,
+            Clock appClock) {
+        this.neoRangeService = neoRangeService;
+        this.neoApproachTimeline = neoApproachTimeline;
+        this.appClock = appClock;
+    }
+
+    // Makes sure every NeoWs feed day (a UTC date) the window touches is cached, which keeps the timeline current,
+    // then slices the timeline rather than merging the days.
+    public Mono<List<NeoSummary>> getUpcomingReactive(int hours) {
+        return Mono.defer(() -> {
+            if (hours < 1 || hours > MAX_HOURS) {
+                throw new InvalidRequestException("hours must be between 1 and " + MAX_HOURS);
+            }
+            Instant from = appClock.instant();
+            Instant to = from.plus(Duration.ofHours(hours));
+            return neoRangeService.getRangeDaysReactive(
+                            LocalDate.ofInstant(from, ZoneOffset.UTC),
+                            LocalDate.ofInstant(to, ZoneOffset.UTC))
+                    .map(days -> neoApproachTimeline.between(from, to));
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// NeoWs buckets approaches by UTC date, and the day cache holds those raw days once however many zones are served.
+// A local day in another zone overlaps the raw day before and after it, so its view is re-bucketed from three raw
+// days by approach time. Views are cached separately and rebuilt only when one of their raw days is replaced.
+@Service
+public class NeoZoneViewService {
+
+    private static final String NEO_ZONE_DAYS_CACHE = "neoZoneDays";
+
+    private final NeoRangeService neoRangeService;
+    private final NeoTodayService neoTodayService;
+    private final NeoPayloadEncoder neoPayloadEncoder;
+    private final Clock appClock;
+    private final CacheManager cacheManager;
+
+    public NeoZoneViewService(
+            NeoRangeService neoRangeService,
+            NeoTodayService neoTodayService,
+            NeoPayloadEncoder neoPayloadEncoder,
+            Clock appClock,
+            CacheManager cacheManager) {
+        this.neoRangeService = neoRangeService;
+        this.neoTodayService = neoTodayService;
+        this.neoPayloadEncoder = neoPayloadEncoder;
+        this.appClock = appClock;
+        this.cacheManager = cacheManager;
+    }
+
+    // Raw days that failed on an outage fall back to last-known-good; the view is then stale by its stalest day.
+    public Mono<NeoDayResult> getTodayReactive(ZoneId zone) {
+        return Mono.defer(() -> {
+            LocalDate today = LocalDate.now(appClock.withZone(zone));
+            return neoTodayService.getWindowResultsReactive(today.minusDays(1), today.plusDays(1)).map(results -> {
+                List<NeoDaySnapshot> rawDays = results.stream().map(NeoDayResult::snapshot).toList();
+                NeoDaySnapshot view = views(today, today, zone, rawDays).getFirst();
+                return results.stream()
+                        .filter(NeoDayResult::stale)
+                        .max(Comparator.comparing(NeoDayResult::staleAge))
+                        .map(stalest -> NeoDayResult.stale(view, stalest.staleAge(), stalest.upstreamErrorStatus()))
+                        .orElse(NeoDayResult.fresh(view));
+            });
+        });
+    }
+
+    public Mono<List<NeoSummary>> getRangeReactive(LocalDate start, LocalDate end, ZoneId zone) {
+        return getRangeDaysReactive(start, end, zone).map(days -> days.stream()
+                .flatMap(day -> day.neos().stream())
+                .toList());
+    }
+
+    public Mono<List<NeoDaySnapshot>> getRangeDaysReactive(LocalDate start, LocalDate end, ZoneId zone) {
+        return Mono.defer(() -> {
+            neoRangeService.validateRange(start, end);
+            return neoRangeService.loadDays(start.minusDays(1), end.plusDays(1))
+                    .map(rawDays -> views(start, end, zone, rawDays));
+        });
+    }
+
+    // Chunked like NeoRangeService.streamRange; each chunk loads the raw days either side of it as well.
+    public Flux<NeoSummary> streamRange(LocalDate start, LocalDate end, ZoneId zone) {
+        return neoRangeService.streamChunks(start, end, chunk -> neoRangeService
+                        .loadDays(chunk.start().minusDays(1), chunk.end().plusDays(1))
+                        .map(rawDays -> views(chunk.start(), chunk.end(), zone, rawDays)))
+                .concatMapIterable(days -> days.stream().flatMap(day -> day.neos().stream()).toList(), 1);
+    }
+
+    private List<NeoDaySnapshot> views(LocalDate start, LocalDate end, ZoneId zone, List<NeoDaySnapshot> rawDays) {
+        Map<LocalDate, NeoDaySnapshot> byDate = new TreeMap<>();
+        rawDays.forEach(day -> byDate.put(day.date(), day));
+        Cache cache = cacheManager.getCache(NEO_ZONE_DAYS_CACHE);
+
+        List<NeoDaySnapshot> views = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            List<NeoDaySnapshot> sources = List.of(
+                    byDate.get(date.minusDays(1)),
+                    byDate.get(date),
+                    byDate.get(date.plusDays(1)));
+            String cacheKey = date + "|" + zone;
+            ZoneView cached = cache == null ? null : cache.get(cacheKey, ZoneView.class);
+            if (cached != null && cached.isDerivedFrom(sources)) {
+                views.add(cached.snapshot());
+                continue;
+            }
+            ZoneView view = new ZoneView(sources, derive(date, zone, sources));
+            if (cache != null) {
+                cache.put(cacheKey, view);
+            }
+            views.add(view.snapshot());
+        }
+        return views;
+    }
+
+    private NeoDaySnapshot derive(LocalDate date, ZoneId zone, List<NeoDaySnapshot> sources) {
+        Instant from = date.atStartOfDay(zone).toInstant();
+        Instant to = date.plusDays(1).atStartOfDay(zone).toInstant();
+        List<NeoSummary> neos = new ArrayList<>();
+        for (NeoDaySnapshot source : sources) {
+            for (NeoSummary neo : source.neos()) {
+                if (!neo.closeApproachTime().isBefore(from) && neo.closeApproachTime().isBefore(to)) {
+                    neos.add(neo);
+                }
+            }
+        }
+        neos.sort(NeoFeedNormalizer.APPROACH_ORDER);
+        // As old as the oldest raw day it was cut from.
+        Instant fetchedAt = sources.stream()
+                .map(NeoDaySnapshot::fetchedAt)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        List<NeoSummary> view = List.copyOf(neos);
+        return new NeoDaySnapshot(date, view, fetchedAt, neoPayloadEncoder.encode(view), NeoDayIndex.build(view));
+    }
+
+    // Raw snapshots are immutable and replaced on refresh, so identity tells whether a view is still current.
+    private record ZoneView(List<NeoDaySnapshot> sources, NeoDaySnapshot snapshot) {
+
+        boolean isDerivedFrom(List<NeoDaySnapshot> current) {
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) != current.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
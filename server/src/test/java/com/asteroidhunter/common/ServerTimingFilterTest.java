@@ -0,0 +1,94 @@
+package com.asteroidhunter.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.common.ServerTiming.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ServerTimingFilterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), ZoneOffset.UTC);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void handlersSeeTheRequestsTimingAndSlowRequestsAreKeptWithTheirStages() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(CLOCK, meterRegistry, Duration.ZERO, 2);
+        AtomicReference<ServerTiming> seen = new AtomicReference<>();
+
+        for (String path : List.of("/api/neos/today", "/api/neos/upcoming", "/api/neos/123")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setQueryString("tz=UTC");
+            new ServerTimingFilter(slowRequestLog).doFilter(request, new MockHttpServletResponse(),
+                    new MockFilterChain(new HttpServlet() {
+                        @Override
+                        protected void service(HttpServletRequest req, HttpServletResponse res) {
+                            ServerTiming timing = ServerTiming.current();
+                            seen.set(timing);
+                            timing.record(Stage.CACHE, 2_000_000);
+                            timing.record(Stage.NEOWS, 8_000_000);
+                        }
+                    }));
+            assertSame(seen.get(), request.getAttribute(ServerTimingFilter.TIMING_ATTRIBUTE));
+        }
+
+        SlowRequestLog.Report report = slowRequestLog.report();
+        assertFalse(ServerTiming.current().isRecording());
+        assertEquals(3, report.slowRequests());
+        assertEquals(2, report.recent().size());
+        assertEquals("/api/neos/123?tz=UTC", report.recent().getFirst().path());
+        assertEquals(200, report.recent().getFirst().status());
+        assertEquals(List.of("cache", "neows"), List.copyOf(report.meanStageMillis().keySet()));
+        assertEquals(8.0, report.meanStageMillis().get("neows"));
+    }
+
+    @Test
+    void fastRequestsAreNotKept() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(CLOCK, meterRegistry, Duration.ofSeconds(5), 10);
+
+        new ServerTimingFilter(slowRequestLog).doFilter(
+                new MockHttpServletRequest("GET", "/api/neos/today"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(slowRequestLog.report().recent().isEmpty());
+        assertEquals(0.0, meterRegistry.get("http.server.requests.slow").counter().count());
+    }
+
+    @Test
+    void headerListsRecordedStagesInPipelineOrderThenTheTotal() {
+        ServerTiming timing = ServerTiming.start();
+
+        timing.record(Stage.ENCODE, 500_000);
+        timing.record(Stage.CACHE, 10_000);
+        timing.record(Stage.CACHE, 10_000);
+
+        assertTrue(timing.header().matches("cache;dur=0\\.020, encode;dur=0\\.500, total;dur=\\d+\\.\\d{3}"),
+                timing.header());
+    }
+
+    @Test
+    void timingOffARequestRecordsNothing() {
+        ServerTiming none = ServerTiming.current();
+
+        none.record(Stage.NEOWS, 1_000_000);
+
+        assertFalse(none.isRecording());
+        assertTrue(none.stageMillis().isEmpty());
+        assertEquals("done", none.time(Stage.CACHE, () -> "done"));
+    }
+}
@@ -5,7 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -61,7 +65,9 @@ class NeoWsClientTest {
                                 .build()))
                 .build();
 
-        NeoWsClient client = new NeoWsClient(webClient, "demo-key");
+        NeoWsClient client = new NeoWsClient(
+                webClient, NeoWsKeyPool.of("demo-key"), new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
         var response = client.getFeed(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-02"));
 
         assertEquals(1, response.element_count());
@@ -70,9 +76,57 @@ class NeoWsClientTest {
         assertEquals("123", response.near_earth_objects().get("2026-02-01").getFirst().id());
     }
 
+    @Test
+    void fetchFeedDoesNotCallUpstreamUntilSubscribed() {
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> {
+                    exchanges.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"element_count\": 0, \"near_earth_objects\": {}}")
+                            .build());
+                })
+                .build();
+
+        NeoWsClient client = new NeoWsClient(
+                webClient, NeoWsKeyPool.of("demo-key"), new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+        Mono<NeoWsFeedResponse> feed = client.fetchFeed(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-01"));
+
+        assertEquals(0, exchanges.get());
+        assertEquals(0, feed.block().element_count());
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void getFeedJsonReturnsRawBodyWithoutParsing() {
+        String body = "{\"element_count\": 0, \"near_earth_objects\": {}}";
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()))
+                .build();
+
+        NeoWsClient client = new NeoWsClient(
+                webClient, NeoWsKeyPool.of("demo-key"), new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+        byte[] json = client.getFeedJson(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-01"));
+
+        assertEquals(body, new String(json, StandardCharsets.UTF_8));
+    }
+
     @Test
     void getFeedThrowsClearMessageWhenApiKeyMissing() {
-        NeoWsClient client = new NeoWsClient(WebClient.builder().baseUrl("http://localhost").build(), "");
+        NeoWsClient client = new NeoWsClient(
+                WebClient.builder().baseUrl("http://localhost").build(),
+                NeoWsKeyPool.of(),
+                new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(),
+                NeoWsRateScheduler.unlimited());
 
         IllegalStateException exception = assertThrows(
                 IllegalStateException.class,
@@ -92,7 +146,9 @@ class NeoWsClientTest {
                                 .build()))
                 .build();
 
-        NeoWsClient client = new NeoWsClient(webClient, "bad-key");
+        NeoWsClient client = new NeoWsClient(
+                webClient, NeoWsKeyPool.of("bad-key"), new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
 
         NeoWsException exception = assertThrows(
                 NeoWsException.class,
@@ -101,4 +157,30 @@ class NeoWsClientTest {
         assertEquals(401, exception.getStatus());
         assertTrue(exception.getBodySnippet().contains("bad api key"));
     }
+
+    @Test
+    void requestsAreTimedByStatusAndSuccessfulBodiesAreSized() {
+        String body = "{\"element_count\": 0, \"near_earth_objects\": {}}";
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> Mono.just(ClientResponse
+                        .create(exchanges.incrementAndGet() == 1 ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()))
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NeoWsClient client = new NeoWsClient(webClient, NeoWsKeyPool.of("demo-key"), meterRegistry,
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+
+        client.getFeedJson(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-01"));
+        assertThrows(NeoWsException.class,
+                () -> client.getFeedJson(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-01")));
+
+        assertEquals(1, meterRegistry.get("neows.requests").tag("status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("neows.requests").tag("status", "503").timer().count());
+        assertEquals(body.length(), meterRegistry.get("neows.response.size").summary().totalAmount());
+        assertEquals(0, meterRegistry.get("neows.requests.active").gauge().value());
+    }
 }
@@ -0,0 +1,23 @@
+package com.asteroidhunter.nasa;
+
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+
+// Renders DTO fixtures as the raw body NeoWs would send, for stubbing the streaming ingest path.
+public final class NeoWsFeedJson {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private NeoWsFeedJson() {
+    }
+
+    public static byte[] toJson(NeoWsFeedResponse feed) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(feed);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
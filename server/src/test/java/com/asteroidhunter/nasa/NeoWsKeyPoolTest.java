@@ -0,0 +1,133 @@
+package com.asteroidhunter.nasa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.common.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class NeoWsKeyPoolTest {
+
+    private static final LocalDate DAY = LocalDate.parse("2026-02-26");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-26T12:00:00Z"), ZoneOffset.UTC);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void keyWithMostReportedHeadroomIsChosen() {
+        NeoWsKeyPool pool = pool("key-aaaa,key-bbbb", 0);
+
+        NeoWsKeyPool.Key first = pool.select();
+        pool.record(first, 200, quota(1000, 10));
+        pool.release(first);
+
+        assertEquals("key-bbbb", selectAndRelease(pool));
+        assertEquals(10.0, meterRegistry.get("neows.quota.remaining").tag("key", "...aaaa").gauge().value());
+        assertEquals(1010.0, meterRegistry.get("neows.quota.pool.remaining").gauge().value());
+    }
+
+    @Test
+    void callsInFlightCountAgainstAKey() {
+        NeoWsKeyPool pool = pool("key-aaaa,key-bbbb", 0);
+
+        NeoWsKeyPool.Key first = pool.select();
+        NeoWsKeyPool.Key second = pool.select();
+
+        assertEquals("key-aaaa", first.value());
+        assertEquals("key-bbbb", second.value());
+    }
+
+    @Test
+    void rateLimitedKeyIsSpentUntilItsHourHasPassed() {
+        NeoWsKeyPool pool = pool("key-aaaa,key-bbbb", 0);
+        NeoWsKeyPool.Key first = pool.select();
+        pool.record(first, 200, quota(40, 30));
+        pool.release(first);
+        NeoWsKeyPool.Key limited = pool.select();
+        pool.record(limited, 429, new HttpHeaders());
+        pool.release(limited);
+
+        assertEquals("key-bbbb", limited.value());
+        assertEquals(30, pool.totalRemaining());
+        assertEquals("key-aaaa", selectAndRelease(pool));
+
+        clock.advance(Duration.ofMinutes(61));
+        assertEquals(1040, pool.totalRemaining());
+        assertEquals("key-bbbb", selectAndRelease(pool));
+    }
+
+    @Test
+    void backgroundCallsAreRefusedOnceOnlyTheReserveIsLeft() {
+        NeoWsKeyPool pool = pool("key-aaaa", 100);
+        NeoWsKeyPool.Key key = pool.select();
+
+        pool.record(key, 200, quota(1000, 120));
+        assertTrue(pool.admits(NeoWsPriority.BACKGROUND));
+
+        pool.record(key, 200, quota(1000, 100));
+        assertFalse(pool.admits(NeoWsPriority.BACKGROUND));
+        assertTrue(pool.admits(NeoWsPriority.INTERACTIVE));
+        assertEquals(1.0, meterRegistry.get("neows.quota.rejected").counter().count());
+    }
+
+    @Test
+    void clientSpreadsCallsAcrossKeysFromResponseHeaders() {
+        List<String> usedKeys = new ArrayList<>();
+        AtomicInteger remaining = new AtomicInteger(5);
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> {
+                    String key = request.url().getQuery().replaceAll(".*api_key=", "");
+                    usedKeys.add(key);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(NeoWsKeyPool.LIMIT_HEADER, "1000")
+                            .header(NeoWsKeyPool.REMAINING_HEADER, String.valueOf(remaining.getAndDecrement()))
+                            .body("{\"element_count\": 0, \"near_earth_objects\": {}}")
+                            .build());
+                })
+                .build();
+        NeoWsClient client = new NeoWsClient(webClient, pool("key-aaaa,key-bbbb", 0), meterRegistry,
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+
+        client.getFeed(DAY, DAY);
+        client.getFeed(DAY, DAY);
+        client.getFeed(DAY, DAY);
+
+        assertEquals(List.of("key-aaaa", "key-bbbb", "key-aaaa"), usedKeys);
+        assertEquals(3.0, meterRegistry.get("neows.quota.remaining").tag("key", "...aaaa").gauge().value());
+        assertEquals(4.0, meterRegistry.get("neows.quota.remaining").tag("key", "...bbbb").gauge().value());
+    }
+
+    private NeoWsKeyPool pool(String keys, int backgroundReserve) {
+        return new NeoWsKeyPool(keys, "key-aaaa", 1000, backgroundReserve, clock, meterRegistry);
+    }
+
+    private static String selectAndRelease(NeoWsKeyPool pool) {
+        NeoWsKeyPool.Key key = pool.select();
+        pool.release(key);
+        return key.value();
+    }
+
+    private static HttpHeaders quota(int limit, int remaining) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(NeoWsKeyPool.LIMIT_HEADER, String.valueOf(limit));
+        headers.set(NeoWsKeyPool.REMAINING_HEADER, String.valueOf(remaining));
+        return headers;
+    }
+}
@@ -0,0 +1,77 @@
+package com.asteroidhunter.nasa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class NeoWsRateSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void interactiveCallsOvertakeQueuedBackgroundCalls() throws Exception {
+        NeoWsRateScheduler scheduler = scheduler(20, 1, 0, Duration.ofSeconds(5));
+        scheduler.acquire(NeoWsPriority.INTERACTIVE).block();
+        List<NeoWsPriority> granted = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> background = scheduler.acquire(NeoWsPriority.BACKGROUND)
+                .doOnSuccess(ignored -> granted.add(NeoWsPriority.BACKGROUND))
+                .toFuture();
+        CompletableFuture<Void> interactive = scheduler.acquire(NeoWsPriority.INTERACTIVE)
+                .doOnSuccess(ignored -> granted.add(NeoWsPriority.INTERACTIVE))
+                .toFuture();
+        CompletableFuture.allOf(background, interactive).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(NeoWsPriority.INTERACTIVE, NeoWsPriority.BACKGROUND), granted);
+    }
+
+    @Test
+    void backgroundCallsLeaveTheReserveForInteractiveOnes() {
+        NeoWsRateScheduler scheduler = scheduler(0.1, 3, 2, Duration.ofSeconds(5));
+
+        scheduler.acquire(NeoWsPriority.BACKGROUND).block();
+        CompletableFuture<Void> background = scheduler.acquire(NeoWsPriority.BACKGROUND).toFuture();
+        scheduler.acquire(NeoWsPriority.INTERACTIVE).block(Duration.ofMillis(500));
+        scheduler.acquire(NeoWsPriority.INTERACTIVE).block(Duration.ofMillis(500));
+
+        assertFalse(background.isDone());
+        assertEquals(1.0, meterRegistry.get("neows.scheduler.queued").tag("priority", "BACKGROUND").gauge().value());
+        background.cancel(true);
+    }
+
+    @Test
+    void callsThatWaitTooLongFailWithServiceUnavailable() {
+        NeoWsRateScheduler scheduler = scheduler(0.1, 1, 0, Duration.ofMillis(50));
+        scheduler.acquire(NeoWsPriority.INTERACTIVE).block();
+
+        NeoWsException ex = assertThrows(NeoWsUnavailableException.class,
+                () -> scheduler.acquire(NeoWsPriority.INTERACTIVE).block());
+
+        assertEquals(503, ex.getStatus());
+        assertEquals(1.0, meterRegistry.get("neows.scheduler.rejected").tag("priority", "INTERACTIVE")
+                .counter().count());
+        assertEquals(0.0, meterRegistry.get("neows.scheduler.queued").tag("priority", "INTERACTIVE")
+                .gauge().value());
+    }
+
+    @Test
+    void unlimitedSchedulerNeverWaits() {
+        NeoWsRateScheduler scheduler = NeoWsRateScheduler.unlimited();
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.acquire(NeoWsPriority.BACKGROUND).block(Duration.ofMillis(100));
+        }
+    }
+
+    private NeoWsRateScheduler scheduler(double permitsPerSecond, int burst, int backgroundReserve, Duration maxWait) {
+        return new NeoWsRateScheduler(meterRegistry, permitsPerSecond, burst, backgroundReserve, maxWait, 10);
+    }
+}
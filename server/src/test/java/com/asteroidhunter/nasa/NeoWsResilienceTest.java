@@ -0,0 +1,248 @@
+package com.asteroidhunter.nasa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.asteroidhunter.common.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class NeoWsResilienceTest {
+
+    private static final LocalDate DAY = LocalDate.parse("2026-02-26");
+    private static final String FEED = """
+            {"element_count": 0, "near_earth_objects": {}}
+            """;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-26T12:00:00Z"), ZoneOffset.UTC);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @Test
+    void serverErrorsAreRetriedUntilOneSucceeds() {
+        NeoWsClient client = client(resilience(Duration.ofSeconds(5), 3, 5), () -> exchanges.incrementAndGet() < 3
+                ? error(HttpStatus.SERVICE_UNAVAILABLE, null)
+                : ok());
+
+        assertEquals(0, client.getFeed(DAY, DAY).element_count());
+        assertEquals(3, exchanges.get());
+        assertEquals(2.0, meterRegistry.get("neows.retries").tag("reason", "503").counter().count());
+    }
+
+    @Test
+    void everyAttemptTakesARateLimitToken() {
+        AtomicInteger tokens = new AtomicInteger();
+        NeoWsRateScheduler rateScheduler = mock(NeoWsRateScheduler.class);
+        given(rateScheduler.acquire(NeoWsPriority.INTERACTIVE)).willReturn(Mono.fromRunnable(tokens::incrementAndGet));
+        NeoWsClient client = client(resilience(Duration.ofSeconds(5), 3, 5), rateScheduler,
+                () -> exchanges.incrementAndGet() < 3 ? error(HttpStatus.SERVICE_UNAVAILABLE, null) : ok());
+
+        client.getFeed(DAY, DAY);
+
+        assertEquals(3, exchanges.get());
+        assertEquals(3, tokens.get());
+    }
+
+    @Test
+    void retryAfterIsWaitedOutBeforeRetrying() {
+        NeoWsClient client = client(resilience(Duration.ofSeconds(5), 2, 5), () -> exchanges.incrementAndGet() == 1
+                ? error(HttpStatus.TOO_MANY_REQUESTS, "1")
+                : ok());
+
+        long started = System.nanoTime();
+        client.getFeed(DAY, DAY);
+
+        assertEquals(2, exchanges.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() >= 1000);
+    }
+
+    @Test
+    void retryAfterBeyondTheOverallDeadlineIsNotWaitedOut() {
+        NeoWsClient client = client(resilience(Duration.ofSeconds(5), 2, 5), () -> {
+            exchanges.incrementAndGet();
+            return error(HttpStatus.TOO_MANY_REQUESTS, "3600");
+        });
+
+        NeoWsException ex = assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+
+        assertEquals(429, ex.getStatus());
+        assertEquals(Duration.ofHours(1), ex.getRetryAfter());
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        NeoWsClient client = client(resilience(Duration.ofSeconds(5), 3, 5), () -> {
+            exchanges.incrementAndGet();
+            return error(HttpStatus.FORBIDDEN, null);
+        });
+
+        NeoWsException ex = assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+
+        assertEquals(403, ex.getStatus());
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    void slowAttemptTimesOutAndIsRetried() {
+        NeoWsClient client = client(resilience(Duration.ofMillis(100), 1, 5), () -> exchanges.incrementAndGet() == 1
+                ? Mono.never()
+                : ok());
+
+        assertEquals(0, client.getFeed(DAY, DAY).element_count());
+        assertEquals(2, exchanges.get());
+        assertEquals(1.0, meterRegistry.get("neows.retries").tag("reason", "TIMEOUT").counter().count());
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndFailsFastUntilTheOpenPeriodEnds() {
+        NeoWsResilience resilience = resilience(Duration.ofSeconds(5), 0, 2);
+        AtomicInteger status = new AtomicInteger(500);
+        NeoWsClient client = client(resilience, () -> {
+            exchanges.incrementAndGet();
+            return status.get() == 200 ? ok() : error(HttpStatus.valueOf(status.get()), null);
+        });
+
+        assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+        assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+        assertEquals(NeoWsCircuitBreaker.State.OPEN, resilience.circuitState());
+
+        NeoWsException rejected = assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+        assertInstanceOf(NeoWsUnavailableException.class, rejected);
+        assertEquals(503, rejected.getStatus());
+        assertEquals(2, exchanges.get());
+
+        clock.advance(Duration.ofSeconds(31));
+        status.set(200);
+        client.getFeed(DAY, DAY);
+
+        assertEquals(NeoWsCircuitBreaker.State.CLOSED, resilience.circuitState());
+        assertEquals(3, exchanges.get());
+    }
+
+    @Test
+    void failedTrialCallReopensTheCircuit() {
+        NeoWsResilience resilience = resilience(Duration.ofSeconds(5), 0, 1);
+        NeoWsClient client = client(resilience, () -> {
+            exchanges.incrementAndGet();
+            return error(HttpStatus.BAD_GATEWAY, null);
+        });
+
+        assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+        clock.advance(Duration.ofSeconds(31));
+        assertThrows(NeoWsException.class, () -> client.getFeed(DAY, DAY));
+
+        assertEquals(NeoWsCircuitBreaker.State.OPEN, resilience.circuitState());
+        assertInstanceOf(NeoWsUnavailableException.class, assertThrows(NeoWsException.class,
+                () -> client.getFeed(DAY, DAY)));
+        assertEquals(2, exchanges.get());
+    }
+
+    @Test
+    void callsBeyondTheConcurrencyLimitWaitForAFreedSlot() {
+        NeoWsResilience resilience = bulkheadOfOne(Duration.ofSeconds(5));
+        Sinks.One<String> held = Sinks.one();
+        Disposable first = resilience.decorate("feed", held.asMono()).subscribe();
+        AtomicReference<String> second = new AtomicReference<>();
+        resilience.decorate("feed", Mono.just("second")).subscribe(second::set);
+
+        assertEquals(null, second.get());
+        assertEquals(1.0, meterRegistry.get("neows.bulkhead.queued").gauge().value());
+
+        held.tryEmitValue("first");
+
+        assertTrue(first.isDisposed());
+        assertEquals("second", second.get());
+        assertEquals(0.0, meterRegistry.get("neows.bulkhead.active").gauge().value());
+        assertEquals(0.0, meterRegistry.get("neows.bulkhead.rejected").counter().count());
+    }
+
+    @Test
+    void bulkheadRejectsCallsThatWaitTooLong() {
+        NeoWsResilience resilience = bulkheadOfOne(Duration.ofMillis(50));
+        Sinks.One<String> held = Sinks.one();
+
+        Disposable first = resilience.decorate("feed", held.asMono()).subscribe();
+        NeoWsException rejected = assertThrows(NeoWsUnavailableException.class,
+                () -> resilience.decorate("feed", Mono.just("second")).block());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals(1.0, meterRegistry.get("neows.bulkhead.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("neows.bulkhead.active").gauge().value());
+        assertEquals(0.0, meterRegistry.get("neows.bulkhead.queued").gauge().value());
+
+        held.tryEmitValue("first");
+        assertTrue(first.isDisposed());
+        assertEquals("third", resilience.decorate("feed", Mono.just("third")).block());
+        assertEquals(NeoWsCircuitBreaker.State.CLOSED, resilience.circuitState());
+    }
+
+    @Test
+    void retryAfterAcceptsSecondsAndHttpDates() {
+        assertEquals(Duration.ofSeconds(120), NeoWsClient.retryAfter("120"));
+        assertEquals(Duration.ZERO, NeoWsClient.retryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals(null, NeoWsClient.retryAfter("soon"));
+    }
+
+    private NeoWsResilience bulkheadOfOne(Duration maxWait) {
+        return new NeoWsResilience(clock, meterRegistry, Duration.ofSeconds(5), Duration.ofSeconds(10), 0,
+                Duration.ofMillis(10), Duration.ofMillis(50), 5, Duration.ofSeconds(30), 1, maxWait);
+    }
+
+    private NeoWsResilience resilience(Duration attemptTimeout, int maxRetries, int circuitFailureThreshold) {
+        return new NeoWsResilience(clock, meterRegistry, attemptTimeout, Duration.ofSeconds(10), maxRetries,
+                Duration.ofMillis(10), Duration.ofMillis(50), circuitFailureThreshold, Duration.ofSeconds(30), 4,
+                Duration.ofSeconds(1));
+    }
+
+    private NeoWsClient client(NeoWsResilience resilience, ResponseSource responses) {
+        return client(resilience, NeoWsRateScheduler.unlimited(), responses);
+    }
+
+    private NeoWsClient client(
+            NeoWsResilience resilience, NeoWsRateScheduler rateScheduler, ResponseSource responses) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> Mono.defer(responses::next))
+                .build();
+        return new NeoWsClient(
+                webClient, NeoWsKeyPool.of("demo-key"), meterRegistry, resilience, rateScheduler);
+    }
+
+    private static Mono<ClientResponse> ok() {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(FEED)
+                .build());
+    }
+
+    private static Mono<ClientResponse> error(HttpStatus status, String retryAfter) {
+        ClientResponse.Builder response = ClientResponse.create(status).body("upstream error");
+        if (retryAfter != null) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return Mono.just(response.build());
+    }
+
+    private interface ResponseSource {
+        Mono<ClientResponse> next();
+    }
+}
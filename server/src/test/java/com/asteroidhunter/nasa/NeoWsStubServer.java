@@ -0,0 +1,95 @@
+package com.asteroidhunter.nasa;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local stand-in for api.nasa.gov that answers /neo/rest/v1/feed after an injected delay.
+public class NeoWsStubServer implements AutoCloseable {
+
+    private static final Pattern START_DATE = Pattern.compile("start_date=([0-9-]+)");
+
+    static {
+        // The JDK server closes keep-alive connections beyond 200 idle ones, which a large client pool would trip over.
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+    private final int objectsPerDay;
+    private final AtomicInteger feedRequests = new AtomicInteger();
+
+    public NeoWsStubServer(Duration latency, int objectsPerDay) throws IOException {
+        this.latency = latency;
+        this.objectsPerDay = objectsPerDay;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.server.setExecutor(executor);
+        this.server.createContext("/neo/rest/v1/feed", this::handleFeed);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int feedRequests() {
+        return feedRequests.get();
+    }
+
+    private void handleFeed(HttpExchange exchange) throws IOException {
+        feedRequests.incrementAndGet();
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        Matcher matcher = START_DATE.matcher(String.valueOf(exchange.getRequestURI().getQuery()));
+        String date = matcher.find() ? matcher.group(1) : "2026-01-01";
+        byte[] body = feedJson(date).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String feedJson(String date) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"element_count\":").append(objectsPerDay)
+                .append(",\"near_earth_objects\":{\"").append(date).append("\":[");
+        for (int i = 0; i < objectsPerDay; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(date).append('-').append(i)
+                    .append("\",\"name\":\"Stub ").append(i)
+                    .append("\",\"is_potentially_hazardous_asteroid\":").append(i % 7 == 0)
+                    .append(",\"estimated_diameter\":{\"meters\":{\"estimated_diameter_min\":")
+                    .append(10 + i).append(",\"estimated_diameter_max\":").append(20 + i)
+                    .append("}},\"close_approach_data\":[{\"close_approach_date\":\"").append(date)
+                    .append("\",\"epoch_date_close_approach\":").append(1_767_225_600_000L + i * 60_000L)
+                    .append(",\"relative_velocity\":{\"kilometers_per_second\":\"").append(5 + i * 0.1)
+                    .append("\"},\"miss_distance\":{\"lunar\":\"").append(10 + i)
+                    .append("\",\"kilometers\":\"").append(3_844_000 + i * 1000)
+                    .append("\"},\"orbiting_body\":\"Earth\"}]}");
+        }
+        return json.append("]}}").toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
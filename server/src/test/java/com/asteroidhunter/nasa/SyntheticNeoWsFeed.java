@@ -0,0 +1,97 @@
+package com.asteroidhunter.nasa;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Deterministic NeoWs-shaped feed bodies for load, allocation and JMH runs. Besides the happy path it mixes in
+// the shapes the normalizer has fallbacks for: approaches without an epoch (date-time parsing), objects with no
+// approach on the feed date (soonest-epoch fallback) and unparseable numeric strings (NaN).
+public final class SyntheticNeoWsFeed {
+
+    private static final DateTimeFormatter CLOSE_APPROACH_DATE_FULL =
+            DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm", Locale.US);
+    private static final String[] BODIES = {"Earth", "Mars", "Venus", "Merc", "Juptr"};
+
+    private SyntheticNeoWsFeed() {
+    }
+
+    public static byte[] feedJson(LocalDate start, int days, int objectsPerDay, int approachesPerObject) {
+        return feed(start, days, objectsPerDay, approachesPerObject).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String feed(LocalDate start, int days, int objectsPerDay, int approachesPerObject) {
+        SplittableRandom random = new SplittableRandom(days * 31L + objectsPerDay * 7L + approachesPerObject);
+        StringBuilder json = new StringBuilder(days * objectsPerDay * (600 + approachesPerObject * 420))
+                .append("{\"links\":{\"next\":\"https://api.nasa.gov/neo/rest/v1/feed?start_date=")
+                .append(start.plusDays(days)).append("\",\"self\":\"https://api.nasa.gov/neo/rest/v1/feed\"},")
+                .append("\"element_count\":").append(days * objectsPerDay)
+                .append(",\"near_earth_objects\":{");
+        for (int day = 0; day < days; day++) {
+            LocalDate date = start.plusDays(day);
+            json.append(day == 0 ? "" : ",").append('"').append(date).append("\":[");
+            for (int i = 0; i < objectsPerDay; i++) {
+                appendObject(json.append(i == 0 ? "" : ","), random, date, day * objectsPerDay + i, approachesPerObject);
+            }
+            json.append(']');
+        }
+        return json.append("}}").toString();
+    }
+
+    private static void appendObject(StringBuilder json, SplittableRandom random, LocalDate date, int index, int approaches) {
+        String id = String.valueOf(2_000_000 + index);
+        double diameterMin = 5 + random.nextDouble() * 900;
+        json.append("{\"links\":{\"self\":\"https://api.nasa.gov/neo/rest/v1/neo/").append(id).append("\"},")
+                .append("\"id\":\"").append(id).append("\",\"neo_reference_id\":\"").append(id)
+                .append("\",\"name\":\"(").append(date.getYear()).append(" SY").append(index).append(")\"")
+                .append(",\"nasa_jpl_url\":\"https://ssd.jpl.nasa.gov/tools/sbdb_lookup.html#/?sstr=").append(id)
+                .append("\",\"absolute_magnitude_h\":").append(17 + random.nextInt(12))
+                .append(",\"estimated_diameter\":{");
+        appendDiameter(json, "kilometers", diameterMin / 1000, false);
+        appendDiameter(json, "meters", diameterMin, true);
+        appendDiameter(json, "miles", diameterMin / 1609.344, true);
+        appendDiameter(json, "feet", diameterMin * 3.28084, true);
+        json.append("},\"is_potentially_hazardous_asteroid\":").append(random.nextInt(10) == 0)
+                .append(",\"close_approach_data\":[");
+
+        // One object in five has no approach on the feed date and falls back to the soonest epoch.
+        boolean onFeedDate = random.nextInt(5) != 0;
+        int feedDateIndex = onFeedDate ? random.nextInt(approaches) : -1;
+        for (int a = 0; a < approaches; a++) {
+            LocalDate approachDate = a == feedDateIndex ? date : date.plusYears(a - approaches / 2).plusDays(1 + a % 3);
+            appendApproach(json.append(a == 0 ? "" : ","), random, approachDate);
+        }
+        json.append("],\"is_sentry_object\":false}");
+    }
+
+    private static void appendDiameter(StringBuilder json, String unit, double min, boolean separator) {
+        json.append(separator ? "," : "").append('"').append(unit)
+                .append("\":{\"estimated_diameter_min\":").append(min)
+                .append(",\"estimated_diameter_max\":").append(min * 2.236).append('}');
+    }
+
+    private static void appendApproach(StringBuilder json, SplittableRandom random, LocalDate approachDate) {
+        long epochMillis = approachDate.atStartOfDay(ZoneOffset.UTC).toEpochSecond() * 1000 + random.nextLong(86_400_000L);
+        double kilometers = 50_000 + random.nextDouble() * 70_000_000;
+        double kmPerSecond = 1 + random.nextDouble() * 40;
+        json.append("{\"close_approach_date\":\"").append(approachDate)
+                .append("\",\"close_approach_date_full\":\"")
+                .append(approachDate.atTime(random.nextInt(24), random.nextInt(60)).format(CLOSE_APPROACH_DATE_FULL))
+                .append('"');
+        // One approach in eight omits the epoch so the date-time parsing fallback runs.
+        if (random.nextInt(8) != 0) {
+            json.append(",\"epoch_date_close_approach\":").append(epochMillis);
+        }
+        json.append(",\"relative_velocity\":{\"kilometers_per_second\":\"").append(kmPerSecond)
+                .append("\",\"kilometers_per_hour\":\"").append(kmPerSecond * 3600)
+                .append("\",\"miles_per_hour\":\"").append(kmPerSecond * 2236.936)
+                .append("\"},\"miss_distance\":{\"astronomical\":\"").append(kilometers / 149_597_870.7)
+                .append("\",\"lunar\":\"").append(random.nextInt(50) == 0 ? "n/a" : String.valueOf(kilometers / 384_400))
+                .append("\",\"kilometers\":\"").append(kilometers)
+                .append("\",\"miles\":\"").append(kilometers / 1.609344)
+                .append("\"},\"orbiting_body\":\"").append(BODIES[random.nextInt(BODIES.length)]).append("\"}");
+    }
+}
@@ -0,0 +1,136 @@
+package com.asteroidhunter.nasa;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.service.NeoTodayService;
+import com.asteroidhunter.neo.service.NeoTodayServiceBuilder;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// Run with: ./mvnw test -Pperf -Dtest=VirtualThreadLoadComparisonTest
+@Tag("perf")
+class VirtualThreadLoadComparisonTest {
+
+    private static final int REQUESTS = 2_000;
+    // Tomcat's default server.tomcat.threads.max.
+    private static final int PLATFORM_WORKERS = 200;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(250);
+
+    @Test
+    void virtualThreadsSustainMoreConcurrentCacheMissesThanPlatformWorkers() throws Exception {
+        try (NeoWsStubServer stub = new NeoWsStubServer(UPSTREAM_LATENCY, 5)) {
+            // Warm up the connection pool and JIT so neither mode pays for first use.
+            run(stub, "warmup", Executors.newVirtualThreadPerTaskExecutor(), virtualExecutor(), 200);
+
+            LoadResult platform = run(stub, "platform", Executors.newFixedThreadPool(PLATFORM_WORKERS),
+                    platformExecutor(), REQUESTS);
+            LoadResult virtual = run(stub, "virtual", Executors.newVirtualThreadPerTaskExecutor(),
+                    virtualExecutor(), REQUESTS);
+
+            System.out.printf("%n%d blocking cache misses, %d ms NeoWs latency%n", REQUESTS, UPSTREAM_LATENCY.toMillis());
+            System.out.println(LoadResult.HEADER);
+            System.out.println(platform);
+            System.out.println(virtual);
+
+            assertTrue(virtual.throughputPerSecond() > platform.throughputPerSecond(),
+                    "virtual threads should out-run a " + PLATFORM_WORKERS + "-thread pool on a latency-bound upstream");
+        }
+    }
+
+    private LoadResult run(
+            NeoWsStubServer stub,
+            String mode,
+            ExecutorService requestThreads,
+            TaskExecutor refreshExecutor,
+            int requests) throws Exception {
+        NeoTodayService service = service(stub, refreshExecutor);
+        long[] latenciesNanos = new long[requests];
+        long started = System.nanoTime();
+        try (requestThreads) {
+            List<Future<?>> calls = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                long submitted = System.nanoTime();
+                LocalDate date = LocalDate.parse("2020-01-01").plusDays(i);
+                calls.add(requestThreads.submit(() -> {
+                    service.getDay(date);
+                    latenciesNanos[index] = System.nanoTime() - submitted;
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+        return LoadResult.of(mode, requests, System.nanoTime() - started, latenciesNanos);
+    }
+
+    private NeoTodayService service(NeoWsStubServer stub, TaskExecutor refreshExecutor) {
+        ConnectionProvider connections = ConnectionProvider.builder("neows-load")
+                .maxConnections(REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(REQUESTS * 2L));
+        ZoneId zone = ZoneId.of("America/Toronto");
+        NeoWsClient neoWsClient = new NeoWsClient(webClient, NeoWsKeyPool.of("demo-key"), new SimpleMeterRegistry(),
+                NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+        return new NeoTodayServiceBuilder(neoWsClient, Clock.system(zone))
+                .cacheManager(cacheManager)
+                .refreshExecutor(refreshExecutor)
+                .build();
+    }
+
+    private static TaskExecutor platformExecutor() {
+        return new SimpleAsyncTaskExecutor("neo-refresh-");
+    }
+
+    private static TaskExecutor virtualExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("neo-refresh-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private record LoadResult(String mode, double throughputPerSecond, long p50Millis, long p99Millis, long wallMillis) {
+
+        static final String HEADER = String.format("%-10s %12s %10s %10s %10s", "mode", "req/s", "p50 ms", "p99 ms", "wall ms");
+
+        static LoadResult of(String mode, int requests, long elapsedNanos, long[] latenciesNanos) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return new LoadResult(
+                    mode,
+                    requests / (elapsedNanos / 1_000_000_000.0),
+                    Duration.ofNanos(sorted[sorted.length / 2]).toMillis(),
+                    Duration.ofNanos(sorted[(int) (sorted.length * 0.99)]).toMillis(),
+                    Duration.ofNanos(elapsedNanos).toMillis());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12.0f %10d %10d %10d", mode, throughputPerSecond, p50Millis, p99Millis, wallMillis);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.asteroidhunter.neo.backfill;
+
+import static com.asteroidhunter.nasa.SyntheticNeoWsFeed.feedJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.NeoWsKeyPool;
+import com.asteroidhunter.nasa.NeoWsPriority;
+import com.asteroidhunter.nasa.NeoWsRateScheduler;
+import com.asteroidhunter.nasa.NeoWsResilience;
+import com.asteroidhunter.nasa.NeoWsUnavailableException;
+import com.asteroidhunter.neo.backfill.BackfillProgress.State;
+import com.asteroidhunter.neo.service.NeoDayArchive;
+import com.asteroidhunter.neo.service.NeoFeedNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+class NeoBackfillServiceTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private static final LocalDate START = LocalDate.parse("2026-01-01");
+    private static final LocalDate END = LocalDate.parse("2026-01-20");
+
+    private final AtomicInteger concurrentFetches = new AtomicInteger();
+    private final AtomicInteger maxConcurrentFetches = new AtomicInteger();
+    private final List<NeoDayArchive> archives = new ArrayList<>();
+    private NeoWsClient neoWsClient;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        given(neoWsClient.fetchFeedJson(any(), any(), any())).willAnswer(invocation -> feed(
+                invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (NeoDayArchive archive : archives) {
+            archive.close();
+        }
+    }
+
+    @Test
+    void rangeIsArchivedInSevenDayWindowsWithBoundedConcurrency() throws Exception {
+        NeoDayArchive archive = archive();
+        NeoBackfillService backfill = backfill(archive, 2);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.COMPLETED, progress.state());
+        assertEquals(END, progress.completedThrough());
+        assertEquals(20, progress.daysTotal());
+        assertEquals(20, progress.daysArchived());
+        assertEquals(3, progress.upstreamCalls());
+        verify(neoWsClient).fetchFeedJson(LocalDate.parse("2026-01-15"), END, NeoWsPriority.BACKGROUND);
+        assertTrue(maxConcurrentFetches.get() <= 2);
+        for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+            assertEquals(2, archive.find(date, TORONTO).neos().size());
+            assertTrue(archive.isFinal(date, TORONTO));
+        }
+    }
+
+    @Test
+    void exhaustedQuotaPausesAndResumesFromCheckpoint() throws Exception {
+        LocalDate secondWindow = LocalDate.parse("2026-01-08");
+        willReturn(Mono.error(new NeoWsException(429, "OVER_RATE_LIMIT")))
+                .given(neoWsClient).fetchFeedJson(eq(secondWindow), any(), any());
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        BackfillProgress paused = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.PAUSED, paused.state());
+        assertEquals(LocalDate.parse("2026-01-07"), paused.completedThrough());
+
+        willAnswer(invocation -> feed(invocation.getArgument(0), invocation.getArgument(1)))
+                .given(neoWsClient).fetchFeedJson(eq(secondWindow), any(), any());
+        NeoBackfillService restarted = backfill(archive(), 1);
+        assertEquals(LocalDate.parse("2026-01-07"), restarted.progress().completedThrough());
+
+        BackfillProgress resumed = run(restarted, restarted::resume);
+
+        assertEquals(State.COMPLETED, resumed.state());
+        assertEquals(7, resumed.daysSkipped());
+        assertEquals(13, resumed.daysArchived());
+        verify(neoWsClient, times(1)).fetchFeedJson(START, LocalDate.parse("2026-01-07"), NeoWsPriority.BACKGROUND);
+    }
+
+    @Test
+    void refusedBackgroundCallsPauseWithoutRetrying() throws Exception {
+        willReturn(Mono.error(new NeoWsUnavailableException("NeoWs quota is reserved for interactive requests")))
+                .given(neoWsClient).fetchFeedJson(any(), any(), any());
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.PAUSED, progress.state());
+        assertEquals(0, progress.retries());
+        assertEquals(null, progress.completedThrough());
+    }
+
+    @Test
+    void clientRetriesAreReportedAndNotRepeated() throws Exception {
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://api.nasa.gov")
+                .exchangeFunction(request -> {
+                    if (exchanges.incrementAndGet() == 1) {
+                        return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+                    }
+                    MultiValueMap<String, String> query =
+                            UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+                    LocalDate start = LocalDate.parse(query.getFirst("start_date"));
+                    int days = (int) ChronoUnit.DAYS.between(start, LocalDate.parse(query.getFirst("end_date"))) + 1;
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(new String(feedJson(start, days, 2, 1), StandardCharsets.UTF_8))
+                            .build());
+                })
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NeoWsResilience resilience = new NeoWsResilience(CLOCK, meterRegistry, Duration.ofSeconds(5),
+                Duration.ofSeconds(10), 2, Duration.ofMillis(1), Duration.ofMillis(5), 5, Duration.ofSeconds(30), 4,
+                Duration.ofSeconds(1));
+        neoWsClient = new NeoWsClient(
+                webClient, NeoWsKeyPool.of("demo-key"), meterRegistry, resilience, NeoWsRateScheduler.unlimited());
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.COMPLETED, progress.state());
+        assertEquals(1, progress.retries());
+        assertEquals(4, progress.upstreamCalls());
+        assertEquals(4, exchanges.get());
+    }
+
+    @Test
+    void failuresThatOutlastTheClientRetriesFailTheRun() throws Exception {
+        willReturn(Mono.error(new NeoWsException(503, "unavailable")))
+                .given(neoWsClient).fetchFeedJson(eq(START), any(), any());
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.FAILED, progress.state());
+        assertEquals(0, progress.retries());
+        verify(neoWsClient, times(1)).fetchFeedJson(START, LocalDate.parse("2026-01-07"), NeoWsPriority.BACKGROUND);
+    }
+
+    @Test
+    void clientErrorsFailWithoutRetrying() throws Exception {
+        willReturn(Mono.error(new NeoWsException(403, "bad api key")))
+                .given(neoWsClient).fetchFeedJson(any(), any(), any());
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.FAILED, progress.state());
+        assertEquals(0, progress.retries());
+        assertEquals(null, progress.completedThrough());
+    }
+
+    @Test
+    void daysTheArchiveCannotStoreFailTheRunWithoutAdvancing() throws Exception {
+        NeoDayArchive archive = new NeoDayArchive(true, dir.resolve("neo-days.bin"), 200);
+        archives.add(archive);
+        NeoBackfillService backfill = backfill(archive, 1);
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.FAILED, progress.state());
+        assertEquals(0, progress.daysArchived());
+        assertEquals(null, progress.completedThrough());
+        assertEquals(null, backfill(archive, 1).progress().completedThrough());
+    }
+
+    @Test
+    void archivedDaysAreNotFetchedAgain() throws Exception {
+        NeoDayArchive archive = archive();
+        NeoBackfillService backfill = backfill(archive, 2);
+        run(backfill, () -> backfill.start(START, LocalDate.parse("2026-01-14")));
+
+        BackfillProgress progress = run(backfill, () -> backfill.start(START, END));
+
+        assertEquals(State.COMPLETED, progress.state());
+        assertEquals(14, progress.daysSkipped());
+        assertEquals(6, progress.daysArchived());
+        verify(neoWsClient, times(3)).fetchFeedJson(any(), any(), any());
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        NeoBackfillService backfill = backfill(archive(), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> backfill.start(END, START));
+        assertThrows(IllegalArgumentException.class, () -> backfill.start(START, LocalDate.parse("2026-03-01")));
+        assertThrows(IllegalStateException.class, backfill::resume);
+        assertThrows(IllegalStateException.class,
+                () -> backfill(NeoDayArchive.disabled(), 1).start(START, END));
+        verify(neoWsClient, never()).fetchFeedJson(any(), any(), any());
+    }
+
+    @Test
+    void windowsCoverRangeInFeedSizedChunks() {
+        assertEquals(List.of(
+                new NeoBackfillService.Window(START, LocalDate.parse("2026-01-07")),
+                new NeoBackfillService.Window(LocalDate.parse("2026-01-08"), LocalDate.parse("2026-01-14")),
+                new NeoBackfillService.Window(LocalDate.parse("2026-01-15"), END)),
+                NeoBackfillService.windows(START, END));
+    }
+
+    private BackfillProgress run(NeoBackfillService backfill, Runnable start) throws Exception {
+        start.run();
+        return backfill.completion().get(10, TimeUnit.SECONDS);
+    }
+
+    private Mono<byte[]> feed(LocalDate start, LocalDate end) {
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        return Mono.delay(Duration.ofMillis(20))
+                .map(tick -> feedJson(start, days, 2, 1))
+                .doOnSubscribe(subscription -> maxConcurrentFetches.accumulateAndGet(
+                        concurrentFetches.incrementAndGet(), Math::max))
+                .doFinally(signal -> concurrentFetches.decrementAndGet());
+    }
+
+    private NeoDayArchive archive() {
+        NeoDayArchive archive = new NeoDayArchive(true, dir.resolve("neo-days.bin"));
+        archives.add(archive);
+        return archive;
+    }
+
+    private NeoBackfillService backfill(NeoDayArchive archive, int maxConcurrentFetches) {
+        return new NeoBackfillService(
+                neoWsClient,
+                new NeoFeedNormalizer(),
+                archive,
+                TORONTO,
+                CLOCK,
+                dir.resolve("backfill-checkpoint.properties"),
+                maxConcurrentFetches,
+                1000);
+    }
+}
@@ -0,0 +1,58 @@
+package com.asteroidhunter.neo.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoColumnarEncoderTest {
+
+    private final List<List<NeoSummary>> days = SyntheticNeoSummaries.days(14, 60);
+
+    @Test
+    void concatenatedDayFramesDecodeToTheRowsInDayOrder() {
+        List<byte[]> frames = days.stream().map(NeoColumnarEncoder::encode).toList();
+
+        List<NeoSummary> decoded = NeoColumnarEncoder.decode(NeoColumnarEncoder.concat(frames));
+
+        assertEquals(days.stream().flatMap(List::stream).toList(), decoded);
+    }
+
+    @Test
+    void framesAreAlignedForTypedArrayViews() {
+        for (List<NeoSummary> day : days) {
+            byte[] frame = NeoColumnarEncoder.encode(day);
+            ByteBuffer header = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+
+            assertEquals(0, frame.length % 8);
+            assertEquals(NeoColumnarEncoder.MAGIC, header.getInt(0));
+            assertEquals(day.size(), header.getInt(8));
+            assertEquals(frame.length, header.getInt(16));
+        }
+        assertEquals("NEOC", new String(NeoColumnarEncoder.encode(List.of()), 0, 4));
+    }
+
+    @Test
+    void nullStringsAndUnknownTimesSurvive() {
+        NeoSummary neo = new NeoSummary("1", null, true, Double.NaN, 2.0, null, null, 3.0, 4.0, 5.0);
+
+        assertEquals(List.of(neo), NeoColumnarEncoder.decode(NeoColumnarEncoder.encode(List.of(neo))));
+    }
+
+    @Test
+    void columnarBodyIsMuchSmallerThanTheJson() throws Exception {
+        List<NeoSummary> rows = new ArrayList<>();
+        days.forEach(rows::addAll);
+
+        int json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(rows).length;
+        int columns = NeoColumnarEncoder.encode(rows).length;
+
+        assertTrue(columns * 2 < json, columns + " bytes vs " + json + " bytes of JSON");
+    }
+}
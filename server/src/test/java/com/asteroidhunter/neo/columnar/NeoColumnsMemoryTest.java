@@ -0,0 +1,47 @@
+package com.asteroidhunter.neo.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Run with: ./mvnw test -Pperf -Dtest=NeoColumnsMemoryTest
+@Tag("perf")
+class NeoColumnsMemoryTest {
+
+    private static final int DAYS = 3 * 365;
+    private static final int ROWS_PER_DAY = 200;
+
+    @Test
+    void columnsRetainAFractionOfTheRowList() throws InterruptedException {
+        long baseline = usedHeapAfterGc();
+        List<List<NeoSummary>> days = SyntheticNeoSummaries.days(DAYS, ROWS_PER_DAY);
+        long listBytes = usedHeapAfterGc() - baseline;
+
+        NeoColumns columns = NeoColumns.fromDays(days);
+        long columnsBytes = usedHeapAfterGc() - baseline - listBytes;
+
+        int rows = columns.size();
+        System.out.printf(
+                "%d rows: List<NeoSummary> %d B/row, NeoColumns %d B/row measured (%d B/row estimated), %.1fx less%n",
+                rows, listBytes / rows, columnsBytes / rows, columns.estimatedBytes() / rows,
+                (double) listBytes / columnsBytes);
+        assertTrue(columnsBytes * 2 < listBytes, "columns should retain far less heap than the row list");
+        Reference.reachabilityFence(days);
+        Reference.reachabilityFence(columns);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,84 @@
+package com.asteroidhunter.neo.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.columnar.NeoColumns.Column;
+import com.asteroidhunter.neo.columnar.NeoColumns.ColumnStats;
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class NeoColumnsTest {
+
+    private final List<List<NeoSummary>> days = SyntheticNeoSummaries.days(30, 50);
+    private final List<NeoSummary> rows = days.stream().flatMap(List::stream).toList();
+    private final NeoColumns columns = NeoColumns.fromDays(days);
+
+    @Test
+    void rowsRoundTripInDayOrder() {
+        assertEquals(rows.size(), columns.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i), columns.row(i));
+        }
+    }
+
+    @Test
+    void filtersMatchTheRowPredicate() {
+        List<NeoFilter> filters = List.of(
+                NeoFilter.all(),
+                NeoFilter.all().withHazardousOnly(true),
+                NeoFilter.all().withMissDistanceKm(null, 5_000_000.0),
+                NeoFilter.all().withVelocityKmPerSec(10.0, 20.0).withDiameterMeters(100.0, null),
+                NeoFilter.all().withHazardousOnly(true).withCloseApproach(
+                        Instant.parse("2020-01-10T00:00:00Z"), Instant.parse("2020-01-20T00:00:00Z")));
+
+        for (NeoFilter filter : filters) {
+            int[] expected = IntStream.range(0, rows.size()).filter(i -> filter.matches(rows.get(i))).toArray();
+
+            assertArrayEquals(expected, columns.select(filter), filter.toString());
+            assertEquals(expected.length, columns.count(filter));
+            assertEquals(IntStream.of(expected).mapToObj(rows::get).toList(), columns.rows(expected));
+        }
+    }
+
+    @Test
+    void unknownDiametersOnlyMatchUnboundedFilters() {
+        long unknown = rows.stream().filter(neo -> Double.isNaN(neo.diameterMaxMeters())).count();
+
+        assertTrue(unknown > 0);
+        assertEquals(rows.size(), columns.count(NeoFilter.all().withDiameterMeters(null, null)));
+        assertEquals(rows.size() - unknown, columns.count(NeoFilter.all().withDiameterMeters(0.0, null)));
+    }
+
+    @Test
+    void statsSkipUnknownValues() {
+        NeoFilter hazardous = NeoFilter.all().withHazardousOnly(true);
+        double[] expected = rows.stream()
+                .filter(hazardous::matches)
+                .mapToDouble(NeoSummary::diameterMinMeters)
+                .filter(value -> !Double.isNaN(value))
+                .toArray();
+
+        ColumnStats stats = columns.stats(Column.DIAMETER_MIN_METERS, hazardous);
+
+        assertEquals(expected.length, stats.count());
+        assertEquals(DoubleStream.of(expected).min().orElseThrow(), stats.min());
+        assertEquals(DoubleStream.of(expected).max().orElseThrow(), stats.max());
+        assertEquals(DoubleStream.of(expected).average().orElseThrow(), stats.mean(), 1e-6);
+        assertEquals(0, columns.stats(Column.MISS_DISTANCE_KM, NeoFilter.all().withMissDistanceKm(-2.0, -1.0)).count());
+    }
+
+    @Test
+    void repeatedStringsAreStoredOnce() {
+        NeoColumns twice = NeoColumns.fromDays(List.of(rows, rows));
+
+        assertEquals(2 * rows.size(), twice.size());
+        assertTrue(twice.estimatedBytes() - columns.estimatedBytes() < (long) rows.size() * 64);
+    }
+}
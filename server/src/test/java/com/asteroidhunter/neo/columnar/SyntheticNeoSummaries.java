@@ -0,0 +1,45 @@
+package com.asteroidhunter.neo.columnar;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic multi-year approach history: the same objects recur, as they do in real NeoWs data.
+public final class SyntheticNeoSummaries {
+
+    private static final long START_EPOCH_MILLIS = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private SyntheticNeoSummaries() {
+    }
+
+    public static List<List<NeoSummary>> days(int days, int rowsPerDay) {
+        SplittableRandom random = new SplittableRandom(42);
+        int distinctObjects = Math.max(1, days * rowsPerDay / 8);
+        List<List<NeoSummary>> result = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            List<NeoSummary> rows = new ArrayList<>(rowsPerDay);
+            for (int i = 0; i < rowsPerDay; i++) {
+                int object = random.nextInt(distinctObjects);
+                String id = Integer.toString(2_000_000 + object);
+                double diameterMin = random.nextInt(20) == 0 ? Double.NaN : 5 + random.nextDouble() * 2000;
+                double missKm = 20_000 + random.nextDouble() * 75_000_000;
+                rows.add(new NeoSummary(
+                        id,
+                        "(" + (1990 + object % 36) + " " + id + ")",
+                        object % 10 == 0,
+                        diameterMin,
+                        diameterMin * 2.2,
+                        Instant.ofEpochMilli(START_EPOCH_MILLIS + day * DAY_MILLIS + random.nextLong(DAY_MILLIS)),
+                        random.nextInt(50) == 0 ? "Mars" : "Earth",
+                        missKm,
+                        missKm / 384_400.0,
+                        1 + random.nextDouble() * 40));
+            }
+            result.add(rows);
+        }
+        return result;
+    }
+}
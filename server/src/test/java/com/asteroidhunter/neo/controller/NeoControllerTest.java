@@ -1,63 +1,250 @@
 package com.asteroidhunter.neo.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.asteroidhunter.common.ApiExceptionHandler;
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.common.ServerTiming;
+import com.asteroidhunter.common.SlowRequestLog;
+import com.asteroidhunter.config.ServerTimingConfig;
 import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.neo.columnar.NeoColumnarEncoder;
+import com.asteroidhunter.neo.model.NeoDayChanges;
 import com.asteroidhunter.neo.model.NeoSummary;
+import com.asteroidhunter.neo.service.NeoDayIndex;
+import com.asteroidhunter.neo.service.NeoDayResult;
+import com.asteroidhunter.neo.service.NeoDaySnapshot;
+import com.asteroidhunter.neo.service.NeoLookupService;
+import com.asteroidhunter.neo.service.NeoNotFoundException;
+import com.asteroidhunter.neo.service.NeoPayloadEncoder;
+import com.asteroidhunter.neo.service.NeoRangeService;
 import com.asteroidhunter.neo.service.NeoTodayService;
+import com.asteroidhunter.neo.service.NeoTodayStream;
+import com.asteroidhunter.neo.service.NeoUpcomingService;
+import com.asteroidhunter.neo.service.NeoZoneViewService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @WebMvcTest(NeoController.class)
-@Import(ApiExceptionHandler.class)
+@Import({ApiExceptionHandler.class, ServerTimingConfig.class})
 class NeoControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private NeoTodayService neoTodayService;
 
+    @MockBean
+    private NeoRangeService neoRangeService;
+
+    @MockBean
+    private NeoLookupService neoLookupService;
+
+    @MockBean
+    private NeoUpcomingService neoUpcomingService;
+
+    @MockBean
+    private NeoZoneViewService neoZoneViewService;
+
+    @MockBean
+    private NeoTodayStream neoTodayStream;
+
+    @MockBean
+    private SlowRequestLog slowRequestLog;
+
     @Test
     void getTodayNeosReturnsJsonArray() throws Exception {
-        given(neoTodayService.getTodayNeos()).willReturn(List.of(
-                new NeoSummary(
-                        "123",
-                        "Test Asteroid",
-                        true,
-                        1.2,
-                        3.4,
-                        Instant.parse("2026-02-26T12:00:00Z"),
-                        "Earth",
-                        45678.9,
-                        0.12,
-                        17.5)));
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.just(NeoDayResult.fresh(snapshot())));
 
-        mockMvc.perform(get("/api/neos/today"))
+        performAsync(get("/api/neos/today"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Warning"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value("123"))
                 .andExpect(jsonPath("$[0].name").value("Test Asteroid"))
                 .andExpect(jsonPath("$[0].isHazardous").value(true))
                 .andExpect(jsonPath("$[0].orbitingBody").value("Earth"))
-                .andExpect(jsonPath("$[0].relativeVelocityKmPerSec").value(17.5));
+                .andExpect(jsonPath("$[0].relativeVelocityKmPerSec").value(17.5))
+                .andExpect(jsonPath("$[0].closeApproachTime").value("2026-02-26T12:00:00Z"));
+    }
+
+    @Test
+    void getTodayNeosReturnsStrongEtagAndNotModifiedOnMatch() throws Exception {
+        NeoDaySnapshot snapshot = snapshot();
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.just(NeoDayResult.fresh(snapshot)));
+        String etag = snapshot.payload().etag();
+
+        performAsync(get("/api/neos/today"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        MvcResult notModified = performAsync(get("/api/neos/today").header("If-None-Match", "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andReturn();
+        assertEquals(0, notModified.getResponse().getContentAsByteArray().length);
+
+        performAsync(get("/api/neos/today").header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTodayNeosReportsStageTimingsAndOffersTheRequestToTheSlowLog() throws Exception {
+        given(neoTodayService.getTodayReactive()).willAnswer(invocation -> {
+            ServerTiming.current().record(ServerTiming.Stage.CACHE, 1_500_000);
+            return Mono.just(NeoDayResult.fresh(snapshot()));
+        });
+
+        performAsync(get("/api/neos/today"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern("cache;dur=1\\.500, total;dur=[0-9.]+")))
+                .andExpect(header().string("ETag", snapshot().payload().etag()));
+
+        verify(slowRequestLog).record(eq("GET"), eq("/api/neos/today"), eq(200), any());
+    }
+
+    @Test
+    void getTodayNeosServesPrecompressedBodyWhenGzipIsAccepted() throws Exception {
+        NeoDaySnapshot snapshot = snapshot();
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.just(NeoDayResult.fresh(snapshot)));
+
+        MvcResult result = performAsync(get("/api/neos/today").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"id\":\"123\""));
+        }
+
+        performAsync(get("/api/neos/today").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(snapshot.payload().json()));
+    }
+
+    @Test
+    void getTodayNeosServesTheCachedColumnarBodyWhenAsked() throws Exception {
+        NeoDaySnapshot snapshot = snapshot();
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.just(NeoDayResult.fresh(snapshot)));
+        String accept = NeoColumnarEncoder.MEDIA_TYPE + ", application/json;q=0.5";
+
+        MvcResult result = performAsync(get("/api/neos/today").header("Accept", accept).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", NeoColumnarEncoder.MEDIA_TYPE))
+                .andExpect(header().string("ETag", snapshot.payload().columnsEtag()))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        assertEquals(snapshot.neos(), NeoColumnarEncoder.decode(result.getResponse().getContentAsByteArray()));
+        performAsync(get("/api/neos/today").header("Accept", "*/*"))
+                .andExpect(header().string("ETag", snapshot.payload().etag()))
+                .andExpect(content().bytes(snapshot.payload().json()));
+    }
+
+    @Test
+    void getTodayNeosMarksLastKnownGoodResponseAsStale() throws Exception {
+        given(neoTodayService.getTodayReactive()).willReturn(
+                Mono.just(NeoDayResult.stale(snapshot(), Duration.ofMinutes(90), 503)));
+
+        performAsync(get("/api/neos/today"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Age", "5400"))
+                .andExpect(header().string("Warning", "110 - \"Response is Stale\""))
+                .andExpect(header().string("X-Upstream-Status", "503"))
+                .andExpect(jsonPath("$[0].id").value("123"));
+    }
+
+    @Test
+    void getTodayNeosWithQueryParametersReturnsAPage() throws Exception {
+        given(neoTodayService.getTodayReactive()).willReturn(
+                Mono.just(NeoDayResult.stale(snapshot(), Duration.ofMinutes(90), 503)));
+
+        performAsync(get("/api/neos/today").param("sort", "velocity").param("order", "desc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Warning", "110 - \"Response is Stale\""))
+                .andExpect(jsonPath("$.items[0].id").value("456"))
+                .andExpect(jsonPath("$.nextCursor").isString());
+
+        performAsync(get("/api/neos/today").param("hazardous", "true").param("maxMissKm", "50000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("123"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTodayNeosRejectsInvalidQueryParameters() throws Exception {
+        mockMvc.perform(get("/api/neos/today").param("limit", "many"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_REQUEST"));
+
+        mockMvc.perform(get("/api/neos/today").param("sort", "name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("sort must be one of missDistance, velocity, size, time"));
+    }
+
+    @Test
+    void getTodayNeosServesTheRequestedTimeZoneView() throws Exception {
+        NeoDaySnapshot snapshot = snapshot();
+        given(neoZoneViewService.getTodayReactive(ZoneId.of("Asia/Tokyo")))
+                .willReturn(Mono.just(NeoDayResult.fresh(snapshot)));
+
+        performAsync(get("/api/neos/today").param("tz", "Asia/Tokyo"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", snapshot.payload().etag()))
+                .andExpect(jsonPath("$[0].id").value("123"));
+
+        mockMvc.perform(get("/api/neos/today").param("tz", "Mars/Olympus_Mons"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_REQUEST"));
     }
 
     @Test
     void getTodayNeosMapsNeoWsExceptionTo502() throws Exception {
-        given(neoTodayService.getTodayNeos()).willThrow(new NeoWsException(429, "rate limited"));
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.error(new NeoWsException(429, "rate limited")));
 
-        mockMvc.perform(get("/api/neos/today"))
+        performAsync(get("/api/neos/today"))
                 .andExpect(status().isBadGateway())
                 .andExpect(jsonPath("$.error").value("NASA_NEO_WS_ERROR"))
                 .andExpect(jsonPath("$.message").value("NASA NeoWs request failed"))
@@ -66,12 +253,205 @@ class NeoControllerTest {
 
     @Test
     void getTodayNeosMapsMissingApiKeyTo500() throws Exception {
-        given(neoTodayService.getTodayNeos()).willThrow(
-                new IllegalStateException("NASA_API_KEY is not configured"));
+        given(neoTodayService.getTodayReactive()).willReturn(
+                Mono.error(new IllegalStateException("NASA_API_KEY is not configured")));
 
-        mockMvc.perform(get("/api/neos/today"))
+        performAsync(get("/api/neos/today"))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.error").value("CONFIG_ERROR"))
                 .andExpect(jsonPath("$.message").value("NASA_API_KEY is not configured"));
     }
+
+    @Test
+    void getRangeNeosReturnsMergedDays() throws Exception {
+        given(neoRangeService.getRangeReactive(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-20")))
+                .willReturn(Mono.just(snapshot().neos()));
+
+        performAsync(get("/api/neos").param("start", "2026-02-01").param("end", "2026-02-20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("123"));
+    }
+
+    @Test
+    void getRangeNeosWithQueryParametersPagesAcrossDays() throws Exception {
+        given(neoRangeService.getRangeDaysReactive(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-20")))
+                .willReturn(Mono.just(List.of(snapshot(), snapshot())));
+
+        performAsync(get("/api/neos")
+                .param("start", "2026-02-01")
+                .param("end", "2026-02-20")
+                .param("sort", "missDistance")
+                .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").value("123"))
+                .andExpect(jsonPath("$.items[2].id").value("456"));
+    }
+
+    @Test
+    void getRangeNeosConcatenatesTheDaysColumnarFrames() throws Exception {
+        given(neoRangeService.getRangeDaysReactive(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-02")))
+                .willReturn(Mono.just(List.of(snapshot(), snapshot())));
+
+        MvcResult result = performAsync(get("/api/neos")
+                .header("Accept", NeoColumnarEncoder.MEDIA_TYPE)
+                .param("start", "2026-02-01")
+                .param("end", "2026-02-02"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", NeoColumnarEncoder.MEDIA_TYPE))
+                .andReturn();
+
+        List<NeoSummary> decoded = NeoColumnarEncoder.decode(result.getResponse().getContentAsByteArray());
+        assertEquals(4, decoded.size());
+        assertEquals(snapshot().neos(), decoded.subList(2, 4));
+    }
+
+    @Test
+    void getRangeNeosStreamsNdjsonWhenAsked() throws Exception {
+        given(neoRangeService.streamRange(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31")))
+                .willReturn(Flux.fromIterable(snapshot().neos()));
+
+        MvcResult started = mockMvc.perform(get("/api/neos")
+                        .header("Accept", "application/x-ndjson")
+                        .param("start", "2026-02-01")
+                        .param("end", "2026-03-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5000);
+
+        assertTrue(started.getResponse().getContentType().startsWith("application/x-ndjson"));
+        String[] lines = started.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("123", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("456", objectMapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    void getRangeNeosMapsInvalidRangeTo400() throws Exception {
+        given(neoRangeService.getRangeReactive(LocalDate.parse("2026-02-20"), LocalDate.parse("2026-02-01")))
+                .willReturn(Mono.error(new InvalidRequestException("end must not be before start")));
+
+        performAsync(get("/api/neos").param("start", "2026-02-20").param("end", "2026-02-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_REQUEST"))
+                .andExpect(jsonPath("$.message").value("end must not be before start"));
+    }
+
+    @Test
+    void internalIllegalArgumentsAreNotEchoedAsBadRequests() throws Exception {
+        given(neoRangeService.getRangeReactive(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-02")))
+                .willReturn(Mono.error(new IllegalArgumentException("Not a version 1 NEO columns frame at 0")));
+
+        performAsync(get("/api/neos").param("start", "2026-02-01").param("end", "2026-02-02"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("INTERNAL_ERROR"))
+                .andExpect(jsonPath("$.message").value("Unexpected error"));
+    }
+
+    @Test
+    void getRangeNeosRejectsMalformedDates() throws Exception {
+        mockMvc.perform(get("/api/neos").param("start", "yesterday").param("end", "2026-02-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_REQUEST"));
+    }
+
+    @Test
+    void streamTodayNeosWritesServerSentEvents() throws Exception {
+        NeoDaySnapshot snapshot = snapshot();
+        given(neoTodayService.getTodayReactive()).willReturn(Mono.just(NeoDayResult.fresh(snapshot)));
+        given(neoTodayStream.subscribe(any(), eq("2026-02-26:previous"))).willReturn(Flux.just(
+                ServerSentEvent.<String>builder().comment("heartbeat").build(),
+                ServerSentEvent.<String>builder().id("2026-02-26:abc").event("neos").data("[]").build()));
+
+        MvcResult started = mockMvc.perform(get("/api/neos/stream").header("Last-Event-ID", "2026-02-26:previous"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5000);
+
+        assertTrue(started.getResponse().getContentType().startsWith("text/event-stream"));
+        assertEquals(":heartbeat\n\nid:2026-02-26:abc\nevent:neos\ndata:[]\n\n",
+                started.getResponse().getContentAsString());
+    }
+
+    @Test
+    void getChangesReturnsTheDeltaSinceAVersion() throws Exception {
+        LocalDate date = LocalDate.parse("2026-02-26");
+        NeoDayChanges changes = new NeoDayChanges(
+                date, 42L, false, List.of(), List.of(snapshot().neos().getFirst()), List.of("789"));
+        given(neoTodayService.getChangesReactive(date, 41L)).willReturn(Mono.just(changes));
+
+        performAsync(get("/api/neos/changes").param("date", "2026-02-26").param("sinceVersion", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(42))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.changed[0].id").value("123"))
+                .andExpect(jsonPath("$.removed[0]").value("789"));
+    }
+
+    @Test
+    void getUpcomingNeosDefaultsToTheNext24Hours() throws Exception {
+        given(neoUpcomingService.getUpcomingReactive(24)).willReturn(Mono.just(snapshot().neos()));
+
+        performAsync(get("/api/neos/upcoming"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].id").value("456"));
+    }
+
+    @Test
+    void getNeoReturnsTheLookedUpObject() throws Exception {
+        given(neoLookupService.lookupReactive("123")).willReturn(Mono.just(snapshot().neos().getFirst()));
+
+        performAsync(get("/api/neos/123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("123"))
+                .andExpect(jsonPath("$.name").value("Test Asteroid"));
+    }
+
+    @Test
+    void getNeoMapsUnknownIdTo404() throws Exception {
+        given(neoLookupService.lookupReactive("999")).willReturn(Mono.error(new NeoNotFoundException("999")));
+
+        performAsync(get("/api/neos/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("NEO_NOT_FOUND"));
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private NeoDaySnapshot snapshot() {
+        List<NeoSummary> neos = List.of(
+                new NeoSummary(
+                        "123",
+                        "Test Asteroid",
+                        true,
+                        1.2,
+                        3.4,
+                        Instant.parse("2026-02-26T12:00:00Z"),
+                        "Earth",
+                        45678.9,
+                        0.12,
+                        17.5),
+                new NeoSummary(
+                        "456",
+                        "Second Asteroid",
+                        false,
+                        10.0,
+                        22.0,
+                        Instant.parse("2026-02-26T18:00:00Z"),
+                        "Earth",
+                        987654.3,
+                        2.57,
+                        21.0));
+        return new NeoDaySnapshot(
+                LocalDate.parse("2026-02-26"),
+                neos,
+                Instant.parse("2026-02-26T12:00:00Z"),
+                new NeoPayloadEncoder(objectMapper).encode(neos),
+                NeoDayIndex.build(neos));
+    }
 }
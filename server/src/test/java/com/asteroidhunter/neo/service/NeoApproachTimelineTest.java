@@ -0,0 +1,63 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoApproachTimelineTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Instant NOW = Instant.parse("2026-02-27T03:00:00Z");
+    private static final LocalDate TODAY = LocalDate.parse("2026-02-26");
+
+    private final MutableClock clock = new MutableClock(NOW, TORONTO);
+    private final NeoApproachTimeline timeline = new NeoApproachTimeline(TORONTO, clock);
+
+    @Test
+    void windowSpansTheDayBoundary() {
+        timeline.update(TODAY, List.of(summary("a", "2026-02-26T20:00:00Z"), summary("b", "2026-02-27T04:00:00Z")));
+        timeline.update(TODAY.plusDays(1),
+                List.of(summary("c", "2026-02-27T06:00:00Z"), summary("d", "2026-02-28T01:00:00Z")));
+
+        List<NeoSummary> upcoming = timeline.between(NOW, NOW.plus(Duration.ofHours(6)));
+
+        assertEquals(List.of("b", "c"), ids(upcoming));
+    }
+
+    @Test
+    void refreshedDayReplacesItsPreviousRowsInTimeOrder() {
+        timeline.update(TODAY, List.of(summary("a", "2026-02-26T10:00:00Z"), summary("b", "2026-02-26T14:00:00Z")));
+        timeline.update(TODAY.plusDays(1), List.of(summary("c", "2026-02-27T12:00:00Z")));
+        timeline.update(TODAY, List.of(summary("b", "2026-02-26T14:00:00Z"), summary("e", "2026-02-27T13:00:00Z"),
+                summary("d", "2026-02-26T09:00:00Z")));
+
+        assertEquals(List.of("d", "b", "c", "e"), ids(timeline.between(Instant.EPOCH, NOW.plus(Duration.ofDays(30)))));
+    }
+
+    @Test
+    void daysBeforeYesterdayAreDropped() {
+        timeline.update(TODAY.minusDays(1), List.of(summary("a", "2026-02-25T10:00:00Z")));
+        timeline.update(TODAY.minusDays(5), List.of(summary("old", "2026-02-21T10:00:00Z")));
+        assertEquals(1, timeline.size());
+
+        clock.advance(Duration.ofDays(1));
+        timeline.update(TODAY.plusDays(1), List.of(summary("b", "2026-02-27T10:00:00Z")));
+
+        assertEquals(List.of("b"), ids(timeline.between(Instant.EPOCH, NOW.plus(Duration.ofDays(30)))));
+    }
+
+    private static List<String> ids(List<NeoSummary> neos) {
+        return neos.stream().map(NeoSummary::id).toList();
+    }
+
+    private static NeoSummary summary(String id, String closeApproachTime) {
+        return new NeoSummary(id, id, false, 10, 20, Instant.parse(closeApproachTime), "Earth", 1000, 0.01, 5);
+    }
+}
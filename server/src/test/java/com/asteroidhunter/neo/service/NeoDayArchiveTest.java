@@ -0,0 +1,167 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NeoDayArchiveTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final LocalDate DAY = LocalDate.parse("2026-02-20");
+    private static final Instant FETCHED_AT = Instant.parse("2026-02-20T15:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void archivedDaysSurviveReopen() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        List<NeoSummary> neos = List.of(summary("1", "(2026 AB) Ünïcode"), summary("2", "Second"));
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            archive.append(TORONTO, snapshot(DAY, neos, FETCHED_AT));
+            archive.append(TORONTO, snapshot(DAY.plusDays(1), List.of(), FETCHED_AT));
+        }
+
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            NeoDayArchive.ArchivedDay archived = archive.find(DAY, TORONTO);
+
+            assertEquals(neos, archived.neos());
+            assertEquals(FETCHED_AT, archived.fetchedAt());
+            assertEquals(List.of(), archive.find(DAY.plusDays(1), TORONTO).neos());
+            assertEquals(List.of(DAY.plusDays(1), DAY), archive.dates(TORONTO));
+            assertNull(archive.find(DAY, ZoneId.of("UTC")));
+        }
+    }
+
+    @Test
+    void newerFetchSupersedesOlderOne() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            archive.append(TORONTO, snapshot(DAY, List.of(summary("1", "First")), FETCHED_AT));
+            archive.append(TORONTO, snapshot(DAY, List.of(summary("2", "Second")), FETCHED_AT.plusSeconds(60)));
+            archive.append(TORONTO, snapshot(DAY, List.of(summary("3", "Older")), FETCHED_AT.minusSeconds(60)));
+
+            assertEquals("2", archive.find(DAY, TORONTO).neos().getFirst().id());
+        }
+
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            assertEquals("2", archive.find(DAY, TORONTO).neos().getFirst().id());
+        }
+    }
+
+    @Test
+    void unchangedRefetchIsOnlyWrittenWhenItMakesTheDayFinal() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        List<NeoSummary> neos = List.of(summary("1", "Same"));
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            archive.append(TORONTO, snapshot(DAY, neos, FETCHED_AT));
+            long size = Files.size(file);
+
+            archive.append(TORONTO, snapshot(DAY, neos, FETCHED_AT.plus(Duration.ofHours(1))));
+            assertEquals(size, Files.size(file));
+
+            archive.append(TORONTO, snapshot(DAY, neos, FETCHED_AT.plus(Duration.ofDays(1))));
+            assertEquals(FETCHED_AT.plus(Duration.ofDays(1)), archive.find(DAY, TORONTO).fetchedAt());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            archive.append(TORONTO, snapshot(DAY, List.of(summary("1", "Kept")), FETCHED_AT));
+        }
+        long intactSize = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 1, 0, 42, 42, 42}, StandardOpenOption.APPEND);
+
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            assertEquals("1", archive.find(DAY, TORONTO).neos().getFirst().id());
+            assertEquals(intactSize, Files.size(file));
+
+            archive.append(TORONTO, snapshot(DAY.plusDays(1), List.of(summary("2", "Appended")), FETCHED_AT));
+        }
+
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            assertEquals("2", archive.find(DAY.plusDays(1), TORONTO).neos().getFirst().id());
+        }
+    }
+
+    @Test
+    void supersededRecordsAreCompactedAwayOnOpen() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        long singleRecordSize;
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            archive.append(TORONTO, snapshot(DAY, List.of(summary("0", "Refresh 0")), FETCHED_AT));
+            singleRecordSize = Files.size(file);
+            for (int i = 1; i < 5; i++) {
+                archive.append(TORONTO, snapshot(
+                        DAY, List.of(summary(String.valueOf(i), "Refresh " + i)), FETCHED_AT.plusSeconds(i)));
+            }
+            assertTrue(Files.size(file) > 4 * singleRecordSize);
+        }
+
+        try (NeoDayArchive archive = new NeoDayArchive(true, file)) {
+            assertEquals(singleRecordSize, Files.size(file));
+            assertEquals("4", archive.find(DAY, TORONTO).neos().getFirst().id());
+            assertEquals(FETCHED_AT.plusSeconds(4), archive.find(DAY, TORONTO).fetchedAt());
+        }
+    }
+
+    @Test
+    void appendsPastTheSizeLimitAreSkipped() throws IOException {
+        Path file = dir.resolve("neo-days.bin");
+        try (NeoDayArchive archive = new NeoDayArchive(true, file, 200)) {
+            assertTrue(archive.append(TORONTO, snapshot(DAY, List.of(summary("1", "Fits")), FETCHED_AT)));
+            long size = Files.size(file);
+
+            assertFalse(archive.append(
+                    TORONTO, snapshot(DAY.plusDays(1), List.of(summary("2", "Too much")), FETCHED_AT)));
+
+            assertEquals(size, Files.size(file));
+            assertEquals("1", archive.find(DAY, TORONTO).neos().getFirst().id());
+            assertNull(archive.find(DAY.plusDays(1), TORONTO));
+        }
+    }
+
+    @Test
+    void disabledArchiveStoresNothing() {
+        NeoDayArchive archive = NeoDayArchive.disabled();
+
+        assertFalse(archive.append(TORONTO, snapshot(DAY, List.of(summary("1", "Dropped")), FETCHED_AT)));
+        assertFalse(archive.isEnabled());
+        assertNull(archive.find(DAY, TORONTO));
+        assertEquals(List.of(), archive.dates(TORONTO));
+    }
+
+    private static NeoDaySnapshot snapshot(LocalDate date, List<NeoSummary> neos, Instant fetchedAt) {
+        return new NeoDaySnapshot(date, neos, fetchedAt, null, null);
+    }
+
+    private static NeoSummary summary(String id, String name) {
+        return new NeoSummary(
+                id,
+                name,
+                id.hashCode() % 2 == 0,
+                12.5,
+                Double.NaN,
+                Instant.parse("2026-02-20T06:30:00.123Z"),
+                "Earth",
+                192200.0,
+                0.5,
+                12.5);
+    }
+}
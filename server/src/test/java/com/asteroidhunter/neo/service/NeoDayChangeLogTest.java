@@ -0,0 +1,126 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.neo.model.NeoDayChanges;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoDayChangeLogTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), ZoneId.of("America/Toronto"));
+    private static final LocalDate TODAY = LocalDate.parse("2026-02-26");
+
+    private final NeoDayChangeLog changeLog = new NeoDayChangeLog(CLOCK, 7);
+
+    @Test
+    void refreshIsDiffedIntoAddedChangedAndRemovedObjects() {
+        long first = changeLog.record(TODAY, List.of(summary("1", 100.0), summary("2", 200.0), summary("3", 300.0)));
+        long second = changeLog.record(TODAY, List.of(summary("1", 100.0), summary("2", 250.0), summary("4", 400.0)));
+
+        NeoDayChanges changes = changeLog.changesSince(TODAY, first);
+
+        assertTrue(second > first);
+        assertEquals(second, changes.version());
+        assertFalse(changes.full());
+        assertEquals(List.of("4"), ids(changes.added()));
+        assertEquals(List.of("2"), ids(changes.changed()));
+        assertEquals(List.of("3"), changes.removed());
+        assertTrue(changeLog.changesSince(TODAY, second).added().isEmpty());
+    }
+
+    @Test
+    void identicalListKeepsTheVersion() {
+        long first = changeLog.record(TODAY, List.of(summary("1", 100.0)));
+
+        assertEquals(first, changeLog.record(TODAY, List.of(summary("1", 100.0))));
+    }
+
+    @Test
+    void changesAcrossSeveralVersionsAreFolded() {
+        long first = changeLog.record(TODAY, List.of(summary("1", 100.0), summary("2", 200.0)));
+        changeLog.record(TODAY, List.of(summary("1", 100.0), summary("5", 500.0)));
+        long third = changeLog.record(TODAY, List.of(summary("1", 150.0), summary("5", 550.0)));
+
+        NeoDayChanges changes = changeLog.changesSince(TODAY, first);
+
+        assertEquals(third, changes.version());
+        assertEquals(List.of("5"), ids(changes.added()));
+        assertEquals(List.of("1"), ids(changes.changed()));
+        assertEquals(List.of("2"), changes.removed());
+    }
+
+    @Test
+    void unknownOrZeroVersionGetsTheFullList() {
+        changeLog.record(TODAY, List.of(summary("1", 100.0), summary("2", 200.0)));
+
+        NeoDayChanges changes = changeLog.changesSince(TODAY, 0);
+
+        assertTrue(changes.full());
+        assertEquals(List.of("1", "2"), ids(changes.added()));
+        assertTrue(changeLog.changesSince(TODAY, Long.MAX_VALUE).full());
+        assertNull(changeLog.changesSince(TODAY.plusDays(1), 0));
+    }
+
+    @Test
+    void rawFeedHashIsForgottenOnceTheDayIsRecordedAgain() {
+        byte[] body = "{\"near_earth_objects\": {}}".getBytes(StandardCharsets.UTF_8);
+        String feedKey = NeoDayChangeLog.feedKey(TODAY, TODAY, body);
+        changeLog.record(TODAY, List.of());
+        changeLog.recordFeed(TODAY, feedKey);
+
+        assertTrue(changeLog.isFeedUnchanged(TODAY, feedKey));
+        assertFalse(changeLog.isFeedUnchanged(TODAY, NeoDayChangeLog.feedKey(TODAY, TODAY.plusDays(1), body)));
+
+        changeLog.record(TODAY, List.of());
+        assertFalse(changeLog.isFeedUnchanged(TODAY, feedKey));
+    }
+
+    @Test
+    void feedHashIgnoresTheApiKeyEchoedIntoLinks() {
+        String body = """
+                {"links": {"self": "http://api.nasa.gov/neo/rest/v1/feed?start_date=2026-02-26&api_key=%s"},
+                 "element_count": 1,
+                 "near_earth_objects": {"2026-02-26": [{"id": "1",
+                   "links": {"self": "http://api.nasa.gov/neo/rest/v1/neo/1?api_key=%s"},
+                   "name": "Asteroid 1"}]}}
+                """;
+        String firstKey = NeoDayChangeLog.feedKey(TODAY, TODAY, bytes(body.formatted("key-one", "key-one")));
+
+        assertEquals(firstKey, NeoDayChangeLog.feedKey(TODAY, TODAY, bytes(body.formatted("key-two", "key-two"))));
+        assertNotEquals(firstKey, NeoDayChangeLog.feedKey(
+                TODAY, TODAY, bytes(body.formatted("key-one", "key-one").replace("Asteroid 1", "Asteroid 2"))));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> ids(List<NeoSummary> neos) {
+        return neos.stream().map(NeoSummary::id).toList();
+    }
+
+    private static NeoSummary summary(String id, double missDistanceKm) {
+        return new NeoSummary(
+                id,
+                "Asteroid " + id,
+                false,
+                12.5,
+                40.0,
+                Instant.parse("2026-02-26T06:30:00Z"),
+                "Earth",
+                missDistanceKm,
+                0.5,
+                12.5);
+    }
+}
@@ -0,0 +1,113 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.columnar.SyntheticNeoSummaries;
+import com.asteroidhunter.neo.model.NeoFilter;
+import com.asteroidhunter.neo.model.NeoPage;
+import com.asteroidhunter.neo.model.NeoQuery;
+import com.asteroidhunter.neo.model.NeoSortKey;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoDayIndexTest {
+
+    private static final List<List<NeoSummary>> DAYS = SyntheticNeoSummaries.days(7, 40);
+    private static final List<NeoDayIndex> INDEXES = DAYS.stream().map(NeoDayIndex::build).toList();
+
+    @Test
+    void pagesMatchAFullFilterAndSortForEveryKeyAndDirection() {
+        NeoFilter filter = NeoFilter.all()
+                .withMissDistanceKm(1_000_000.0, 60_000_000.0)
+                .withDiameterMeters(null, 3000.0)
+                .withVelocityKmPerSec(5.0, null);
+        for (NeoSortKey sort : NeoSortKey.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                List<NeoSummary> expected = DAYS.stream()
+                        .flatMap(List::stream)
+                        .filter(filter::matches)
+                        .sorted(reference(sort, descending))
+                        .toList();
+
+                assertEquals(expected, readAll(new NeoQuery(filter, sort, descending, 17, null)), sort + " " + descending);
+            }
+        }
+    }
+
+    @Test
+    void unknownValuesSortLastInBothDirections() {
+        List<NeoSummary> neos = List.of(summary("a", 10, Double.NaN), summary("b", 20, 50), summary("c", 30, 5));
+        List<NeoDayIndex> day = List.of(NeoDayIndex.build(neos));
+
+        List<NeoSummary> ascending = NeoDayIndex.page(day, query(NeoSortKey.SIZE, false, 10)).items();
+        List<NeoSummary> descending = NeoDayIndex.page(day, query(NeoSortKey.SIZE, true, 10)).items();
+
+        assertEquals(List.of("c", "b", "a"), ascending.stream().map(NeoSummary::id).toList());
+        assertEquals(List.of("b", "c", "a"), descending.stream().map(NeoSummary::id).toList());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        NeoPage page = NeoDayIndex.page(INDEXES, query(NeoSortKey.TIME, false, NeoQuery.MAX_LIMIT));
+
+        assertEquals(280, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void rejectsCursorsForAnotherSortOrGarbage() {
+        String cursor = NeoDayIndex.page(INDEXES, query(NeoSortKey.VELOCITY, false, 5)).nextCursor();
+
+        assertThrows(InvalidRequestException.class, () -> NeoDayIndex.page(INDEXES,
+                new NeoQuery(NeoFilter.all(), NeoSortKey.VELOCITY, true, 5, cursor)));
+        assertThrows(InvalidRequestException.class, () -> NeoDayIndex.page(INDEXES,
+                new NeoQuery(NeoFilter.all(), NeoSortKey.VELOCITY, false, 5, "not*base64")));
+    }
+
+    private static List<NeoSummary> readAll(NeoQuery first) {
+        List<NeoSummary> rows = new ArrayList<>();
+        NeoQuery query = first;
+        while (true) {
+            NeoPage page = NeoDayIndex.page(INDEXES, query);
+            rows.addAll(page.items());
+            if (page.nextCursor() == null) {
+                return rows;
+            }
+            query = new NeoQuery(first.filter(), first.sort(), first.descending(), first.limit(), page.nextCursor());
+        }
+    }
+
+    private static NeoQuery query(NeoSortKey sort, boolean descending, int limit) {
+        return new NeoQuery(NeoFilter.all(), sort, descending, limit, null);
+    }
+
+    private static Comparator<NeoSummary> reference(NeoSortKey sort, boolean descending) {
+        Comparator<NeoSummary> byKey = Comparator.comparingDouble(sort::value);
+        return Comparator.<NeoSummary, Boolean>comparing(neo -> Double.isNaN(sort.value(neo)))
+                .thenComparing(descending ? byKey.reversed() : byKey)
+                .thenComparing(NeoSummary::closeApproachTime)
+                .thenComparingDouble(NeoSummary::missDistanceKm)
+                .thenComparing(NeoSummary::id);
+    }
+
+    private static NeoSummary summary(String id, double missKm, double diameterMaxMeters) {
+        return new NeoSummary(
+                id,
+                id,
+                false,
+                diameterMaxMeters / 2,
+                diameterMaxMeters,
+                Instant.parse("2026-02-20T06:30:00Z"),
+                "Earth",
+                missKm,
+                missKm / 384_400.0,
+                12.5);
+    }
+}
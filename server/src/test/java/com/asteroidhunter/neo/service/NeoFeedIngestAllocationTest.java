@@ -0,0 +1,77 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.nasa.SyntheticNeoWsFeed;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Run with: ./mvnw test -Pperf -Dtest=NeoFeedIngestAllocationTest
+@Tag("perf")
+class NeoFeedIngestAllocationTest {
+
+    private static final LocalDate START = LocalDate.parse("2026-01-01");
+    private static final int DAYS = 28;
+    private static final int OBJECTS_PER_DAY = 80;
+    private static final int APPROACHES_PER_OBJECT = 24;
+    private static final int ITERATIONS = 20;
+
+    private final NeoFeedNormalizer normalizer = new NeoFeedNormalizer();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void streamingIngestAllocatesAFractionOfTheDtoPath() throws Exception {
+        byte[] feedJson = SyntheticNeoWsFeed.feedJson(START, DAYS, OBJECTS_PER_DAY, APPROACHES_PER_OBJECT);
+        assertEquals(dtoPath(feedJson), normalizer.normalizeFeed(feedJson));
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            dtoPath(feedJson);
+            normalizer.normalizeFeed(feedJson);
+        }
+
+        long dtoBytes = allocatedBytes(() -> dtoPath(feedJson));
+        long streamingBytes = allocatedBytes(() -> normalizer.normalizeFeed(feedJson));
+
+        System.out.printf(
+                "Feed of %d days x %d objects x %d approaches (%d KiB): DTO path %d KiB/op, streaming %d KiB/op (%.1fx less)%n",
+                DAYS, OBJECTS_PER_DAY, APPROACHES_PER_OBJECT, feedJson.length / 1024,
+                dtoBytes / 1024, streamingBytes / 1024, (double) dtoBytes / streamingBytes);
+        assertTrue(streamingBytes * 5 < dtoBytes, "streaming ingest should allocate far less than the DTO path");
+    }
+
+    private Map<LocalDate, List<NeoSummary>> dtoPath(byte[] feedJson) {
+        try {
+            NeoWsFeedResponse feed = objectMapper.readValue(feedJson, NeoWsFeedResponse.class);
+            Map<LocalDate, List<NeoSummary>> days = new HashMap<>();
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = START.plusDays(day);
+                days.put(date, normalizer.normalizeForDate(feed, date));
+            }
+            return Map.copyOf(days);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long allocatedBytes(Runnable ingest) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            ingest.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
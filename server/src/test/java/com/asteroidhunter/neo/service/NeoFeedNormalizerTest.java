@@ -1,5 +1,6 @@
 package com.asteroidhunter.neo.service;
 
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,8 +13,10 @@ import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
 import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
 import com.asteroidhunter.nasa.dto.NeoWsVelocity;
 import com.asteroidhunter.neo.model.NeoSummary;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -123,6 +126,98 @@ class NeoFeedNormalizerTest {
         assertTrue(Double.isNaN(summary.relativeVelocityKmPerSec()));
     }
 
+    @Test
+    void normalizeFeedMatchesDtoPathForEveryDate() {
+        LocalDate first = LocalDate.parse("2026-02-01");
+        LocalDate second = LocalDate.parse("2026-02-02");
+        NeoWsNeoObject matching = neoObject(
+                "neo-matching",
+                List.of(
+                        closeApproach("2026-01-31", 1000L, "1000", "1.0", "10.0", "Mars"),
+                        closeApproach("2026-02-01", 2000L, "900", "2.0", "11.0", "Earth"),
+                        closeApproach("2026-02-01", 2500L, "800", null, "12.0", "Venus")));
+        NeoWsNeoObject soonestEpoch = neoObject(
+                "neo-soonest",
+                List.of(
+                        closeApproach("2030-05-01", 9000L, "100", "0.1", "5.0", "Jupiter"),
+                        closeApproach("2029-05-01", 7000L, "200", "0.2", "6.0", "Earth")));
+        NeoWsNeoObject noApproaches = neoObject("neo-none", List.of());
+        NeoWsNeoObject missingFields = new NeoWsNeoObject(
+                "neo-missing",
+                null,
+                null,
+                null,
+                false,
+                null,
+                Arrays.asList(null, new NeoWsCloseApproachData("2026-02-02", "2026-Feb-02 10:15", null, null, null, "")));
+        NeoWsFeedResponse feed = new NeoWsFeedResponse(
+                Map.of("self", "https://api.nasa.gov/neo/rest/v1/feed"),
+                5,
+                Map.of(
+                        first.toString(), Arrays.asList(matching, null, soonestEpoch),
+                        second.toString(), List.of(noApproaches, missingFields)));
+
+        Map<LocalDate, List<NeoSummary>> streamed = normalizer.normalizeFeed(toJson(feed));
+
+        assertEquals(2, streamed.size());
+        assertEquals(normalizer.normalizeForDate(feed, first), streamed.get(first));
+        assertEquals(normalizer.normalizeForDate(feed, second), streamed.get(second));
+    }
+
+    @Test
+    void normalizeFeedReadsNasaShapedJsonAndSkipsUnusedFields() {
+        String json = """
+                {
+                  "links": {"next": "x", "prev": "y"},
+                  "element_count": 1,
+                  "near_earth_objects": {
+                    "not-a-date": [{"id": "ignored"}],
+                    "2026-02-01": [{
+                      "links": {"self": "z"},
+                      "id": 2000433,
+                      "name": "433 Eros (A898 PA)",
+                      "absolute_magnitude_h": 10.4,
+                      "estimated_diameter": {
+                        "kilometers": {"estimated_diameter_min": 22.0, "estimated_diameter_max": 49.2},
+                        "meters": {"estimated_diameter_min": 22006.0, "estimated_diameter_max": "49208.1"}
+                      },
+                      "is_potentially_hazardous_asteroid": true,
+                      "close_approach_data": [{
+                        "close_approach_date": "2026-02-01",
+                        "close_approach_date_full": "2026-Feb-01 04:30",
+                        "epoch_date_close_approach": 1769920200000,
+                        "relative_velocity": {"kilometers_per_second": "5.57", "kilometers_per_hour": "20052.3"},
+                        "miss_distance": {"astronomical": "0.2", "lunar": "77.8", "kilometers": 29923000.5},
+                        "orbiting_body": "Earth"
+                      }],
+                      "orbital_data": {"orbit_id": "659", "equinox": "J2000"},
+                      "is_sentry_object": false
+                    }]
+                  }
+                }
+                """;
+
+        Map<LocalDate, List<NeoSummary>> result = normalizer.normalizeFeed(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, result.size());
+        NeoSummary summary = result.get(LocalDate.parse("2026-02-01")).getFirst();
+        assertEquals("2000433", summary.id());
+        assertEquals("433 Eros (A898 PA)", summary.name());
+        assertTrue(summary.isHazardous());
+        assertEquals(22006.0, summary.diameterMinMeters());
+        assertEquals(49208.1, summary.diameterMaxMeters());
+        assertEquals(Instant.ofEpochMilli(1769920200000L), summary.closeApproachTime());
+        assertEquals(29923000.5, summary.missDistanceKm());
+        assertEquals(77.8, summary.missDistanceLunar());
+        assertEquals(5.57, summary.relativeVelocityKmPerSec());
+    }
+
+    @Test
+    void normalizeFeedReturnsEmptyMapForEmptyBody() {
+        assertTrue(normalizer.normalizeFeed(new byte[0]).isEmpty());
+        assertTrue(normalizer.normalizeFeed("{\"element_count\":0}".getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+
     private NeoWsFeedResponse feedForDate(LocalDate date, List<NeoWsNeoObject> objects) {
         return new NeoWsFeedResponse(null, objects.size(), Map.of(date.toString(), objects));
     }
@@ -0,0 +1,123 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class NeoLookupServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-26T12:00:00Z");
+
+    private NeoWsClient neoWsClient;
+    private NeoObjectIndex neoObjectIndex;
+    private NeoLookupService neoLookupService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        neoObjectIndex = new NeoObjectIndex(Clock.fixed(NOW, ZoneOffset.UTC), 400);
+        neoLookupService = new NeoLookupService(
+                neoObjectIndex,
+                neoWsClient,
+                new NeoFeedNormalizer(),
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                new CaffeineCacheManager("neoLookups"));
+    }
+
+    @Test
+    void objectsFromCachedDaysAreServedFromTheIndex() {
+        NeoSummary earlier = summary("3542519", Instant.parse("2026-02-20T10:00:00Z"));
+        NeoSummary later = summary("3542519", Instant.parse("2026-02-25T10:00:00Z"));
+        neoObjectIndex.index(LocalDate.parse("2026-02-25"), List.of(later));
+        neoObjectIndex.index(LocalDate.parse("2026-02-20"), List.of(earlier));
+
+        assertSame(later, neoLookupService.lookupReactive("3542519").block());
+        verify(neoWsClient, never()).fetchNeo("3542519");
+    }
+
+    @Test
+    void missesShareOneNeoWsLookupAndAreCached() throws Exception {
+        Sinks.One<NeoWsNeoObject> upstream = Sinks.one();
+        given(neoWsClient.fetchNeo("2000433")).willReturn(upstream.asMono());
+
+        List<CompletableFuture<NeoSummary>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(neoLookupService.lookupReactive("2000433").toFuture());
+        }
+        upstream.tryEmitValue(eros());
+
+        for (CompletableFuture<NeoSummary> result : results) {
+            assertEquals("433 Eros (A898 PA)", result.get().name());
+        }
+        NeoSummary cached = neoLookupService.lookupReactive("2000433").block();
+        verify(neoWsClient, times(1)).fetchNeo("2000433");
+
+        // The approach nearest to now, not the first in the object's history.
+        assertEquals(Instant.ofEpochMilli(1_800_000_000_000L), cached.closeApproachTime());
+        assertEquals(0.2, cached.missDistanceLunar());
+        assertTrue(cached.diameterMaxMeters() > cached.diameterMinMeters());
+    }
+
+    @Test
+    void unknownIdIsNotFound() {
+        given(neoWsClient.fetchNeo("1")).willReturn(Mono.error(new NeoWsException(404, "not found")));
+
+        assertThrows(NeoNotFoundException.class, () -> neoLookupService.lookupReactive("1").block());
+    }
+
+    private static NeoWsNeoObject eros() {
+        return new NeoWsNeoObject(
+                "2000433",
+                "433 Eros (A898 PA)",
+                null,
+                10.4,
+                false,
+                new NeoWsEstimatedDiameter(new NeoWsDiameterRange(22_000.0, 49_000.0)),
+                List.of(
+                        approach("1900-12-27", -2_177_366_400_000L, "0.3"),
+                        approach("2027-01-15", 1_800_000_000_000L, "0.2"),
+                        approach("2056-01-24", 2_716_502_400_000L, "0.1")));
+    }
+
+    private static NeoWsCloseApproachData approach(String date, long epochMillis, String lunar) {
+        return new NeoWsCloseApproachData(
+                date,
+                null,
+                epochMillis,
+                new NeoWsVelocity("5.5", "19800"),
+                new NeoWsMissDistance("0.05", lunar, "1000000"),
+                "Earth");
+    }
+
+    private static NeoSummary summary(String id, Instant closeApproachTime) {
+        return new NeoSummary(id, "Indexed", false, 10, 20, closeApproachTime, "Earth", 1000, 0.01, 5);
+    }
+}
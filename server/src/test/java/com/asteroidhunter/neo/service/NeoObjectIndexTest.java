@@ -0,0 +1,56 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoObjectIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-26T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.parse("2026-02-26");
+
+    private final NeoObjectIndex index = new NeoObjectIndex(Clock.fixed(NOW, ZoneOffset.UTC), 3);
+
+    @Test
+    void objectOnSeveralDaysAnswersWithTheApproachNearestNow() {
+        NeoSummary past = summary("1", Instant.parse("2026-02-25T10:00:00Z"));
+        NeoSummary future = summary("1", Instant.parse("2026-02-28T10:00:00Z"));
+        index.index(TODAY.minusDays(1), List.of(past));
+        index.index(TODAY.plusDays(2), List.of(future));
+
+        assertSame(past, index.find("1"));
+    }
+
+    @Test
+    void reindexingADayDropsObjectsNoLongerOnIt() {
+        index.index(TODAY, List.of(summary("1", NOW), summary("2", NOW)));
+        index.index(TODAY, List.of(summary("2", NOW)));
+
+        assertNull(index.find("1"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void daysFurthestFromTodayAreDroppedPastTheLimit() {
+        index.index(TODAY.minusDays(30), List.of(summary("old", NOW.minusSeconds(30 * 86_400))));
+        index.index(TODAY, List.of(summary("today", NOW)));
+        index.index(TODAY.plusDays(1), List.of(summary("tomorrow", NOW.plusSeconds(86_400))));
+        index.index(TODAY.minusDays(1), List.of(summary("yesterday", NOW.minusSeconds(86_400))));
+
+        assertNull(index.find("old"));
+        assertEquals(3, index.size());
+        assertEquals("yesterday", index.find("yesterday").id());
+    }
+
+    private static NeoSummary summary(String id, Instant closeApproachTime) {
+        return new NeoSummary(id, "Indexed", false, 10, 20, closeApproachTime, "Earth", 1000, 0.01, 5);
+    }
+}
@@ -0,0 +1,230 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+class NeoRangeServiceTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+
+    private final AtomicInteger concurrentFetches = new AtomicInteger();
+    private final AtomicInteger maxConcurrentFetches = new AtomicInteger();
+    private NeoWsClient neoWsClient;
+    private NeoTodayService neoTodayService;
+    private NeoRangeService neoRangeService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        given(neoWsClient.fetchFeedJson(any(), any())).willAnswer(invocation -> Mono
+                .delay(Duration.ofMillis(50))
+                .map(tick -> toJson(feed(invocation.getArgument(0), invocation.getArgument(1))))
+                .doOnSubscribe(subscription -> maxConcurrentFetches.accumulateAndGet(
+                        concurrentFetches.incrementAndGet(), Math::max))
+                .doOnNext(feed -> concurrentFetches.decrementAndGet()));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(400));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, CLOCK)
+                .cacheManager(cacheManager)
+                .build();
+        neoRangeService = new NeoRangeService(neoTodayService, 366, 2);
+    }
+
+    @Test
+    void rangeIsSplitIntoSevenDayWindowsFetchedWithBoundedParallelism() {
+        LocalDate start = LocalDate.parse("2026-01-01");
+        LocalDate end = LocalDate.parse("2026-01-30");
+
+        List<NeoSummary> result = neoRangeService.getRange(start, end);
+
+        assertEquals(30, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(!result.get(i).closeApproachTime().isBefore(result.get(i - 1).closeApproachTime()));
+        }
+        verify(neoWsClient, times(5)).fetchFeedJson(any(), any());
+        verify(neoWsClient).fetchFeedJson(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-07"));
+        verify(neoWsClient).fetchFeedJson(LocalDate.parse("2026-01-29"), LocalDate.parse("2026-01-30"));
+        assertTrue(maxConcurrentFetches.get() <= 2);
+    }
+
+    @Test
+    void overlappingRangesOnlyFetchUncachedDays() {
+        neoRangeService.getRange(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-07"));
+
+        List<NeoSummary> result = neoRangeService.getRange(LocalDate.parse("2026-01-05"), LocalDate.parse("2026-01-10"));
+
+        assertEquals(6, result.size());
+        verify(neoWsClient, times(2)).fetchFeedJson(any(), any());
+        verify(neoWsClient).fetchFeedJson(LocalDate.parse("2026-01-08"), LocalDate.parse("2026-01-10"));
+    }
+
+    @Test
+    void fullyCachedRangeMakesNoUpstreamCalls() {
+        neoRangeService.getRange(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03"));
+        neoRangeService.getRange(LocalDate.parse("2026-01-02"), LocalDate.parse("2026-01-03"));
+
+        verify(neoWsClient, times(1)).fetchFeedJson(any(), any());
+    }
+
+    @Test
+    void daysAlreadyLoadingForOtherCallersAreJoinedNotRefetched() {
+        LocalDate first = LocalDate.parse("2026-01-01");
+        LocalDate end = LocalDate.parse("2026-01-05");
+        Mono<NeoDayResult> dayLoad = neoTodayService.getDayReactive(first).cache();
+        dayLoad.subscribe();
+
+        List<NeoSummary> result = neoRangeService.getRange(first, end);
+
+        assertEquals(5, result.size());
+        assertEquals(dayLoad.block().neos(), result.subList(0, 1));
+        verify(neoWsClient).fetchFeedJson(first, first);
+        verify(neoWsClient).fetchFeedJson(LocalDate.parse("2026-01-02"), end);
+        verify(neoWsClient, times(2)).fetchFeedJson(any(), any());
+    }
+
+    @Test
+    void invalidRangesAreRejectedBeforeAnyFetch() {
+        assertThrows(InvalidRequestException.class,
+                () -> neoRangeService.getRange(LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-01")));
+        assertThrows(InvalidRequestException.class,
+                () -> neoRangeService.getRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2026-01-02")));
+
+        verify(neoWsClient, never()).fetchFeedJson(any(), any());
+    }
+
+    @Test
+    void streamedRangeIsLoadedOneChunkAtATimeAsRowsAreRequested() throws InterruptedException {
+        LocalDate start = LocalDate.parse("2026-01-01");
+        LocalDate end = LocalDate.parse("2026-03-31");
+        List<NeoSummary> received = new ArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        neoRangeService.streamRange(start, end).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(1);
+            }
+
+            @Override
+            protected void hookOnNext(NeoSummary neo) {
+                received.add(neo);
+            }
+        });
+
+        await(() -> received.size() == 1);
+        Thread.sleep(200);
+        verify(neoWsClient, atMost(3)).fetchFeedJson(any(), any());
+        assertEquals(LocalDate.parse("2026-01-01"), LocalDate.ofInstant(received.getFirst().closeApproachTime(), ZoneOffset.UTC));
+
+        subscription.get().request(Long.MAX_VALUE);
+        await(() -> received.size() == 90);
+        verify(neoWsClient, times(13)).fetchFeedJson(any(), any());
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(!received.get(i).closeApproachTime().isBefore(received.get(i - 1).closeApproachTime()));
+        }
+    }
+
+    @Test
+    void streamedRangeIsValidatedBeforeAnyFetch() {
+        assertThrows(InvalidRequestException.class, () -> neoRangeService
+                .streamRange(LocalDate.parse("2026-01-10"), LocalDate.parse("2026-01-01")).blockFirst());
+
+        verify(neoWsClient, never()).fetchFeedJson(any(), any());
+    }
+
+    @Test
+    void feedWindowsSplitAtGapsAndSevenDayLimit() {
+        List<LocalDate> dates = List.of(
+                LocalDate.parse("2026-01-01"),
+                LocalDate.parse("2026-01-02"),
+                LocalDate.parse("2026-01-04"),
+                LocalDate.parse("2026-01-05"),
+                LocalDate.parse("2026-01-06"),
+                LocalDate.parse("2026-01-07"),
+                LocalDate.parse("2026-01-08"),
+                LocalDate.parse("2026-01-09"),
+                LocalDate.parse("2026-01-10"),
+                LocalDate.parse("2026-01-11"));
+
+        List<NeoRangeService.FeedWindow> windows = NeoRangeService.feedWindows(dates);
+
+        assertEquals(List.of(
+                new NeoRangeService.FeedWindow(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02")),
+                new NeoRangeService.FeedWindow(LocalDate.parse("2026-01-04"), LocalDate.parse("2026-01-10")),
+                new NeoRangeService.FeedWindow(LocalDate.parse("2026-01-11"), LocalDate.parse("2026-01-11"))),
+                windows);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.onSpinWait();
+        }
+    }
+
+    private NeoWsFeedResponse feed(LocalDate start, LocalDate end) {
+        Map<String, List<NeoWsNeoObject>> objects = new HashMap<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            long epochMillis = date.atTime(6, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+            objects.put(date.toString(), List.of(new NeoWsNeoObject(
+                    "neo-" + date,
+                    "Asteroid " + date,
+                    null,
+                    null,
+                    false,
+                    new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                    List.of(new NeoWsCloseApproachData(
+                            date.toString(),
+                            null,
+                            epochMillis,
+                            new NeoWsVelocity("12.5", null),
+                            new NeoWsMissDistance(null, "0.5", "192200"),
+                            "Earth")))));
+        }
+        return new NeoWsFeedResponse(null, objects.size(), objects);
+    }
+}
@@ -0,0 +1,128 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsPriority;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class NeoRolloverPrefetcherTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final LocalDate TODAY = LocalDate.parse("2026-02-26");
+    private static final LocalDate TOMORROW = TODAY.plusDays(1);
+    private static final Instant MIDNIGHT = TOMORROW.atStartOfDay(TORONTO).toInstant();
+
+    private final MutableClock clock = new MutableClock(MIDNIGHT.minus(Duration.ofHours(6)), TORONTO);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private NeoWsClient neoWsClient;
+    private NeoTodayService neoTodayService;
+    private NeoRolloverPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        given(neoWsClient.getFeedJson(any(), any(), any())).willAnswer(invocation -> toJson(feed(
+                invocation.getArgument(0), invocation.getArgument(1), "v" + fetches.incrementAndGet())));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, clock)
+                .cacheManager(cacheManager)
+                .build();
+        prefetcher = new NeoRolloverPrefetcher(
+                neoWsClient,
+                neoTodayService,
+                TORONTO,
+                clock,
+                new SimpleMeterRegistry(),
+                true,
+                Duration.ofMinutes(15),
+                2);
+    }
+
+    @Test
+    void missingLookAheadDaysAreFetchedInOneWindow() {
+        prefetcher.prefetchIfDue();
+        prefetcher.prefetchIfDue();
+
+        verify(neoWsClient, times(1)).getFeedJson(TOMORROW, TODAY.plusDays(2), NeoWsPriority.BACKGROUND);
+    }
+
+    @Test
+    void tomorrowIsRefetchedWithinTheLeadTimeAndServedWithoutAMissAtRollover() {
+        prefetcher.prefetchIfDue();
+        clock.set(MIDNIGHT.minus(Duration.ofMinutes(10)));
+
+        prefetcher.prefetchIfDue();
+        prefetcher.prefetchIfDue();
+
+        verify(neoWsClient, times(1)).getFeedJson(TOMORROW, TOMORROW, NeoWsPriority.BACKGROUND);
+
+        clock.set(MIDNIGHT.plusSeconds(1));
+        NeoDayResult first = neoTodayService.getToday();
+
+        assertEquals(TOMORROW, first.snapshot().date());
+        assertEquals("v2-" + TOMORROW, first.neos().getFirst().id());
+        assertEquals(2, fetches.get());
+        verify(neoWsClient, never()).getFeedJson(TOMORROW, TODAY.plusDays(3), NeoWsPriority.BACKGROUND);
+    }
+
+    @Test
+    void disabledPrefetcherDoesNothing() {
+        new NeoRolloverPrefetcher(neoWsClient, neoTodayService, TORONTO, clock, new SimpleMeterRegistry(),
+                false, Duration.ofMinutes(15), 2).prefetchIfDue();
+
+        verify(neoWsClient, never()).getFeedJson(any(), any(), any());
+    }
+
+    private NeoWsFeedResponse feed(LocalDate start, LocalDate end, String version) {
+        Map<String, List<NeoWsNeoObject>> objects = new HashMap<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            long epochMillis = date.atTime(6, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+            objects.put(date.toString(), List.of(new NeoWsNeoObject(
+                    version + "-" + date,
+                    "Asteroid " + date,
+                    null,
+                    null,
+                    false,
+                    new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                    List.of(new NeoWsCloseApproachData(
+                            date.toString(),
+                            null,
+                            epochMillis,
+                            new NeoWsVelocity("12.5", null),
+                            new NeoWsMissDistance(null, "0.5", "192200"),
+                            "Earth")))));
+        }
+        return new NeoWsFeedResponse(null, objects.size(), objects);
+    }
+}
@@ -0,0 +1,135 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class NeoTodayServiceArchiveTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private final LocalDate today = LocalDate.now(clock);
+    private final List<NeoDayArchive> archives = new ArrayList<>();
+    private NeoWsClient neoWsClient;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (NeoDayArchive archive : archives) {
+            archive.close();
+        }
+    }
+
+    @Test
+    void pastDayIsServedFromArchiveAfterRestartWithoutCallingNasa() {
+        LocalDate yesterday = today.minusDays(1);
+        given(neoWsClient.getFeedJson(eq(yesterday), eq(yesterday))).willReturn(toJson(feed(yesterday, "archived")));
+        newService().getDay(yesterday);
+
+        NeoTodayService restarted = newService();
+        clock.advance(Duration.ofDays(30));
+
+        assertEquals("archived", restarted.getDay(yesterday).neos().getFirst().id());
+        assertNotNull(restarted.getCachedDay(yesterday));
+        verify(neoWsClient, times(1)).getFeedJson(any(), any());
+    }
+
+    @Test
+    void startupWarmsCacheWithArchivedDays() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today))).willReturn(toJson(feed(today, "warm")));
+        newService().getDay(today);
+
+        NeoTodayService restarted = newService();
+        restarted.warmFromArchive();
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals("warm", restarted.getToday().neos().getFirst().id());
+        verify(neoWsClient, times(1)).getFeedJson(any(), any());
+    }
+
+    @Test
+    void archivedTodayPastSoftAgeIsRefetched() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed(today, "first")), toJson(feed(today, "second")));
+        newService().getDay(today);
+
+        NeoTodayService restarted = newService();
+        clock.advance(Duration.ofMinutes(50));
+
+        assertNull(restarted.getCachedDay(today));
+        assertEquals("second", restarted.getToday().neos().getFirst().id());
+        verify(neoWsClient, times(2)).getFeedJson(eq(today), eq(today));
+        verify(neoWsClient, never()).fetchFeedJson(any(), any());
+    }
+
+    private NeoTodayService newService() {
+        NeoDayArchive archive = new NeoDayArchive(true, dir.resolve("neo-days.bin"));
+        archives.add(archive);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        return new NeoTodayServiceBuilder(neoWsClient, clock)
+                .archive(archive)
+                .cacheManager(cacheManager)
+                .build();
+    }
+
+    private NeoWsFeedResponse feed(LocalDate date, String id) {
+        return new NeoWsFeedResponse(
+                null,
+                1,
+                Map.of(date.toString(), List.of(new NeoWsNeoObject(
+                        id,
+                        "Asteroid " + id,
+                        null,
+                        null,
+                        false,
+                        new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                        List.of(new NeoWsCloseApproachData(
+                                date.toString(),
+                                null,
+                                1_000L,
+                                new NeoWsVelocity("12.5", null),
+                                new NeoWsMissDistance(null, "0.5", "192200"),
+                                "Earth"))))));
+    }
+}
@@ -0,0 +1,125 @@
+package com.asteroidhunter.neo.service;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+// NeoTodayService with the defaults most tests want: the clock's zone as the app zone, no archive, refreshes and
+// archive writes run inline, both day caches, and every listener the application registers. Tests set only what
+// they exercise.
+public class NeoTodayServiceBuilder {
+
+    private final NeoWsClient neoWsClient;
+    private final Clock clock;
+    private NeoFeedNormalizer neoFeedNormalizer = new NeoFeedNormalizer();
+    private NeoPayloadEncoder neoPayloadEncoder = new NeoPayloadEncoder(new ObjectMapper().findAndRegisterModules());
+    private NeoDayArchive neoDayArchive = NeoDayArchive.disabled();
+    private NeoDayChangeLog neoDayChangeLog;
+    private final List<NeoDayListener> neoDayListeners = new ArrayList<>();
+    private CacheManager cacheManager;
+    private TaskExecutor refreshExecutor = new SyncTaskExecutor();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Duration refreshAfter = Duration.ofMinutes(45);
+    private Duration lastKnownGoodMaxStaleness = Duration.ofHours(24);
+
+    public NeoTodayServiceBuilder(NeoWsClient neoWsClient, Clock clock) {
+        this.neoWsClient = neoWsClient;
+        this.clock = clock;
+    }
+
+    public NeoTodayServiceBuilder normalizer(NeoFeedNormalizer neoFeedNormalizer) {
+        this.neoFeedNormalizer = neoFeedNormalizer;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder encoder(NeoPayloadEncoder neoPayloadEncoder) {
+        this.neoPayloadEncoder = neoPayloadEncoder;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder archive(NeoDayArchive neoDayArchive) {
+        this.neoDayArchive = neoDayArchive;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder changeLog(NeoDayChangeLog neoDayChangeLog) {
+        this.neoDayChangeLog = neoDayChangeLog;
+        return this;
+    }
+
+    // Replaces the default listener of the same type, so a test can hold on to the stream or timeline it checks.
+    public NeoTodayServiceBuilder listener(NeoDayListener neoDayListener) {
+        neoDayListeners.add(neoDayListener);
+        return this;
+    }
+
+    public NeoTodayServiceBuilder cacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder refreshExecutor(TaskExecutor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder refreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+        return this;
+    }
+
+    public NeoTodayServiceBuilder lastKnownGoodMaxStaleness(Duration lastKnownGoodMaxStaleness) {
+        this.lastKnownGoodMaxStaleness = lastKnownGoodMaxStaleness;
+        return this;
+    }
+
+    public NeoTodayService build() {
+        NeoDayChangeLog changeLog = neoDayChangeLog != null ? neoDayChangeLog : new NeoDayChangeLog(clock, 7);
+        List<NeoDayListener> listeners = new ArrayList<>(neoDayListeners);
+        for (NeoDayListener defaultListener : List.of(
+                new NeoObjectIndex(clock, 400),
+                new NeoApproachTimeline(clock.getZone(), clock),
+                new NeoTodayStream(clock, new SimpleMeterRegistry(), Duration.ofSeconds(15), 16),
+                changeLog)) {
+            if (listeners.stream().noneMatch(listener -> listener.getClass() == defaultListener.getClass())) {
+                listeners.add(defaultListener);
+            }
+        }
+        return new NeoTodayService(
+                neoWsClient,
+                neoFeedNormalizer,
+                neoPayloadEncoder,
+                neoDayArchive,
+                changeLog,
+                listeners,
+                clock.getZone(),
+                clock,
+                cacheManager != null ? cacheManager : defaultCacheManager(),
+                refreshExecutor,
+                meterRegistry,
+                refreshAfter,
+                lastKnownGoodMaxStaleness,
+                90);
+    }
+
+    private static CacheManager defaultCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday", "neosLastKnownGood");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        return cacheManager;
+    }
+}
@@ -1,5 +1,6 @@
 package com.asteroidhunter.neo.service;
 
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -14,6 +15,7 @@ import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
 import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
 import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
 import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -30,7 +32,10 @@ import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 
-@SpringBootTest(properties = "app.timezone=America/Toronto")
+@SpringBootTest(properties = {
+        "app.timezone=America/Toronto",
+        "app.archive.enabled=false",
+        "app.prefetch.enabled=false"})
 class NeoTodayServiceCachingTest {
 
     private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
@@ -42,6 +47,9 @@ class NeoTodayServiceCachingTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private NeoWsClient neoWsClient;
 
@@ -74,14 +82,35 @@ class NeoTodayServiceCachingTest {
                                 new NeoWsMissDistance(null, "0.5", "192200"),
                                 "Earth"))))));
 
-        given(neoWsClient.getFeed(eq(today), eq(today))).willReturn(feed);
+        given(neoWsClient.getFeedJson(eq(today), eq(today))).willReturn(toJson(feed));
 
         var first = neoTodayService.getTodayNeos();
         var second = neoTodayService.getTodayNeos();
 
         assertEquals(1, first.size());
         assertEquals(first, second);
-        verify(neoWsClient, times(1)).getFeed(eq(today), eq(today));
+        verify(neoWsClient, times(1)).getFeedJson(eq(today), eq(today));
+    }
+
+    @Test
+    void neosTodayCacheStatisticsAreBoundToMetrics() {
+        LocalDate today = LocalDate.now(Clock.fixed(FIXED_INSTANT, TORONTO));
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(new NeoWsFeedResponse(null, 0, Map.of())));
+        double hitsBefore = cacheGets("hit");
+        long normalizationsBefore = meterRegistry.get("neo.feed.normalize").timer().count();
+
+        neoTodayService.getTodayNeos();
+        neoTodayService.getTodayNeos();
+
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+        assertEquals(normalizationsBefore + 1, meterRegistry.get("neo.feed.normalize").timer().count());
+        assertEquals(0, meterRegistry.get("neo.day.loads.active").gauge().value());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "neosToday").tag("result", result)
+                .functionCounter().count();
     }
 
     @TestConfiguration
@@ -0,0 +1,156 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.ServerTiming;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class NeoTodayServiceReactiveTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private static final LocalDate TODAY = LocalDate.now(CLOCK);
+
+    private NeoWsClient neoWsClient;
+    private NeoTodayService neoTodayService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, CLOCK)
+                .cacheManager(cacheManager)
+                .build();
+    }
+
+    @Test
+    void reactiveCallersWaitWithoutBlockingAndShareOneUpstreamCall() throws Exception {
+        Sinks.One<byte[]> upstream = Sinks.one();
+        given(neoWsClient.fetchFeedJson(eq(TODAY), eq(TODAY))).willReturn(upstream.asMono());
+
+        List<CompletableFuture<NeoDayResult>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(neoTodayService.getTodayReactive().toFuture());
+        }
+
+        assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+        verify(neoWsClient, times(1)).fetchFeedJson(eq(TODAY), eq(TODAY));
+
+        upstream.tryEmitValue(toJson(feed()));
+
+        NeoDayResult first = results.getFirst().get();
+        assertEquals(1, first.neos().size());
+        for (CompletableFuture<NeoDayResult> result : results) {
+            assertSame(first.neos(), result.get().neos());
+        }
+        verify(neoWsClient, never()).getFeedJson(any(), any());
+    }
+
+    @Test
+    void reactiveLoadIsSharedWithBlockingCallers() {
+        given(neoWsClient.fetchFeedJson(eq(TODAY), eq(TODAY))).willReturn(Mono.just(toJson(feed())));
+
+        NeoDayResult reactive = neoTodayService.getTodayReactive().block();
+
+        assertSame(reactive.neos(), neoTodayService.getTodayNeos());
+        verify(neoWsClient, never()).getFeedJson(any(), any());
+    }
+
+    @Test
+    void stageTimingsFollowTheRequestOntoTheThreadThatCompletesTheFetch() throws Exception {
+        Sinks.One<byte[]> upstream = Sinks.one();
+        given(neoWsClient.fetchFeedJson(eq(TODAY), eq(TODAY))).willReturn(upstream.asMono());
+        ServerTiming timing = ServerTiming.start();
+
+        CompletableFuture<NeoDayResult> result;
+        try (ServerTiming.Scope scope = timing.attach()) {
+            result = neoTodayService.getTodayReactive().toFuture();
+        }
+        Thread eventLoop = new Thread(() -> upstream.tryEmitValue(toJson(feed())));
+        eventLoop.start();
+        eventLoop.join();
+        result.get();
+
+        assertEquals(List.of("cache", "archive", "neows", "normalize", "encode"),
+                List.copyOf(timing.stageMillis().keySet()));
+        assertTrue(timing.header().matches("cache;dur=\\d+\\.\\d{3}, archive;dur=.*, total;dur=\\d+\\.\\d{3}"),
+                timing.header());
+        assertFalse(ServerTiming.current().isRecording());
+    }
+
+    @Test
+    void reactiveFailureIsPropagated() {
+        given(neoWsClient.fetchFeedJson(eq(TODAY), eq(TODAY)))
+                .willReturn(Mono.error(new NeoWsException(401, "bad api key")));
+
+        ExecutionException exception = assertThrows(
+                ExecutionException.class,
+                () -> neoTodayService.getTodayReactive().toFuture().get());
+
+        assertTrue(exception.getCause() instanceof NeoWsException);
+        assertEquals(401, ((NeoWsException) exception.getCause()).getStatus());
+    }
+
+    @Test
+    void nothingIsFetchedUntilSubscribed() {
+        neoTodayService.getTodayReactive();
+
+        verify(neoWsClient, never()).fetchFeedJson(any(), any());
+    }
+
+    private NeoWsFeedResponse feed() {
+        return new NeoWsFeedResponse(
+                null,
+                1,
+                Map.of(TODAY.toString(), List.of(new NeoWsNeoObject(
+                        "123",
+                        "Reactive Asteroid",
+                        null,
+                        null,
+                        false,
+                        new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                        List.of(new NeoWsCloseApproachData(
+                                TODAY.toString(),
+                                null,
+                                1_000L,
+                                new NeoWsVelocity("12.5", null),
+                                new NeoWsMissDistance(null, "0.5", "192200"),
+                                "Earth"))))));
+    }
+}
@@ -0,0 +1,149 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class NeoTodayServiceRefreshAheadTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private final LocalDate today = LocalDate.now(clock);
+    private final Queue<Runnable> pendingRefreshes = new ArrayDeque<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NeoWsClient neoWsClient;
+    private NeoTodayService neoTodayService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, clock)
+                .cacheManager(cacheManager)
+                .refreshExecutor(pendingRefreshes::add)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void freshEntryIsServedWithoutRefresh() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today))).willReturn(toJson(feed("first")));
+
+        neoTodayService.getTodayNeos();
+        clock.advance(Duration.ofMinutes(44));
+        neoTodayService.getTodayNeos();
+
+        assertTrue(pendingRefreshes.isEmpty());
+        verify(neoWsClient, times(1)).getFeedJson(eq(today), eq(today));
+    }
+
+    @Test
+    void entryPastSoftAgeIsServedWhileRefreshRunsInBackground() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today))).willReturn(toJson(feed("first")), toJson(feed("second")));
+
+        neoTodayService.getTodayNeos();
+        clock.advance(Duration.ofMinutes(46));
+
+        assertEquals("first", neoTodayService.getTodayNeos().getFirst().id());
+        assertEquals("first", neoTodayService.getTodayNeos().getFirst().id());
+        verify(neoWsClient, times(1)).getFeedJson(eq(today), eq(today));
+
+        runPendingRefreshes();
+
+        assertEquals("second", neoTodayService.getTodayNeos().getFirst().id());
+        verify(neoWsClient, times(2)).getFeedJson(eq(today), eq(today));
+    }
+
+    @Test
+    void refreshWithAnUnchangedBodySkipsNormalizationButCountsAsFresh() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today))).willReturn(toJson(feed("first")));
+
+        NeoDaySnapshot first = neoTodayService.getToday().snapshot();
+        clock.advance(Duration.ofMinutes(46));
+        neoTodayService.getTodayNeos();
+        runPendingRefreshes();
+        NeoDaySnapshot refreshed = neoTodayService.getToday().snapshot();
+
+        assertEquals(1.0, meterRegistry.get("neo.feed.unchanged").counter().count());
+        assertEquals(1L, meterRegistry.get("neo.feed.normalize").timer().count());
+        assertSame(first.payload(), refreshed.payload());
+        assertEquals(clock.instant(), refreshed.fetchedAt());
+        clock.advance(Duration.ofMinutes(44));
+        neoTodayService.getTodayNeos();
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void failedBackgroundRefreshKeepsServingPreviousEntry() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed("first")))
+                .willThrow(new NeoWsException(503, "unavailable"));
+
+        neoTodayService.getTodayNeos();
+        clock.advance(Duration.ofMinutes(46));
+        neoTodayService.getTodayNeos();
+
+        runPendingRefreshes();
+
+        assertEquals("first", neoTodayService.getTodayNeos().getFirst().id());
+    }
+
+    private void runPendingRefreshes() {
+        Runnable refresh;
+        while ((refresh = pendingRefreshes.poll()) != null) {
+            refresh.run();
+        }
+    }
+
+    private NeoWsFeedResponse feed(String id) {
+        return new NeoWsFeedResponse(
+                null,
+                1,
+                Map.of(today.toString(), List.of(new NeoWsNeoObject(
+                        id,
+                        "Asteroid " + id,
+                        null,
+                        null,
+                        false,
+                        new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                        List.of(new NeoWsCloseApproachData(
+                                today.toString(),
+                                null,
+                                1_000L,
+                                new NeoWsVelocity("12.5", null),
+                                new NeoWsMissDistance(null, "0.5", "192200"),
+                                "Earth"))))));
+    }
+}
@@ -0,0 +1,161 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class NeoTodayServiceSingleFlightTest {
+
+    private static final int CALLERS = 300;
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private static final LocalDate TODAY = LocalDate.now(CLOCK);
+
+    private final CountDownLatch releaseUpstream = new CountDownLatch(1);
+    private NeoWsClient neoWsClient;
+    private NeoFeedNormalizer neoFeedNormalizer;
+    private NeoTodayService neoTodayService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        neoFeedNormalizer = spy(new NeoFeedNormalizer());
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, CLOCK)
+                .normalizer(neoFeedNormalizer)
+                .cacheManager(cacheManager)
+                .build();
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCallAndNormalization() throws Exception {
+        given(neoWsClient.getFeedJson(eq(TODAY), eq(TODAY))).willAnswer(invocation -> {
+            releaseUpstream.await();
+            return toJson(feed());
+        });
+
+        List<Outcome> outcomes = runConcurrently();
+
+        List<NeoSummary> first = outcomes.getFirst().neos();
+        for (Outcome outcome : outcomes) {
+            assertSame(first, outcome.neos());
+        }
+        assertEquals(1, first.size());
+        verify(neoWsClient, times(1)).getFeedJson(eq(TODAY), eq(TODAY));
+        verify(neoFeedNormalizer, times(1)).normalizeFeed(any());
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamFailure() throws Exception {
+        NeoWsException failure = new NeoWsException(503, "unavailable");
+        given(neoWsClient.getFeedJson(eq(TODAY), eq(TODAY))).willAnswer(invocation -> {
+            releaseUpstream.await();
+            throw failure;
+        });
+
+        List<Outcome> outcomes = runConcurrently();
+
+        for (Outcome outcome : outcomes) {
+            assertSame(failure, outcome.failure());
+        }
+        verify(neoWsClient, times(1)).getFeedJson(eq(TODAY), eq(TODAY));
+    }
+
+    private List<Outcome> runConcurrently() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<AtomicReference<Outcome>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            AtomicReference<Outcome> result = new AtomicReference<>();
+            results.add(result);
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    result.set(new Outcome(neoTodayService.getTodayNeos(), null));
+                } catch (RuntimeException ex) {
+                    result.set(new Outcome(null, ex));
+                }
+            }));
+        }
+
+        awaitAllParked(threads);
+        releaseUpstream.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<Outcome> outcomes = new ArrayList<>();
+        for (AtomicReference<Outcome> result : results) {
+            assertTrue(result.get() != null, "caller did not finish");
+            outcomes.add(result.get());
+        }
+        return outcomes;
+    }
+
+    // Every caller is parked either on the upstream latch or on the shared in-flight future.
+    private void awaitAllParked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("callers did not all reach the in-flight load");
+    }
+
+    private NeoWsFeedResponse feed() {
+        return new NeoWsFeedResponse(
+                null,
+                1,
+                Map.of(TODAY.toString(), List.of(new NeoWsNeoObject(
+                        "123",
+                        "Coalesced Asteroid",
+                        null,
+                        null,
+                        false,
+                        new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                        List.of(new NeoWsCloseApproachData(
+                                TODAY.toString(),
+                                null,
+                                1_000L,
+                                new NeoWsVelocity("12.5", null),
+                                new NeoWsMissDistance(null, "0.5", "192200"),
+                                "Earth"))))));
+    }
+
+    private record Outcome(List<NeoSummary> neos, RuntimeException failure) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+class NeoTodayServiceStaleIfErrorTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private final LocalDate today = LocalDate.now(clock);
+    private NeoWsClient neoWsClient;
+    private CaffeineCacheManager cacheManager;
+    private NeoTodayService neoTodayService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10));
+        cacheManager.registerCustomCache("neosLastKnownGood", Caffeine.newBuilder().maximumSize(10).build());
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, clock)
+                .cacheManager(cacheManager)
+                .lastKnownGoodMaxStaleness(Duration.ofHours(2))
+                .build();
+    }
+
+    @Test
+    void upstreamOutageAfterEvictionServesLastKnownGood() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed()))
+                .willThrow(new NeoWsException(503, "unavailable"));
+
+        NeoDayResult fresh = neoTodayService.getToday();
+        evictToday();
+        clock.advance(Duration.ofMinutes(90));
+
+        NeoDayResult stale = neoTodayService.getToday();
+
+        assertFalse(fresh.stale());
+        assertTrue(stale.stale());
+        assertSame(fresh.neos(), stale.neos());
+        assertEquals(Duration.ofMinutes(90), stale.staleAge());
+        assertEquals(503, stale.upstreamErrorStatus());
+    }
+
+    @Test
+    void rateLimitingAndTimeoutsAreServedStale() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed()))
+                .willThrow(new NeoWsException(429, "rate limited"))
+                .willThrow(new WebClientRequestException(
+                        new TimeoutException("read timed out"),
+                        HttpMethod.GET,
+                        URI.create("https://api.nasa.gov/neo/rest/v1/feed"),
+                        new HttpHeaders()));
+
+        neoTodayService.getToday();
+        evictToday();
+
+        assertEquals(429, neoTodayService.getToday().upstreamErrorStatus());
+        assertEquals(504, neoTodayService.getToday().upstreamErrorStatus());
+    }
+
+    @Test
+    void clientErrorsAreNotMaskedByLastKnownGood() {
+        NeoWsException badKey = new NeoWsException(403, "bad api key");
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed()))
+                .willThrow(badKey);
+
+        neoTodayService.getToday();
+        evictToday();
+
+        assertSame(badKey, assertThrows(NeoWsException.class, neoTodayService::getToday));
+    }
+
+    @Test
+    void lastKnownGoodOlderThanMaxStalenessIsNotServed() {
+        given(neoWsClient.getFeedJson(eq(today), eq(today)))
+                .willReturn(toJson(feed()))
+                .willThrow(new NeoWsException(502, "bad gateway"));
+
+        neoTodayService.getToday();
+        evictToday();
+        clock.advance(Duration.ofHours(3));
+
+        NeoWsException exception = assertThrows(NeoWsException.class, neoTodayService::getToday);
+        assertEquals(502, exception.getStatus());
+    }
+
+    private void evictToday() {
+        cacheManager.getCache("neosToday").clear();
+    }
+
+    private NeoWsFeedResponse feed() {
+        return new NeoWsFeedResponse(
+                null,
+                1,
+                Map.of(today.toString(), List.of(new NeoWsNeoObject(
+                        "123",
+                        "Remembered Asteroid",
+                        null,
+                        null,
+                        false,
+                        new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                        List.of(new NeoWsCloseApproachData(
+                                today.toString(),
+                                null,
+                                1_000L,
+                                new NeoWsVelocity("12.5", null),
+                                new NeoWsMissDistance(null, "0.5", "192200"),
+                                "Earth"))))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsKeyPool;
+import com.asteroidhunter.nasa.NeoWsRateScheduler;
+import com.asteroidhunter.nasa.NeoWsResilience;
+import com.asteroidhunter.nasa.NeoWsStubServer;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class NeoTodayServiceVirtualThreadTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+
+    // A virtual thread that blocks while holding a monitor pins its carrier; JFR reports every such park.
+    @Test
+    void blockingLoadsOnVirtualThreadsNeverPinTheirCarrier() throws Exception {
+        try (NeoWsStubServer stub = new NeoWsStubServer(Duration.ofMillis(50), 5)) {
+            assertNoPinning(stub);
+        }
+    }
+
+    // Goes through the real NeoWsClient, so the WebClient block() inside getFeedJson runs on the virtual threads.
+    private void assertNoPinning(NeoWsStubServer stub) throws Exception {
+        NeoWsClient neoWsClient = new NeoWsClient(
+                WebClient.builder().baseUrl(stub.baseUrl()).build(), NeoWsKeyPool.of("demo-key"),
+                new SimpleMeterRegistry(), NeoWsResilience.disabled(), NeoWsRateScheduler.unlimited());
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("neosToday");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("neo-refresh-");
+        virtualExecutor.setVirtualThreads(true);
+        NeoTodayService neoTodayService = new NeoTodayServiceBuilder(neoWsClient, CLOCK)
+                .cacheManager(cacheManager)
+                .refreshExecutor(virtualExecutor)
+                .build();
+
+        List<String> pinnedStacks = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedStacks.add(String.valueOf(event.getStackTrace())));
+            recording.startAsync();
+
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < 400; i++) {
+                    LocalDate date = LocalDate.parse("2026-02-01").plusDays(i % 20);
+                    calls.add(callers.submit(() -> neoTodayService.getDay(date)));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+
+            recording.stop();
+        }
+
+        assertEquals(20, stub.feedRequests());
+        assertTrue(pinnedStacks.isEmpty(), () -> "virtual threads pinned:\n" + String.join("\n", pinnedStacks));
+    }
+}
@@ -0,0 +1,192 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.SyntheticNeoWsFeed.feedJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.asteroidhunter.common.MutableClock;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+class NeoTodayStreamTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private static final LocalDate TODAY = LocalDate.parse("2026-02-26");
+    private static final Duration NO_HEARTBEAT = Duration.ofHours(1);
+
+    private final NeoPayloadEncoder encoder = new NeoPayloadEncoder(new ObjectMapper().findAndRegisterModules());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void subscribersGetTheCurrentListThenOnlyChanges() {
+        NeoTodayStream stream = stream(NO_HEARTBEAT, 16);
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        NeoDaySnapshot current = snapshot(TODAY, "1");
+
+        Disposable subscription = stream.subscribe(current, null).subscribe(events::add);
+        stream.publish(snapshot(TODAY, "1"));
+        stream.publish(snapshot(TODAY, "1", "2"));
+        stream.publish(snapshot(TODAY.minusDays(1), "3"));
+        subscription.dispose();
+
+        assertEquals(2, events.size());
+        assertEquals(NeoTodayStream.EVENT_NAME, events.get(0).event());
+        assertEquals(NeoTodayStream.eventId(current), events.get(0).id());
+        assertTrue(events.get(0).data().contains("\"id\":\"1\""));
+        assertTrue(events.get(1).data().contains("\"id\":\"2\""));
+        assertEquals(2.0, meterRegistry.get("neo.stream.published").counter().count());
+    }
+
+    @Test
+    void everySubscriberSharesTheEventBuiltForAChange() {
+        NeoTodayStream stream = stream(NO_HEARTBEAT, 16);
+        List<ServerSentEvent<String>> first = new CopyOnWriteArrayList<>();
+        List<ServerSentEvent<String>> second = new CopyOnWriteArrayList<>();
+
+        Disposable one = stream.subscribe(snapshot(TODAY, "1"), null).subscribe(first::add);
+        Disposable two = stream.subscribe(snapshot(TODAY, "1"), null).subscribe(second::add);
+        stream.publish(snapshot(TODAY, "2"));
+
+        assertEquals(2.0, meterRegistry.get("neo.stream.subscribers").gauge().value());
+        one.dispose();
+        two.dispose();
+
+        assertEquals(2, first.size());
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertEquals(0.0, meterRegistry.get("neo.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void reconnectWithLastEventIdSkipsTheListTheClientHas() {
+        NeoTodayStream stream = stream(NO_HEARTBEAT, 16);
+        NeoDaySnapshot current = snapshot(TODAY, "1");
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+
+        Disposable subscription = stream.subscribe(current, NeoTodayStream.eventId(current)).subscribe(events::add);
+        stream.publish(snapshot(TODAY, "2"));
+        subscription.dispose();
+
+        assertEquals(1, events.size());
+        assertTrue(events.getFirst().data().contains("\"id\":\"2\""));
+    }
+
+    @Test
+    void heartbeatsAreSentBetweenChanges() {
+        NeoTodayStream stream = stream(Duration.ofMillis(20), 16);
+
+        ServerSentEvent<String> heartbeat = stream.subscribe(snapshot(TODAY, "1"), null)
+                .filter(event -> event.comment() != null)
+                .blockFirst(Duration.ofSeconds(5));
+
+        assertNotNull(heartbeat);
+        assertEquals("heartbeat", heartbeat.comment());
+    }
+
+    @Test
+    void clientThatFallsBehindIsDisconnected() {
+        NeoTodayStream stream = stream(NO_HEARTBEAT, 2);
+        AtomicBoolean completed = new AtomicBoolean();
+
+        stream.subscribe(snapshot(TODAY, "1"), null).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // Never requests: a client whose connection has stalled.
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                completed.set(true);
+            }
+        });
+        for (int i = 2; i <= 4; i++) {
+            stream.publish(snapshot(TODAY, String.valueOf(i)));
+        }
+
+        assertTrue(completed.get());
+        assertEquals(1.0, meterRegistry.get("neo.stream.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("neo.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void tomorrowsListIsPublishedOnceTheDayRollsOver() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-02-27T04:50:00Z"), TORONTO);
+        NeoTodayStream stream = new NeoTodayStream(clock, meterRegistry, NO_HEARTBEAT, 16);
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        Disposable subscription = stream.subscribe(snapshot(TODAY, "1"), null).subscribe(events::add);
+
+        stream.publish(snapshot(TODAY.plusDays(1), "2"));
+        stream.publishAfterRollover();
+        assertEquals(1, events.size());
+
+        clock.set(Instant.parse("2026-02-27T05:01:00Z"));
+        stream.publishAfterRollover();
+        stream.publishAfterRollover();
+        subscription.dispose();
+
+        assertEquals(2, events.size());
+        assertTrue(events.get(1).id().startsWith(TODAY.plusDays(1) + ":"));
+        assertTrue(events.get(1).data().contains("\"id\":\"2\""));
+    }
+
+    @Test
+    void unchangedRefetchAfterMidnightMovesSubscribersToTheNewDay() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-02-27T04:50:00Z"), TORONTO);
+        NeoTodayStream stream = new NeoTodayStream(clock, meterRegistry, NO_HEARTBEAT, 16);
+        NeoTodayService neoTodayService = new NeoTodayServiceBuilder(null, clock).listener(stream).build();
+        LocalDate tomorrow = TODAY.plusDays(1);
+        byte[] tomorrowsFeed = feedJson(tomorrow, 1, 2, 1);
+        neoTodayService.cacheFeed(TODAY, TODAY, feedJson(TODAY, 1, 2, 1));
+        neoTodayService.cacheFeed(tomorrow, tomorrow, tomorrowsFeed);
+        List<ServerSentEvent<String>> events = new CopyOnWriteArrayList<>();
+        Disposable subscription = stream.subscribe(neoTodayService.getCachedDay(TODAY), null).subscribe(events::add);
+
+        clock.set(Instant.parse("2026-02-27T05:30:00Z"));
+        neoTodayService.cacheFeed(tomorrow, tomorrow, tomorrowsFeed);
+        subscription.dispose();
+
+        assertEquals(2, events.size());
+        assertTrue(events.get(1).id().startsWith(tomorrow + ":"));
+    }
+
+    private NeoTodayStream stream(Duration heartbeatInterval, int maxBufferedEvents) {
+        return new NeoTodayStream(CLOCK, meterRegistry, heartbeatInterval, maxBufferedEvents);
+    }
+
+    private NeoDaySnapshot snapshot(LocalDate date, String... ids) {
+        List<NeoSummary> neos = Arrays.stream(ids).map(NeoTodayStreamTest::summary).toList();
+        return new NeoDaySnapshot(date, neos, CLOCK.instant(), encoder.encode(neos), null);
+    }
+
+    private static NeoSummary summary(String id) {
+        return new NeoSummary(
+                id,
+                "Asteroid " + id,
+                false,
+                12.5,
+                40.0,
+                Instant.parse("2026-02-26T06:30:00Z"),
+                "Earth",
+                192200.0,
+                0.5,
+                12.5);
+    }
+}
@@ -0,0 +1,61 @@
+package com.asteroidhunter.neo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.common.InvalidRequestException;
+import com.asteroidhunter.neo.model.NeoSummary;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class NeoUpcomingServiceTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-27T03:00:00Z"), TORONTO);
+
+    private final NeoRangeService neoRangeService = mock(NeoRangeService.class);
+    private final NeoApproachTimeline timeline = new NeoApproachTimeline(TORONTO, CLOCK);
+    private final NeoUpcomingService neoUpcomingService =
+            new NeoUpcomingService(neoRangeService, timeline, CLOCK);
+
+    @Test
+    void loadsEveryUtcFeedDayInTheWindowThenSlicesTheTimeline() {
+        // 22:00 in Toronto is already the next UTC day, and the window ends in the UTC day after that.
+        LocalDate utcToday = LocalDate.parse("2026-02-27");
+        given(neoRangeService.getRangeDaysReactive(utcToday, utcToday.plusDays(1))).willAnswer(invocation -> {
+            timeline.update(utcToday, List.of(summary("soon", "2026-02-27T12:00:00Z")));
+            timeline.update(utcToday.plusDays(1), List.of(
+                    summary("later", "2026-02-28T10:00:00Z"),
+                    summary("next-utc-day", "2026-02-28T02:00:00Z")));
+            return Mono.just(List.of());
+        });
+
+        List<NeoSummary> upcoming = neoUpcomingService.getUpcomingReactive(24).block();
+
+        assertEquals(List.of("soon", "next-utc-day"), upcoming.stream().map(NeoSummary::id).toList());
+        verify(neoRangeService).getRangeDaysReactive(utcToday, utcToday.plusDays(1));
+    }
+
+    @Test
+    void rejectsWindowsOutsideOneFeedWindow() {
+        assertThrows(InvalidRequestException.class, () -> neoUpcomingService.getUpcomingReactive(0).block());
+        assertThrows(InvalidRequestException.class,
+                () -> neoUpcomingService.getUpcomingReactive(NeoUpcomingService.MAX_HOURS + 1).block());
+
+        verify(neoRangeService, never()).getRangeDaysReactive(any(), any());
+    }
+
+    private static NeoSummary summary(String id, String closeApproachTime) {
+        return new NeoSummary(id, id, false, 10, 20, Instant.parse(closeApproachTime), "Earth", 1000, 0.01, 5);
+    }
+}
@@ -0,0 +1,148 @@
+package com.asteroidhunter.neo.service;
+
+import static com.asteroidhunter.nasa.NeoWsFeedJson.toJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.asteroidhunter.nasa.NeoWsClient;
+import com.asteroidhunter.nasa.NeoWsException;
+import com.asteroidhunter.nasa.dto.NeoWsCloseApproachData;
+import com.asteroidhunter.nasa.dto.NeoWsDiameterRange;
+import com.asteroidhunter.nasa.dto.NeoWsEstimatedDiameter;
+import com.asteroidhunter.nasa.dto.NeoWsFeedResponse;
+import com.asteroidhunter.nasa.dto.NeoWsMissDistance;
+import com.asteroidhunter.nasa.dto.NeoWsNeoObject;
+import com.asteroidhunter.nasa.dto.NeoWsVelocity;
+import com.asteroidhunter.neo.model.NeoSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+
+class NeoZoneViewServiceTest {
+
+    private static final ZoneId TORONTO = ZoneId.of("America/Toronto");
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-26T12:00:00Z"), TORONTO);
+    private static final LocalDate DAY = LocalDate.parse("2026-02-26");
+
+    // Raw NeoWs days and the approach times listed under each.
+    private static final Map<LocalDate, List<String>> RAW_DAYS = Map.of(
+            DAY.minusDays(1), List.of("2026-02-25T08:00:00Z", "2026-02-25T20:00:00Z"),
+            DAY, List.of("2026-02-26T10:00:00Z", "2026-02-26T16:00:00Z"),
+            DAY.plusDays(1), List.of("2026-02-27T01:00:00Z"));
+
+    private NeoWsClient neoWsClient;
+    private CaffeineCacheManager cacheManager;
+    private NeoTodayService neoTodayService;
+    private NeoZoneViewService neoZoneViewService;
+
+    @BeforeEach
+    void setUp() {
+        neoWsClient = mock(NeoWsClient.class);
+        given(neoWsClient.fetchFeedJson(any(), any())).willAnswer(invocation -> Mono.just(
+                toJson(feed(invocation.getArgument(0), invocation.getArgument(1)))));
+
+        cacheManager = new CaffeineCacheManager("neosToday", "neosLastKnownGood", "neoZoneDays");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        neoTodayService = new NeoTodayServiceBuilder(neoWsClient, CLOCK)
+                .cacheManager(cacheManager)
+                .build();
+        neoZoneViewService = new NeoZoneViewService(
+                new NeoRangeService(neoTodayService, 366, 2),
+                neoTodayService,
+                new NeoPayloadEncoder(new ObjectMapper().findAndRegisterModules()),
+                CLOCK,
+                cacheManager);
+    }
+
+    @Test
+    void localDayIsRebucketedFromTheAdjacentRawDays() {
+        List<NeoSummary> tokyo = neoZoneViewService.getRangeReactive(DAY, DAY, TOKYO).block();
+        List<NeoSummary> utc = neoZoneViewService.getRangeReactive(DAY, DAY, ZoneId.of("UTC")).block();
+
+        assertEquals(List.of("2026-02-25T20:00:00Z", "2026-02-26T10:00:00Z"), approachTimes(tokyo));
+        assertEquals(List.of("2026-02-26T10:00:00Z", "2026-02-26T16:00:00Z"), approachTimes(utc));
+        verify(neoWsClient, times(1)).fetchFeedJson(any(), any());
+        verify(neoWsClient).fetchFeedJson(DAY.minusDays(1), DAY.plusDays(1));
+    }
+
+    @Test
+    void viewIsReusedUntilOneOfItsRawDaysIsReplaced() {
+        NeoDaySnapshot first = neoZoneViewService.getRangeDaysReactive(DAY, DAY, TOKYO).block().getFirst();
+        NeoDaySnapshot again = neoZoneViewService.getRangeDaysReactive(DAY, DAY, TOKYO).block().getFirst();
+        assertSame(first, again);
+
+        neoTodayService.cacheDay(DAY.plusDays(1), List.of(summary("late", "2026-02-26T14:59:00Z")));
+        NeoDaySnapshot rebuilt = neoZoneViewService.getRangeDaysReactive(DAY, DAY, TOKYO).block().getFirst();
+
+        assertNotSame(first, rebuilt);
+        assertEquals(List.of("2026-02-25T20:00:00Z", "2026-02-26T10:00:00Z", "2026-02-26T14:59:00Z"),
+                approachTimes(rebuilt.neos()));
+        verify(neoWsClient, times(1)).fetchFeedJson(any(), any());
+    }
+
+    @Test
+    void todayFallsBackToLastKnownGoodRawDaysAndIsMarkedStale() {
+        NeoDayResult fresh = neoZoneViewService.getTodayReactive(TOKYO).block();
+        cacheManager.getCache("neosToday").clear();
+        willReturn(Mono.error(new NeoWsException(503, "unavailable"))).given(neoWsClient).fetchFeedJson(any(), any());
+
+        NeoDayResult stale = neoZoneViewService.getTodayReactive(TOKYO).block();
+
+        assertFalse(fresh.stale());
+        assertTrue(stale.stale());
+        assertEquals(503, stale.upstreamErrorStatus());
+        assertEquals(List.of("2026-02-25T20:00:00Z", "2026-02-26T10:00:00Z"), approachTimes(stale.neos()));
+    }
+
+    private static List<String> approachTimes(List<NeoSummary> neos) {
+        return neos.stream().map(neo -> neo.closeApproachTime().toString()).toList();
+    }
+
+    private static NeoSummary summary(String id, String closeApproachTime) {
+        return new NeoSummary(id, id, false, 10, 20, Instant.parse(closeApproachTime), "Earth", 1000, 0.01, 5);
+    }
+
+    private static NeoWsFeedResponse feed(LocalDate start, LocalDate end) {
+        Map<String, List<NeoWsNeoObject>> objects = new HashMap<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            String dateKey = date.toString();
+            objects.put(dateKey, RAW_DAYS.getOrDefault(date, List.of()).stream()
+                    .map(time -> new NeoWsNeoObject(
+                            time,
+                            "Asteroid " + time,
+                            null,
+                            null,
+                            false,
+                            new NeoWsEstimatedDiameter(new NeoWsDiameterRange(1.0, 2.0)),
+                            List.of(new NeoWsCloseApproachData(
+                                    dateKey,
+                                    null,
+                                    Instant.parse(time).toEpochMilli(),
+                                    new NeoWsVelocity("12.5", null),
+                                    new NeoWsMissDistance(null, "0.5", "192200"),
+                                    "Earth"))))
+                    .toList());
+        }
+        return new NeoWsFeedResponse(null, objects.size(), objects);
+    }
+}
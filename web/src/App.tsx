@@ -1,5 +1,5 @@
 import { useEffect, useState } from "react";
-import { fetchTodayNeos } from "./api/neos";
+import { fetchTodayNeos, subscribeTodayNeos } from "./api/neos";
 import { Dossier } from "./components/Dossier";
 import { Roster } from "./components/Roster";
 import { TacticalPlot } from "./components/TacticalPlot";
@@ -16,6 +16,17 @@ export default function App() {
 
   useEffect(() => {
     let cancelled = false;
+    let unsubscribe: (() => void) | null = null;
+
+    function showItems(items: NeoSummary[]) {
+      setState({ kind: "success", items });
+      setSelectedId((current) => {
+        if (current && items.some((item) => item.id === current)) {
+          return current;
+        }
+        return items[0]?.id ?? null;
+      });
+    }
 
     async function loadNeos() {
       setState({ kind: "loading" });
@@ -24,13 +35,7 @@ export default function App() {
         if (cancelled) {
           return;
         }
-        setState({ kind: "success", items });
-        setSelectedId((current) => {
-          if (current && items.some((item) => item.id === current)) {
-            return current;
-          }
-          return items[0]?.id ?? null;
-        });
+        showItems(items);
       } catch (error) {
         if (cancelled) {
           return;
@@ -42,10 +47,17 @@ export default function App() {
       }
     }
 
-    void loadNeos();
+    void loadNeos().then(() => {
+      if (cancelled) {
+        return;
+      }
+      // Pushes arrive only when the server's list actually changes; a dropped link keeps the last list shown.
+      unsubscribe = subscribeTodayNeos(showItems);
+    });
 
     return () => {
       cancelled = true;
+      unsubscribe?.();
     };
   }, []);
 
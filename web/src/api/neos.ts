@@ -1,12 +1,21 @@
 import type { NeoSummary } from "../types";
 
+const NEO_COLUMNS = "application/vnd.asteroidhunter.neo-columns";
+const NEO_COLUMNS_MAGIC = 0x434f454e;
+
 export async function fetchTodayNeos(): Promise<NeoSummary[]> {
-  const response = await fetch("/api/neos/today");
+  const response = await fetch("/api/neos/today", {
+    headers: { Accept: `${NEO_COLUMNS}, application/json;q=0.5` },
+  });
 
   if (!response.ok) {
     throw new Error(`HTTP ${response.status}`);
   }
 
+  if (response.headers.get("Content-Type")?.startsWith(NEO_COLUMNS)) {
+    return decodeNeoColumns(await response.arrayBuffer());
+  }
+
   const data = (await response.json()) as unknown;
   if (!Array.isArray(data)) {
     throw new Error("Unexpected response shape");
@@ -15,3 +24,72 @@ export async function fetchTodayNeos(): Promise<NeoSummary[]> {
   return data as NeoSummary[];
 }
 
+// Reads the server's columnar frames (see NeoColumnarEncoder): little-endian, every section 8-byte aligned,
+// so the numeric columns are typed-array views over the response buffer rather than parsed values.
+export function decodeNeoColumns(buffer: ArrayBuffer): NeoSummary[] {
+  const view = new DataView(buffer);
+  const decoder = new TextDecoder();
+  const items: NeoSummary[] = [];
+  let start = 0;
+
+  while (start < buffer.byteLength) {
+    if (view.getInt32(start, true) !== NEO_COLUMNS_MAGIC || view.getInt32(start + 4, true) !== 1) {
+      throw new Error("Unexpected response shape");
+    }
+    const rows = view.getInt32(start + 8, true);
+    const stringCount = view.getInt32(start + 12, true);
+    const frameBytes = view.getInt32(start + 16, true);
+
+    const doubles = new Float64Array(buffer, start + 24, 6 * rows);
+    const codesOffset = start + 24 + 48 * rows;
+    const codes = new Int32Array(buffer, codesOffset, 3 * rows);
+    const flagsOffset = codesOffset + align(12 * rows);
+    const flags = new Uint8Array(buffer, flagsOffset, rows);
+    const offsetsOffset = flagsOffset + align(rows);
+    const offsets = new Int32Array(buffer, offsetsOffset, stringCount + 1);
+    const stringBytes = new Uint8Array(buffer, offsetsOffset + 4 * (stringCount + 1));
+    const strings: string[] = [];
+    for (let i = 0; i < stringCount; i++) {
+      strings.push(decoder.decode(stringBytes.subarray(offsets[i], offsets[i + 1])));
+    }
+    const text = (code: number) => (code < 0 ? "" : strings[code]);
+
+    for (let row = 0; row < rows; row++) {
+      const epochMillis = doubles[row];
+      items.push({
+        id: text(codes[row]),
+        name: text(codes[rows + row]),
+        isHazardous: flags[row] !== 0,
+        diameterMinMeters: doubles[4 * rows + row],
+        diameterMaxMeters: doubles[5 * rows + row],
+        closeApproachTime: Number.isNaN(epochMillis) ? "" : new Date(epochMillis).toISOString(),
+        orbitingBody: text(codes[2 * rows + row]),
+        missDistanceKm: doubles[rows + row],
+        missDistanceLunar: doubles[2 * rows + row],
+        relativeVelocityKmPerSec: doubles[3 * rows + row],
+      });
+    }
+    start += frameBytes;
+  }
+
+  return items;
+}
+
+function align(bytes: number): number {
+  return (bytes + 7) & ~7;
+}
+
+// Today's list from /api/neos/stream: called with the current list, then again whenever it changes.
+// EventSource reconnects on its own (sending Last-Event-ID), so a dropped link needs no handling here.
+export function subscribeTodayNeos(onItems: (items: NeoSummary[]) => void): () => void {
+  const source = new EventSource("/api/neos/stream");
+
+  source.addEventListener("neos", (event) => {
+    const data = JSON.parse((event as MessageEvent<string>).data) as unknown;
+    if (Array.isArray(data)) {
+      onItems(data as NeoSummary[]);
+    }
+  });
+
+  return () => source.close();
+}